@@ -2,15 +2,17 @@ package com.bryan.system.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * 应用级通用配置类
- * 用于注册非业务型、全局使用的第三方 Bean，如 RestTemplate、线程池等。
+ * 用于注册非业务型、全局使用的第三方 Bean，如 RestTemplate、线程池等，并开启定时任务支持。
  *
  * @author Bryan Long
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
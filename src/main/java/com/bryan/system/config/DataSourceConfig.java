@@ -0,0 +1,98 @@
+package com.bryan.system.config;
+
+import com.bryan.system.config.datasource.Workload;
+import com.bryan.system.config.datasource.WorkloadInterceptor;
+import com.bryan.system.config.datasource.WorkloadRoutingDataSource;
+import com.bryan.system.domain.enums.WorkloadType;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 数据源配置类
+ * <p>
+ * 按负载类型划分相互隔离的 Hikari 连接池（舱壁隔离）：
+ * 1. oltp：登录、Token 校验及常规读写，配置沿用 spring.datasource.hikari；
+ * 2. bulk：导出、全表模糊搜索等耗时查询，配置见 datasource-pools.bulk，连接数较少、等待超时较短。
+ * 业务方法通过 {@link Workload} 注解选择连接池，耗时查询占满 bulk 连接池时只会让同类请求快速失败，
+ * 不会占用登录所需的 oltp 连接。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * OLTP 连接池
+     *
+     * @param properties spring.datasource 连接配置
+     * @return Hikari 连接池
+     */
+    @Bean(name = "oltpDataSource")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+        return this.createPool(properties, "oltp");
+    }
+
+    /**
+     * 批量查询连接池
+     *
+     * @param properties spring.datasource 连接配置，与 OLTP 连接池共用
+     * @return Hikari 连接池
+     */
+    @Bean(name = "bulkDataSource")
+    @ConfigurationProperties("datasource-pools.bulk")
+    public HikariDataSource bulkDataSource(DataSourceProperties properties) {
+        return this.createPool(properties, "bulk");
+    }
+
+    /**
+     * 按负载类型路由的主数据源，MyBatis 与事务管理器均使用该数据源
+     *
+     * @return 路由数据源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") DataSource oltpDataSource,
+                                 @Qualifier("bulkDataSource") DataSource bulkDataSource) {
+        return new WorkloadRoutingDataSource(Map.of(
+                WorkloadType.OLTP, oltpDataSource,
+                WorkloadType.BULK, bulkDataSource));
+    }
+
+    /**
+     * {@link Workload} 注解切面，排在事务拦截器之前，保证事务获取连接时已确定连接池
+     *
+     * @return 切面
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor workloadAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Workload.class, true))
+                .union(new AnnotationMatchingPointcut(null, Workload.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new WorkloadInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bryan.system.config;
+
+import com.bryan.system.service.auth.AuthRateLimiter;
+import com.bryan.system.service.system.ConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 监控指标配置
+ * <p>
+ * 将并发限流器、登录限流器已有的内部统计以 Gauge / FunctionCounter 形式暴露，
+ * 取值在抓取时读取，请求路径上没有额外开销。
+ * JVM、Hikari 连接池（hikaricp.*，按 pool 区分 oltp / bulk）、Lettuce 命令耗时（lettuce.*）
+ * 与 HTTP 请求耗时（http.server.requests）由 Actuator 自动配置提供。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 并发限流器指标
+     *
+     * @param limiter 并发限流器
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(ConcurrencyLimiter limiter) {
+        return registry -> {
+            Gauge.builder("concurrency.limit", limiter, l -> l.getStats().getLimit())
+                    .description("当前并发上限")
+                    .register(registry);
+            Gauge.builder("concurrency.inflight", limiter, l -> l.getStats().getInflight())
+                    .description("当前处理中的请求数")
+                    .register(registry);
+            FunctionCounter.builder("concurrency.accepted", limiter, l -> l.getStats().getAcceptedRequests())
+                    .description("放行的请求数")
+                    .register(registry);
+            FunctionCounter.builder("concurrency.rejected", limiter, l -> l.getStats().getRejectedCritical())
+                    .tag("priority", "critical")
+                    .register(registry);
+            FunctionCounter.builder("concurrency.rejected", limiter, l -> l.getStats().getRejectedNormal())
+                    .tag("priority", "normal")
+                    .register(registry);
+            FunctionCounter.builder("concurrency.rejected", limiter, l -> l.getStats().getRejectedLow())
+                    .tag("priority", "low")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 登录、注册限流指标
+     *
+     * @param limiter 登录限流器
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder authRateLimiterMetrics(AuthRateLimiter limiter) {
+        return registry -> {
+            FunctionCounter.builder("auth.rate_limit.requests", limiter, l -> l.getStats().getAllowedRequests())
+                    .tag("result", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("auth.rate_limit.requests", limiter, l -> l.getStats().getLocalRejectedRequests())
+                    .tag("result", "local_rejected")
+                    .register(registry);
+            FunctionCounter.builder("auth.rate_limit.requests", limiter, l -> l.getStats().getRedisRejectedRequests())
+                    .tag("result", "redis_rejected")
+                    .register(registry);
+            FunctionCounter.builder("auth.rate_limit.requests", limiter, l -> l.getStats().getRedisUnavailableRequests())
+                    .tag("result", "redis_unavailable")
+                    .register(registry);
+        };
+    }
+}
@@ -1,12 +1,15 @@
 package com.bryan.system.config;
 
+import com.bryan.system.util.trace.MyBatisTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
  * MyBatis 全局配置类
- * 负责注册 Mapper 扫描路径、事务管理。
+ * 负责注册 Mapper 扫描路径、事务管理与插件。
  *
  * @author Bryan Long
  */
@@ -14,4 +17,15 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @MapperScan("com.bryan.system.mapper")
 @EnableTransactionManagement
 public class MyBatisConfig {
+
+    /**
+     * 注册耗时统计插件，查询与更新耗时计入请求的 db 分段与 mybatis.statement 指标
+     *
+     * @param meterRegistry 指标注册表
+     * @return MyBatis 插件
+     */
+    @Bean
+    public MyBatisTimingInterceptor myBatisTimingInterceptor(MeterRegistry meterRegistry) {
+        return new MyBatisTimingInterceptor(meterRegistry);
+    }
 }
@@ -1,5 +1,8 @@
 package com.bryan.system.config;
 
+import com.bryan.system.service.redis.RedisCircuitBreaker;
+import com.bryan.system.util.redis.CompactRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,9 +11,13 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.util.Locale;
+
 /**
  * Redis 全局配置类
- * 统一配置 RedisTemplate 的序列化策略，确保 key/value 可读且跨语言兼容。
+ * 统一配置 RedisTemplate 的序列化策略：key 为字符串，value 默认使用紧凑二进制格式，
+ * 可通过 redis-serializer.format 切回 JSON；两种格式始终都能读取。
+ * 两个模板的连接工厂均经过 {@link RedisCircuitBreaker} 包装，Redis 不可用时快速失败。
  *
  * @author Bryan Long
  */
@@ -20,25 +27,34 @@ public class RedisConfig {
 
     /**
      * 注册通用 RedisTemplate
-     * 采用 String 序列化 key，JSON 序列化 value，支持任意对象存取。
+     * 采用 String 序列化 key，{@link CompactRedisSerializer} 序列化 value，支持任意对象存取。
      *
-     * @param factory SpringBoot 自动配置的连接工厂
+     * @param factory           SpringBoot 自动配置的连接工厂
+     * @param circuitBreaker    Redis 熔断器
+     * @param format            value 写入格式（binary / json）
+     * @param compressThreshold value 压缩阈值（字节），小于等于 0 不压缩
      * @return 配置完成的 RedisTemplate<String, Object>
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
+    public RedisTemplate<String, Object> redisTemplate(
+            RedisConnectionFactory factory,
+            RedisCircuitBreaker circuitBreaker,
+            @Value("${redis-serializer.format:binary}") String format,
+            @Value("${redis-serializer.compress-threshold:1024}") int compressThreshold) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(factory);
+        template.setConnectionFactory(circuitBreaker.protect(factory));
 
         // Key 使用 String 序列化
         template.setKeySerializer(RedisSerializer.string());
 
-        // Value 使用 JSON 序列化
-        template.setValueSerializer(RedisSerializer.json());
+        // Value 使用紧凑二进制序列化，兼容读取旧的 JSON 数据
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(
+                CompactRedisSerializer.Format.valueOf(format.toUpperCase(Locale.ROOT)), compressThreshold);
+        template.setValueSerializer(valueSerializer);
 
         // Hash Key/Value 序列化
         template.setHashKeySerializer(RedisSerializer.string());
-        template.setHashValueSerializer(RedisSerializer.json());
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
@@ -48,11 +64,13 @@ public class RedisConfig {
      * 注册专用 StringRedisTemplate
      * 仅处理 String 类型，性能更高，适合缓存简单字符串或计数器场景。
      *
-     * @param factory SpringBoot 自动配置的连接工厂
+     * @param factory        SpringBoot 自动配置的连接工厂
+     * @param circuitBreaker Redis 熔断器
      * @return 配置完成的 StringRedisTemplate
      */
     @Bean
-    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory factory) {
-        return new StringRedisTemplate(factory);
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory factory,
+                                                   RedisCircuitBreaker circuitBreaker) {
+        return new StringRedisTemplate(circuitBreaker.protect(factory));
     }
 }
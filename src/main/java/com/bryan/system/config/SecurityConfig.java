@@ -1,6 +1,7 @@
 package com.bryan.system.config;
 
 import com.bryan.system.filter.JwtAuthenticationFilter;
+import com.bryan.system.util.trace.TimedPasswordEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -51,12 +52,12 @@ public class SecurityConfig {
 
     /**
      * 注册密码加密器
-     * 使用 BCrypt 强哈希算法，兼容 Spring Security 的 PasswordEncoder 接口。
+     * 使用 BCrypt 强哈希算法，兼容 Spring Security 的 PasswordEncoder 接口，耗时计入请求的 bcrypt 分段。
      *
      * @return BCryptPasswordEncoder 实例
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder());
     }
 }
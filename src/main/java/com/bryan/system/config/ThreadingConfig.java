@@ -0,0 +1,39 @@
+package com.bryan.system.config;
+
+import com.bryan.system.util.thread.ThreadUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 请求执行线程模式配置
+ * <p>
+ * spring.threads.virtual.enabled=true 且运行于 Java 21 及以上时，由 Spring Boot 将 Tomcat 请求线程、
+ * &#64;Scheduled 定时任务（会话续期、文件回收等后台写入）切换为虚拟线程，日志推送发送线程随之切换；
+ * 此时并发上限不再由 Tomcat 线程数决定，而是由 Hikari 连接池、Redis 连接池等下游资源决定。
+ * 条件不满足时继续使用平台线程池，启动时记录实际生效的模式。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ThreadingConfig {
+
+    private final Environment environment;
+
+    @PostConstruct
+    public void logThreadingMode() {
+        if (ThreadUtils.isVirtualThreadsActive(environment)) {
+            log.info("请求执行模式：虚拟线程（Java {}）", JavaVersion.getJavaVersion());
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("虚拟线程模式需要 Java 21 及以上，当前为 Java {}，继续使用平台线程池", JavaVersion.getJavaVersion());
+        } else {
+            log.info("请求执行模式：平台线程池");
+        }
+    }
+}
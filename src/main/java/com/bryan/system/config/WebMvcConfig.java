@@ -1,38 +1,24 @@
 package com.bryan.system.config;
 
+import com.bryan.system.util.trace.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Paths;
-
 /**
  * Spring MVC 全局配置类
  * 统一配置跨域、拦截器、格式化器等 Web 层行为。
+ * 上传文件（/uploads/**）由 {@link com.bryan.system.controller.file.UploadFileController} 提供，
+ * 以便处理缩略图、ETag 与缓存头。
  *
  * @author Bryan Long
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
-
-    /**
-     * 配置静态资源映射
-     * 将 /uploads/** 的请求映射到物理上传目录，便于前端访问上传的头像、附件等。
-     *
-     * @param registry ResourceHandlerRegistry 注册器
-     */
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String absolutePath = Paths.get(uploadDir).toAbsolutePath().toUri().toString();
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(absolutePath);
-    }
-
     @Value("${cors.allowed-origins:http://localhost:5173}")  // 默认为开发环境前端地址
     private String allowedOrigins;
 
@@ -51,4 +37,16 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    /**
+     * 注册 JSON 消息转换器，替换 Spring Boot 默认的同类转换器
+     * 序列化并写出响应体的耗时计入请求的 serialize 分段。
+     *
+     * @param objectMapper Spring Boot 配置的 ObjectMapper
+     * @return JSON 消息转换器
+     */
+    @Bean
+    public TimedJacksonHttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
 }
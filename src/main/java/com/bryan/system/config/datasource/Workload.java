@@ -0,0 +1,27 @@
+package com.bryan.system.config.datasource;
+
+import com.bryan.system.domain.enums.WorkloadType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定方法（或类中全部方法）使用的数据库连接池
+ * 未标注的方法使用 {@link WorkloadType#OLTP} 连接池。
+ * 在事务开始之前生效；已处于事务中时沿用事务已绑定的连接，不会切换连接池。
+ *
+ * @author Bryan Long
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+
+    /**
+     * 负载类型
+     */
+    WorkloadType value();
+}
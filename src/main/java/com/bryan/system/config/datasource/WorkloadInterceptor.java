@@ -0,0 +1,46 @@
+package com.bryan.system.config.datasource;
+
+import com.bryan.system.domain.enums.WorkloadType;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * {@link Workload} 注解拦截器
+ * 方法执行期间将负载类型写入当前线程，结束后恢复外层的负载类型。
+ * 方法上的注解优先于类上的注解。
+ *
+ * @author Bryan Long
+ */
+public class WorkloadInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        WorkloadType workloadType = this.resolve(invocation);
+        if (workloadType == null) {
+            return invocation.proceed();
+        }
+        WorkloadType previous = WorkloadRoutingDataSource.current();
+        WorkloadRoutingDataSource.set(workloadType);
+        try {
+            return invocation.proceed();
+        } finally {
+            WorkloadRoutingDataSource.set(previous);
+        }
+    }
+
+    private WorkloadType resolve(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() == null
+                ? invocation.getMethod().getDeclaringClass()
+                : AopUtils.getTargetClass(invocation.getThis());
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+        }
+        return workload == null ? null : workload.value();
+    }
+}
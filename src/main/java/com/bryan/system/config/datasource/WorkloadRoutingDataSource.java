@@ -0,0 +1,52 @@
+package com.bryan.system.config.datasource;
+
+import com.bryan.system.domain.enums.WorkloadType;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 按负载类型路由的数据源
+ * 获取连接时根据当前线程的负载类型选择连接池，未指定时使用 OLTP 连接池。
+ *
+ * @author Bryan Long
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    public WorkloadRoutingDataSource(Map<WorkloadType, DataSource> pools) {
+        this.setTargetDataSources(Map.copyOf(pools));
+        this.setDefaultTargetDataSource(pools.get(WorkloadType.OLTP));
+        this.setLenientFallback(false);
+        this.afterPropertiesSet();
+    }
+
+    /**
+     * 获取当前线程的负载类型
+     *
+     * @return 负载类型；未指定返回 null
+     */
+    public static WorkloadType current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 设置当前线程的负载类型
+     *
+     * @param workloadType 负载类型；null 表示恢复默认
+     */
+    public static void set(WorkloadType workloadType) {
+        if (workloadType == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workloadType);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT.get();
+    }
+}
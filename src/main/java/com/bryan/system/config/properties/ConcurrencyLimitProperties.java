@@ -0,0 +1,93 @@
+package com.bryan.system.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 自适应并发限流配置属性类
+ * 用于从配置文件中读取并发限流相关配置，避免硬编码。
+ *
+ * @author Bryan Long
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * 是否开启自适应并发限流
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 初始并发上限
+     */
+    private Integer initialLimit = 50;
+
+    /**
+     * 并发上限的下限
+     */
+    private Integer minLimit = 8;
+
+    /**
+     * 并发上限的上限
+     * 不应超过 Tomcat 最大线程数
+     */
+    private Integer maxLimit = 200;
+
+    /**
+     * 采样窗口时长（毫秒）
+     * 每个窗口结束时根据窗口内的平均延迟调整一次并发上限
+     */
+    private Long windowMs = 1000L;
+
+    /**
+     * 窗口内的最少样本数，不足时延长窗口
+     */
+    private Integer minWindowSamples = 10;
+
+    /**
+     * 延迟容忍倍数
+     * 短期平均延迟不超过长期基线的该倍数时视为未过载
+     */
+    private Double rttTolerance = 1.5;
+
+    /**
+     * 上限增长的平滑系数（0 ~ 1），越大增长越快；收缩不做平滑
+     */
+    private Double smoothing = 0.2;
+
+    /**
+     * 长期延迟基线的窗口数（指数加权平均）
+     */
+    private Integer longWindows = 60;
+
+    /**
+     * 普通请求可使用的并发额度比例
+     */
+    private Double normalShare = 0.9;
+
+    /**
+     * 可舍弃请求可使用的并发额度比例
+     */
+    private Double lowShare = 0.5;
+
+    /**
+     * 关键请求路径（Ant 风格）
+     */
+    private List<String> criticalPaths = new ArrayList<>(List.of(
+            "/api/auth/login", "/api/auth/validate", "/api/auth/logout", "/api/auth/me"));
+
+    /**
+     * 可舍弃请求路径（Ant 风格）
+     */
+    private List<String> lowPaths = new ArrayList<>(List.of(
+            "/api/users/export/**", "/api/users/search", "/api/user-profiles/name/**",
+            "/api/admin/logs/search", "/api/admin/logs/download"));
+}
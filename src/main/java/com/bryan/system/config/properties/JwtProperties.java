@@ -35,4 +35,31 @@ public class JwtProperties {
      */
     private String tokenPrefix = "Bearer ";
 
+    /**
+     * 登录 Token 类型
+     * jwt：签名 JWT；opaque：128 位随机 Token，会话信息保存在 Redis
+     * 默认 jwt
+     */
+    private String tokenMode = "jwt";
+
+    /**
+     * 不透明 Token 会话记录的本地缓存时间（毫秒）
+     * 其他实例上的登出最多延迟这么久生效，0 表示不缓存
+     * 默认 5 秒
+     */
+    private Long sessionCacheTtlMs = 5000L;
+
+    /**
+     * 不透明 Token 会话记录的本地缓存条目上限
+     * 默认 10000
+     */
+    private Integer sessionCacheSize = 10000;
+
+    /**
+     * 会话访问合并续期的写回周期（毫秒）
+     * 每个会话每个周期最多向 Redis 续期一次
+     * 默认 60 秒
+     */
+    private Long sessionTouchIntervalMs = 60000L;
+
 }
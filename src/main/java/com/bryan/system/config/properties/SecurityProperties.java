@@ -37,4 +37,53 @@ public class SecurityProperties {
      * 默认 30 分钟
      */
     private Integer accountLockDurationMinutes = 30;
+
+    /**
+     * Redis 不可用时是否降级校验 Token
+     * 开启后在 Redis 熔断打开期间仅校验签名与有效期，并检查本实例的吊销列表；
+     * 此时其他实例吊销、登记中已删除的会话仍会被接受，关闭则拒绝无法核对登记的请求
+     * 默认关闭
+     */
+    private Boolean tokenDegradedValidation = false;
+
+    /**
+     * 每个用户同时保留的登录会话（设备）数
+     * 超出时淘汰最久未访问的会话
+     */
+    private Integer maxSessionsPerUser = 5;
+
+    /**
+     * 是否对登录、注册接口限流
+     */
+    private Boolean rateLimitEnabled = true;
+
+    /**
+     * 登录限流：每个 IP 的令牌桶容量（允许的突发请求数）
+     */
+    private Integer loginIpCapacity = 20;
+
+    /**
+     * 登录限流：每个 IP 每分钟补充的令牌数
+     */
+    private Integer loginIpPerMinute = 10;
+
+    /**
+     * 登录限流：每个用户名的令牌桶容量
+     */
+    private Integer loginUsernameCapacity = 10;
+
+    /**
+     * 登录限流：每个用户名每分钟补充的令牌数
+     */
+    private Integer loginUsernamePerMinute = 5;
+
+    /**
+     * 注册限流：每个 IP 的令牌桶容量
+     */
+    private Integer registerIpCapacity = 5;
+
+    /**
+     * 注册限流：每个 IP 每分钟补充的令牌数
+     */
+    private Integer registerIpPerMinute = 2;
 }
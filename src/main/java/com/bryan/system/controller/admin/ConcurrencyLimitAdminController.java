@@ -0,0 +1,32 @@
+package com.bryan.system.controller.admin;
+
+import com.bryan.system.domain.response.Result;
+import com.bryan.system.domain.vo.ConcurrencyLimitStatsVO;
+import com.bryan.system.service.system.ConcurrencyLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 并发限流管理控制器：提供后台管理员查看自适应并发限流状态的接口。
+ */
+@RestController
+@RequestMapping("/api/admin/concurrency-limit")
+@RequiredArgsConstructor
+public class ConcurrencyLimitAdminController {
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * 获取并发限流统计：当前上限、处理中请求数、延迟与各优先级拒绝数。
+     *
+     * @return 并发限流统计
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<ConcurrencyLimitStatsVO> getStats() {
+        return Result.success(concurrencyLimiter.getStats());
+    }
+}
@@ -0,0 +1,32 @@
+package com.bryan.system.controller.admin;
+
+import com.bryan.system.domain.response.Result;
+import com.bryan.system.domain.vo.FileGcStatsVO;
+import com.bryan.system.service.file.UploadGarbageCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 上传文件管理控制器：提供后台管理员查看上传文件回收情况的接口。
+ */
+@RestController
+@RequestMapping("/api/admin/files")
+@RequiredArgsConstructor
+public class FileAdminController {
+
+    private final UploadGarbageCollector uploadGarbageCollector;
+
+    /**
+     * 获取孤立文件回收统计：检查文件数、删除文件数、回收字节数。
+     *
+     * @return 回收统计
+     */
+    @GetMapping("/gc")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<FileGcStatsVO> getGcStats() {
+        return Result.success(uploadGarbageCollector.getStats());
+    }
+}
@@ -0,0 +1,49 @@
+package com.bryan.system.controller.admin;
+
+import com.bryan.system.domain.response.Result;
+import com.bryan.system.domain.vo.HostHistoryVO;
+import com.bryan.system.domain.vo.HostMonitorVO;
+import com.bryan.system.service.system.HostMonitorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 主机监控控制器：提供后台管理员查看服务器 CPU、内存与 JVM 状态的接口。
+ * 数据来自后台定时采样，接口本身不触发采样。
+ */
+@RestController
+@RequestMapping("/api/admin/monitor")
+@RequiredArgsConstructor
+public class HostMonitorController {
+
+    private final HostMonitorService hostMonitorService;
+
+    /**
+     * 获取当前状态：CPU、内存、服务器信息与 JVM。
+     *
+     * @return 最近一次采样结果
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<HostMonitorVO> getCurrent() {
+        return Result.success(hostMonitorService.getCurrent());
+    }
+
+    /**
+     * 获取监控历史。
+     *
+     * @param seconds 时间范围（秒），默认最近 5 分钟
+     * @param step    降采样步长，每 step 个采样点合并为一个点
+     * @return 历史序列
+     */
+    @GetMapping("/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<HostHistoryVO> getHistory(@RequestParam(defaultValue = "300") int seconds,
+                                            @RequestParam(defaultValue = "1") int step) {
+        return Result.success(hostMonitorService.getHistory(seconds, step));
+    }
+}
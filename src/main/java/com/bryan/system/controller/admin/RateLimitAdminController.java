@@ -0,0 +1,32 @@
+package com.bryan.system.controller.admin;
+
+import com.bryan.system.domain.response.Result;
+import com.bryan.system.domain.vo.RateLimitStatsVO;
+import com.bryan.system.service.auth.AuthRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 限流管理控制器：提供后台管理员查看登录、注册接口限流情况的接口。
+ */
+@RestController
+@RequestMapping("/api/admin/rate-limit")
+@RequiredArgsConstructor
+public class RateLimitAdminController {
+
+    private final AuthRateLimiter authRateLimiter;
+
+    /**
+     * 获取限流统计：通过数、本地拒绝数、Redis 拒绝数、Redis 不可用时放行数。
+     *
+     * @return 限流统计
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<RateLimitStatsVO> getStats() {
+        return Result.success(authRateLimiter.getStats());
+    }
+}
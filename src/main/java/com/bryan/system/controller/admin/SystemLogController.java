@@ -1,14 +1,23 @@
 package com.bryan.system.controller.admin;
 
+import com.bryan.system.domain.request.system.LogSearchRequest;
 import com.bryan.system.domain.response.Result;
+import com.bryan.system.domain.vo.LogMetricsVO;
+import com.bryan.system.domain.vo.LogSearchVO;
+import com.bryan.system.service.system.LogMetricsService;
 import com.bryan.system.service.system.LogService;
+import com.bryan.system.service.system.LogTailService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,6 +31,8 @@ import java.util.List;
 public class SystemLogController {
 
     private final LogService logService;
+    private final LogTailService logTailService;
+    private final LogMetricsService logMetricsService;
 
     /**
      * 获取最新的应用日志内容（按行）。
@@ -45,4 +56,58 @@ public class SystemLogController {
     public Result<List<String>> listLogFiles() {
         return Result.success(logService.listLogFiles());
     }
+
+    /**
+     * 按时间段、级别与正则检索日志，支持游标分页。
+     *
+     * @param request 检索条件（from/to 格式 yyyy-MM-dd HH:mm:ss）
+     * @return 命中的日志行及下一页游标
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<LogSearchVO> searchLogs(LogSearchRequest request) {
+        return Result.success(logService.searchLogs(request));
+    }
+
+    /**
+     * 实时跟随当前日志文件（Server-Sent Events）。
+     * 仅推送订阅之后新增的日志行，事件名为 log，数据为以换行分隔的若干行。
+     *
+     * @return SSE 发射器
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamLogs() {
+        return logTailService.subscribe();
+    }
+
+    /**
+     * 下载日志文件原始内容（.log / .gz），支持 Range 断点续传。
+     *
+     * @param file     日志文件名
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     */
+    @GetMapping("/download")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void downloadLogFile(@RequestParam String file,
+                                HttpServletRequest request,
+                                HttpServletResponse response) {
+        logService.downloadLogFile(file, request, response);
+    }
+
+    /**
+     * 获取日志指标：每分钟各级别数量、高频异常类与 Logger。
+     *
+     * @param minutes 统计最近的分钟数，默认 60
+     * @param top     排行榜条数，默认 10
+     * @return 日志指标
+     */
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<LogMetricsVO> getLogMetrics(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(defaultValue = "10") int top) {
+        return Result.success(logMetricsService.getMetrics(minutes, top));
+    }
 }
@@ -7,6 +7,7 @@ import com.bryan.system.domain.request.auth.LoginRequest;
 import com.bryan.system.domain.request.auth.RegisterRequest;
 import com.bryan.system.domain.request.user.ChangePasswordRequest;
 import com.bryan.system.domain.response.Result;
+import com.bryan.system.domain.vo.SessionVO;
 import com.bryan.system.domain.vo.UserVO;
 import com.bryan.system.service.auth.AuthService;
 import com.bryan.system.service.user.UserProfileService;
@@ -18,6 +19,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 控制器：认证与授权接口
  * 提供用户注册、登录、当前用户信息获取及 Token 校验等接口。
@@ -165,4 +168,38 @@ public class AuthController {
     public boolean logout() {
         return authService.logout();
     }
+
+    /**
+     * 退出全部设备的登录
+     *
+     * @return boolean 是否退出登录
+     */
+    @GetMapping("/logout-all")
+    @PreAuthorize("isAuthenticated()")
+    public boolean logoutAll() {
+        return authService.logoutAll();
+    }
+
+    /**
+     * 查询当前用户已登录的会话（设备）列表
+     *
+     * @return 会话列表封装在统一响应结构中
+     */
+    @GetMapping("/sessions")
+    @PreAuthorize("isAuthenticated()")
+    public Result<List<SessionVO>> listSessions() {
+        return Result.success(authService.listSessions());
+    }
+
+    /**
+     * 吊销指定会话（将某台设备踢下线）
+     *
+     * @param sessionId 会话 ID
+     * @return 是否吊销成功封装在统一响应结构中
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    @PreAuthorize("isAuthenticated()")
+    public Result<Boolean> revokeSession(@PathVariable String sessionId) {
+        return Result.success(authService.revokeSession(sessionId));
+    }
 }
@@ -0,0 +1,38 @@
+package com.bryan.system.controller.file;
+
+import com.bryan.system.service.file.FileServingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * 上传文件访问控制器：将 /uploads/** 映射到上传目录中的文件（头像等）。
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadFileController {
+
+    private static final String PREFIX = "/uploads/";
+
+    private final FileServingService fileServingService;
+
+    /**
+     * 获取上传文件，支持 ETag 协商缓存。
+     *
+     * @param size     缩略图边长（像素），可选，如 ?size=64
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     */
+    @GetMapping("/uploads/**")
+    public void getUploadFile(@RequestParam(required = false) Integer size,
+                              HttpServletRequest request,
+                              HttpServletResponse response) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        String filePath = path.startsWith(PREFIX) ? path.substring(PREFIX.length()) : "";
+        fileServingService.serve(filePath, size, request, response);
+    }
+}
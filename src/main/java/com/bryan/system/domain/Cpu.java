@@ -6,6 +6,7 @@ import lombok.Setter;
 
 /**
  * Cpu CPU相关信息
+ * 各项使用率为采样周期内对应时间占全部 CPU 时间的比例（0 ~ 1），读取时换算为百分比。
  *
  * @author Bryan Long
  */
@@ -17,7 +18,7 @@ public class Cpu {
     @Getter private int processorNumber;
 
     /**
-     * CPU 总的使用率
+     * CPU 总的使用率（1 - 空闲率）
      */
     private double totalUsage;
 
@@ -42,23 +43,30 @@ public class Cpu {
     private double idleRate;
 
     public double getTotalUsage() {
-        return ArithmeticUtil.round(ArithmeticUtil.mul(totalUsage, 100), 2);
+        return percent(totalUsage);
     }
 
     public double getSystemUsage() {
-        return ArithmeticUtil.round(ArithmeticUtil.mul(systemUsage / totalUsage, 100), 2);
+        return percent(systemUsage);
     }
 
     public double getUserUsage() {
-        return ArithmeticUtil.round(ArithmeticUtil.mul(userUsage / totalUsage, 100), 2);
+        return percent(userUsage);
     }
 
     public double getWaitRate() {
-        return ArithmeticUtil.round(ArithmeticUtil.mul(waitRate / totalUsage, 100), 2);
+        return percent(waitRate);
     }
 
     public double getIdleRate() {
-        return ArithmeticUtil.round(ArithmeticUtil.mul(idleRate / totalUsage, 100), 2);
+        return percent(idleRate);
+    }
+
+    /**
+     * 比例换算为百分比并保留两位小数
+     */
+    private static double percent(double ratio) {
+        return ArithmeticUtil.round(ratio * 100, 2);
     }
 
 }
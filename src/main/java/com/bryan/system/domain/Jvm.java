@@ -0,0 +1,94 @@
+package com.bryan.system.domain;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Jvm 虚拟机与进程相关信息
+ *
+ * @author Bryan Long
+ */
+@Getter
+@Setter
+public class Jvm {
+    /**
+     * 进程 ID
+     */
+    private long pid;
+
+    /**
+     * Java 版本
+     */
+    private String javaVersion;
+
+    /**
+     * 虚拟机名称
+     */
+    private String vmName;
+
+    /**
+     * 启动时间（毫秒时间戳）
+     */
+    private long startTime;
+
+    /**
+     * 运行时长（毫秒）
+     */
+    private long uptime;
+
+    /**
+     * 进程 CPU 使用率（百分比）
+     */
+    private double processCpuUsage;
+
+    /**
+     * 已用堆内存（MB）
+     */
+    private double heapUsed;
+
+    /**
+     * 已提交堆内存（MB）
+     */
+    private double heapCommitted;
+
+    /**
+     * 最大堆内存（MB），未限制时为 -1
+     */
+    private double heapMax;
+
+    /**
+     * 已用非堆内存（MB）
+     */
+    private double nonHeapUsed;
+
+    /**
+     * 累计 GC 次数
+     */
+    private long gcCount;
+
+    /**
+     * 累计 GC 耗时（毫秒）
+     */
+    private long gcTime;
+
+    /**
+     * 当前线程数
+     */
+    private int threadCount;
+
+    /**
+     * 守护线程数
+     */
+    private int daemonThreadCount;
+
+    /**
+     * 峰值线程数
+     */
+    private int peakThreadCount;
+
+    /**
+     * 已打开的文件描述符数，非 Unix 系统为 -1
+     */
+    private long openFileDescriptors;
+
+}
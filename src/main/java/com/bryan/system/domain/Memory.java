@@ -4,10 +4,14 @@ import com.bryan.system.util.math.ArithmeticUtil;
 
 /**
  * Memory 內存相关信息
+ * 以字节保存，读取时换算为 GB 并保留两位小数。
  *
  * @author Bryan Long
  */
 public class Memory {
+
+    private static final double BYTES_PER_GB = 1024 * 1024 * 1024;
+
     /**
      * 内存总量
      */
@@ -24,7 +28,7 @@ public class Memory {
     private double remainingMemory;
 
     public double getTotalMemory() {
-        return ArithmeticUtil.div(totalMemory, (1024 * 1024 * 1024), 2);
+        return toGb(totalMemory);
     }
 
     public void setTotalMemory(long totalMemory) {
@@ -32,7 +36,7 @@ public class Memory {
     }
 
     public double getUsedMemory() {
-        return ArithmeticUtil.div(usedMemory, (1024 * 1024 * 1024), 2);
+        return toGb(usedMemory);
     }
 
     public void setUsedMemory(long usedMemory) {
@@ -40,14 +44,24 @@ public class Memory {
     }
 
     public double getRemainingMemory() {
-        return ArithmeticUtil.div(remainingMemory, (1024 * 1024 * 1024), 2);
+        return toGb(remainingMemory);
     }
 
     public void setRemainingMemory(long remainingMemory) {
         this.remainingMemory = remainingMemory;
     }
 
+    /**
+     * 内存使用率（已用 / 总量，百分比，保留两位小数）
+     */
     public double getUsage() {
-        return ArithmeticUtil.mul(ArithmeticUtil.div(usedMemory, remainingMemory, 4), 100);
+        if (totalMemory <= 0) {
+            return 0;
+        }
+        return ArithmeticUtil.div(usedMemory * 100, totalMemory, 2);
+    }
+
+    private static double toGb(double bytes) {
+        return ArithmeticUtil.div(bytes, BYTES_PER_GB, 2);
     }
 }
@@ -6,6 +6,7 @@ import com.bryan.system.domain.enums.user.UserStatusEnum;
 import com.bryan.system.domain.vo.UserExportVO;
 import com.bryan.system.domain.vo.UserProfileVO;
 import com.bryan.system.domain.vo.UserVO;
+import com.bryan.system.util.ip.IpRegionUtils;
 
 /**
  * 用户实体与值对象转换器
@@ -60,6 +61,7 @@ public class UserConverter {
                 .createdAt(user.getCreatedAt())
                 .lastLoginAt(user.getLastLoginAt())
                 .lastLoginIp(user.getLastLoginIp())
+                .lastLoginRegion(IpRegionUtils.lookup(user.getLastLoginIp()))
                 .lastLoginDevice(user.getLastLoginDevice())
                 .roles(user.getRoles())
                 .build();
@@ -0,0 +1,33 @@
+package com.bryan.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AuthSessionDTO 当前请求的登录会话
+ * 由 JwtAuthenticationFilter 从 JWT Claims 或不透明 Token 的会话记录中得到，
+ * 存入请求属性后供 JwtUtils 获取当前用户，避免重复解析 Token。
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthSessionDTO {
+
+    private Long userId;
+
+    private String username;
+
+    /** 会话 ID（多设备会话登记中的字段名） */
+    private String sessionId;
+
+    /** 逗号分隔的角色标识 */
+    private String roles;
+
+    /** 签发时间（毫秒） */
+    private Long issuedAt;
+}
@@ -0,0 +1,66 @@
+package com.bryan.system.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * HostMetric 主机与 JVM 监控历史指标枚举
+ * 每项指标在监控服务中对应一个固定大小的环形缓冲，metricName 为历史接口返回的序列名。
+ *
+ * @author Bryan Long
+ */
+@Getter
+@AllArgsConstructor
+public enum HostMetric {
+    /**
+     * 主机 CPU 使用率（%）
+     */
+    CPU_USAGE("cpuUsage"),
+
+    /**
+     * 本进程 CPU 使用率（%）
+     */
+    PROCESS_CPU_USAGE("processCpuUsage"),
+
+    /**
+     * 系统 1 分钟平均负载，不支持时为 -1
+     */
+    LOAD_AVERAGE("loadAverage"),
+
+    /**
+     * 主机内存使用率（%）
+     */
+    MEMORY_USAGE("memoryUsage"),
+
+    /**
+     * 已用堆内存（MB）
+     */
+    HEAP_USED("heapUsedMb"),
+
+    /**
+     * 已用非堆内存（MB）
+     */
+    NON_HEAP_USED("nonHeapUsedMb"),
+
+    /**
+     * 采样周期内的 GC 次数
+     */
+    GC_COUNT("gcCount"),
+
+    /**
+     * 采样周期内的 GC 耗时（毫秒）
+     */
+    GC_TIME("gcTimeMs"),
+
+    /**
+     * 当前线程数
+     */
+    THREAD_COUNT("threadCount"),
+
+    /**
+     * 已打开的文件描述符数，非 Unix 系统为 -1
+     */
+    OPEN_FILES("openFiles");
+
+    private final String metricName;
+}
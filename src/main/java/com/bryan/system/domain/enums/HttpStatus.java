@@ -42,10 +42,20 @@ public enum HttpStatus {
      */
     CONFLICT(409, "资源冲突，请刷新后重试"),
 
+    /**
+     * 请求过于频繁，触发限流。
+     */
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后重试"),
+
     /**
      * 服务器内部错误或未知异常。
      */
-    INTERNAL_ERROR(500, "服务异常");
+    INTERNAL_ERROR(500, "服务异常"),
+
+    /**
+     * 服务过载，请求被并发限流拒绝。
+     */
+    SERVICE_UNAVAILABLE(503, "服务繁忙，请稍后重试");
 
     /**
      * 错误码。
@@ -0,0 +1,31 @@
+package com.bryan.system.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * RequestPriority 请求优先级枚举
+ * 并发限流时低优先级请求只能使用部分并发额度，过载时最先被拒绝。
+ *
+ * @author Bryan Long
+ */
+@Getter
+@AllArgsConstructor
+public enum RequestPriority {
+    /**
+     * 关键请求：登录、Token 校验等，可使用全部并发额度
+     */
+    CRITICAL("关键"),
+
+    /**
+     * 普通请求
+     */
+    NORMAL("普通"),
+
+    /**
+     * 可舍弃请求：导出、搜索等耗时且可重试的请求
+     */
+    LOW("可舍弃");
+
+    private final String desc;
+}
@@ -0,0 +1,26 @@
+package com.bryan.system.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * WorkloadType 数据库负载类型枚举
+ * 不同负载类型使用独立的数据库连接池，互不占用连接。
+ *
+ * @author Bryan Long
+ */
+@Getter
+@AllArgsConstructor
+public enum WorkloadType {
+    /**
+     * 联机事务：登录、Token 校验及常规增删改查，默认类型
+     */
+    OLTP("联机事务"),
+
+    /**
+     * 批量与重查询：导出、全表模糊搜索、后台列表统计等
+     */
+    BULK("批量查询");
+
+    private final String desc;
+}
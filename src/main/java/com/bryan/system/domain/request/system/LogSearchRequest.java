@@ -0,0 +1,54 @@
+package com.bryan.system.domain.request.system;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 日志检索请求对象
+ *
+ * @author Bryan Long
+ */
+@Getter
+@Setter
+public class LogSearchRequest {
+
+    /**
+     * 起始时间（包含，可选）
+     */
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime from;
+
+    /**
+     * 结束时间（包含，可选）
+     */
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime to;
+
+    /**
+     * 日志级别过滤（可选），如 ERROR、WARN
+     */
+    private String level;
+
+    /**
+     * 正则表达式过滤（可选），对每行执行 find
+     */
+    private String pattern;
+
+    /**
+     * 指定日志文件名（可选），为空时检索全部日志文件
+     */
+    private String file;
+
+    /**
+     * 分页游标（可选），取上一页返回的 nextCursor
+     */
+    private String cursor;
+
+    /**
+     * 单页最大行数（1~2000），默认 200
+     */
+    private Integer limit = 200;
+}
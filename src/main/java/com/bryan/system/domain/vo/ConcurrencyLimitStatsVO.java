@@ -0,0 +1,54 @@
+package com.bryan.system.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 自适应并发限流统计
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class ConcurrencyLimitStatsVO {
+
+    /**
+     * 当前并发上限
+     */
+    private int limit;
+
+    /**
+     * 当前处理中的请求数
+     */
+    private int inflight;
+
+    /**
+     * 短期平均延迟（毫秒，最近一个采样窗口）
+     */
+    private double shortRttMs;
+
+    /**
+     * 长期延迟基线（毫秒）
+     */
+    private double longRttMs;
+
+    /**
+     * 通过的请求数（累计）
+     */
+    private long acceptedRequests;
+
+    /**
+     * 被拒绝的关键请求数（累计）
+     */
+    private long rejectedCritical;
+
+    /**
+     * 被拒绝的普通请求数（累计）
+     */
+    private long rejectedNormal;
+
+    /**
+     * 被拒绝的可舍弃请求数（累计）
+     */
+    private long rejectedLow;
+}
@@ -0,0 +1,41 @@
+package com.bryan.system.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 上传文件回收统计
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class FileGcStatsVO {
+
+    /**
+     * 已检查的文件数（累计）
+     */
+    private long scannedFiles;
+
+    /**
+     * 已删除的孤立文件数（累计，随原图删除的缩略图不单独计数）
+     */
+    private long deletedFiles;
+
+    /**
+     * 已回收的字节数（累计，含缩略图）
+     */
+    private long reclaimedBytes;
+
+    /**
+     * 已完成的全量扫描轮数
+     */
+    private long completedCycles;
+
+    /**
+     * 最近一轮扫描完成时间
+     */
+    private LocalDateTime lastCycleCompletedAt;
+}
@@ -0,0 +1,32 @@
+package com.bryan.system.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 主机与 JVM 监控历史
+ * 各序列与 timestamps 按下标一一对应，按时间正序排列。
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class HostHistoryVO {
+
+    /**
+     * 相邻两点的间隔（毫秒）
+     */
+    private long intervalMs;
+
+    /**
+     * 采样时间（毫秒时间戳）
+     */
+    private long[] timestamps;
+
+    /**
+     * 指标名 → 取值序列
+     */
+    private Map<String, double[]> series;
+}
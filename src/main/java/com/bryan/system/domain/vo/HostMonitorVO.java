@@ -0,0 +1,43 @@
+package com.bryan.system.domain.vo;
+
+import com.bryan.system.domain.Cpu;
+import com.bryan.system.domain.Jvm;
+import com.bryan.system.domain.Memory;
+import com.bryan.system.domain.System;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 主机与 JVM 当前状态（最近一次采样结果）
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class HostMonitorVO {
+
+    /**
+     * 采样时间（毫秒时间戳）
+     */
+    private long sampledAt;
+
+    /**
+     * CPU
+     */
+    private Cpu cpu;
+
+    /**
+     * 主机内存
+     */
+    private Memory memory;
+
+    /**
+     * 服务器信息
+     */
+    private System system;
+
+    /**
+     * JVM 与进程
+     */
+    private Jvm jvm;
+}
@@ -0,0 +1,65 @@
+package com.bryan.system.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 日志指标聚合结果
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class LogMetricsVO {
+
+    /**
+     * 每分钟各级别日志数（按时间正序，无日志的分钟计数为 0）
+     */
+    private List<MinuteCount> timeline;
+
+    /**
+     * 出现最多的异常类
+     */
+    private List<TopEntry> topExceptions;
+
+    /**
+     * 输出最多的 Logger
+     */
+    private List<TopEntry> topLoggers;
+
+    /**
+     * 单分钟各级别计数
+     */
+    @Data
+    @AllArgsConstructor
+    public static class MinuteCount {
+
+        /** 分钟，格式 yyyy-MM-dd HH:mm */
+        private String minute;
+
+        private long error;
+
+        private long warn;
+
+        private long info;
+
+        private long debug;
+
+        private long trace;
+    }
+
+    /**
+     * 排行榜条目
+     */
+    @Data
+    @AllArgsConstructor
+    public static class TopEntry {
+
+        private String name;
+
+        private long count;
+    }
+}
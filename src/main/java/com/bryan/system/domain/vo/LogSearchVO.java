@@ -0,0 +1,26 @@
+package com.bryan.system.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 日志检索结果
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class LogSearchVO {
+
+    /**
+     * 命中的日志行（按时间正序）
+     */
+    private List<String> lines;
+
+    /**
+     * 下一页游标；为 null 表示已检索完毕
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,39 @@
+package com.bryan.system.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 登录、注册限流统计
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class RateLimitStatsVO {
+
+    /**
+     * 通过的请求数（累计）
+     */
+    private long allowedRequests;
+
+    /**
+     * 被本地令牌桶拒绝的请求数（累计，未访问 Redis）
+     */
+    private long localRejectedRequests;
+
+    /**
+     * 被 Redis 全局令牌桶拒绝的请求数（累计）
+     */
+    private long redisRejectedRequests;
+
+    /**
+     * Redis 不可用、仅按本地令牌桶放行的请求数（累计）
+     */
+    private long redisUnavailableRequests;
+
+    /**
+     * 当前本地令牌桶数量
+     */
+    private int localBuckets;
+}
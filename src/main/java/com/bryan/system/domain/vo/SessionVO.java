@@ -0,0 +1,51 @@
+package com.bryan.system.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 登录会话（设备）信息
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class SessionVO {
+
+    /**
+     * 会话 ID
+     */
+    private String sessionId;
+
+    /**
+     * 登录 IP
+     */
+    private String ip;
+
+    /**
+     * 登录 IP 所属地区
+     */
+    private String region;
+
+    /**
+     * 登录设备（操作系统 / 浏览器）
+     */
+    private String device;
+
+    /**
+     * 登录时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 最近访问时间
+     */
+    private LocalDateTime lastAccessAt;
+
+    /**
+     * 是否为当前请求所在的会话
+     */
+    private boolean current;
+}
@@ -30,6 +30,8 @@ public class UserVO {
 
     private String lastLoginIp;
 
+    private String lastLoginRegion;
+
     private String lastLoginDevice;
 
     private LocalDateTime createdAt;
@@ -0,0 +1,24 @@
+package com.bryan.system.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * TooManyRequestsException 限流异常类。
+ * 用于在客户端请求频率超过限流阈值时抛出，请求在访问数据库和校验密码之前即被拒绝。
+ * 通过 {@code @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)} 直接绑定 HTTP 状态码 429 (Too Many Requests)。
+ *
+ * @author Bryan Long
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS) // 将此异常直接映射到 HTTP 429 状态码
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * 构造一个新的 TooManyRequestsException 实例，并附带详细的错误信息。
+     *
+     * @param message 异常的详细信息（通常包含建议的重试等待时间）。
+     */
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bryan.system.filter;
+
+import com.bryan.system.config.properties.ConcurrencyLimitProperties;
+import com.bryan.system.domain.enums.HttpStatus;
+import com.bryan.system.domain.enums.RequestPriority;
+import com.bryan.system.domain.response.Result;
+import com.bryan.system.service.system.ConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 自适应并发限流过滤器
+ * 在 Spring Security 过滤器链（包括 {@link JwtAuthenticationFilter}）之前执行，
+ * 超出并发上限的请求直接返回 503，不查询 Redis、数据库，也不占用连接池。
+ * 请求优先级按路径划分，见 {@link ConcurrencyLimitProperties}。
+ *
+ * @author Bryan Long
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !Boolean.TRUE.equals(properties.getEnabled()) || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = this.resolvePriority(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (!concurrencyLimiter.tryAcquire(priority)) {
+            this.writeServiceUnavailable(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 可舍弃请求（导出等）耗时与负载无关，异步请求（SSE）只统计了同步部分，均不计入延迟样本
+            concurrencyLimiter.release(System.nanoTime() - start,
+                    priority != RequestPriority.LOW && !request.isAsyncStarted());
+        }
+    }
+
+    /**
+     * 按路径确定请求优先级
+     *
+     * @param path 去掉上下文路径的请求路径
+     * @return 请求优先级
+     */
+    private RequestPriority resolvePriority(String path) {
+        if (this.matches(properties.getCriticalPaths(), path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (this.matches(properties.getLowPaths(), path)) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 快速写入 503 响应
+     *
+     * @param response 响应对象
+     * @throws IOException 写出异常
+     */
+    private void writeServiceUnavailable(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.getWriter().write(
+                objectMapper.writeValueAsString(Result.error(HttpStatus.SERVICE_UNAVAILABLE))
+        );
+    }
+}
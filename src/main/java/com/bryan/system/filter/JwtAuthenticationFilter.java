@@ -3,10 +3,21 @@ package com.bryan.system.filter;
 import com.bryan.system.domain.entity.SysUser;
 import com.bryan.system.domain.enums.HttpStatus;
 import com.bryan.system.domain.response.Result;
+import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.domain.dto.AuthSessionDTO;
 import com.bryan.system.service.auth.AuthService;
-import com.bryan.system.service.redis.RedisStringService;
+import com.bryan.system.service.auth.SessionRegistryService;
+import com.bryan.system.service.auth.SessionTokenService;
+import com.bryan.system.service.auth.SessionTouchService;
+import com.bryan.system.service.auth.TokenRevocationService;
+import com.bryan.system.service.redis.RedisCircuitBreaker;
 import com.bryan.system.util.jwt.JwtUtils;
+import com.bryan.system.util.trace.RequestTiming;
+import com.bryan.system.util.trace.RequestTiming.Phase;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,7 +39,10 @@ import java.util.stream.Collectors;
 
 /**
  * JWT 认证过滤器
- * 负责解析请求头中的 Bearer Token，验证 Redis 白名单，并构建 Spring Security 上下文。
+ * 负责解析请求头中的 Bearer Token，验证会话登记，并构建 Spring Security 上下文。
+ * 不透明 Token 只需查询一次会话记录（或命中本地缓存），不做签名运算。
+ * 会话的访问只在内存中记录，由 {@link SessionTouchService} 定期合并续期。
+ * Redis 不可用时（可配置）降级为只校验签名与有效期，并检查本地吊销列表。
  *
  * @author Bryan Long
  */
@@ -39,7 +53,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final AuthService authService;
     private final ObjectMapper objectMapper;
-    private final RedisStringService redisStringService;
+    private final SessionRegistryService sessionRegistryService;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final TokenRevocationService tokenRevocationService;
+    private final SessionTokenService sessionTokenService;
+    private final SessionTouchService sessionTouchService;
+    private final SecurityProperties securityProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Token 校验计数（auth.token.validations）：[是否不透明 Token][校验结果]
+     */
+    private final Counter[][] validationCounters = new Counter[2][];
+
+    @PostConstruct
+    public void initMetrics() {
+        for (int opaque = 0; opaque < 2; opaque++) {
+            validationCounters[opaque] = new Counter[Outcome.values().length];
+            for (Outcome outcome : Outcome.values()) {
+                validationCounters[opaque][outcome.ordinal()] = Counter.builder("auth.token.validations")
+                        .description("Bearer Token 校验次数")
+                        .tag("type", opaque == 1 ? "opaque" : "jwt")
+                        .tag("result", outcome.tagValue)
+                        .register(meterRegistry);
+            }
+        }
+    }
 
     /**
      * 单次请求过滤逻辑
@@ -63,18 +102,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         token = token.substring(7); // 截取掉 "Bearer " 前缀
 
+        // 认证耗时（含其中的 Redis、数据库访问）计入请求的 auth 分段
+        long authStart = RequestTiming.start();
+        Outcome outcome;
         try {
-            // Redis Token 白名单验证
-            String username = JwtUtils.getUsernameFromToken(token);
-            String redisToken = redisStringService.get(username);
+            outcome = this.authenticate(request, response, token);
+        } finally {
+            RequestTiming.stop(Phase.AUTH, authStart);
+        }
+        validationCounters[SessionTokenService.isOpaqueToken(token) ? 1 : 0][outcome.ordinal()].increment();
+        if (outcome != Outcome.ACCEPTED) {
+            return;
+        }
 
-            if (redisToken == null || !redisToken.equals(token)) {
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 校验 Token 并构建 Spring Security 上下文
+     *
+     * @param request  当前请求
+     * @param response 当前响应
+     * @param token    去掉前缀的 Token
+     * @return 校验结果；未通过时已写入 401 响应
+     * @throws IOException 写出异常
+     */
+    private Outcome authenticate(HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 String token) throws IOException {
+        try {
+            AuthSessionDTO session = SessionTokenService.isOpaqueToken(token)
+                    ? sessionTokenService.resolve(token)
+                    : this.verifyJwt(token);
+            if (session == null) {
                 this.writeUnauthorized(response, "Token已失效，请重新登录");
-                return;
+                return Outcome.SESSION_INVALID;
             }
+            // 供 JwtUtils 获取当前用户，后续无需再次解析 Token
+            request.setAttribute(JwtUtils.SESSION_ATTRIBUTE, session);
+            // 滑动续期：只记录访问，Redis 续期由定时任务批量写回
+            sessionTouchService.touch(session, token);
 
-            // 从 Token 的 Claims 中获取角色列表
-            List<String> roles = JwtUtils.getRolesFromToken(token);
+            // 从会话中获取角色列表
+            List<String> roles = JwtUtils.toRoleList(session.getRoles());
             // 将角色字符串列表转换为 Spring Security 的 GrantedAuthority 列表
             Collection<? extends GrantedAuthority> authorities = roles.stream()
                     .map(SimpleGrantedAuthority::new)
@@ -88,7 +158,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SysUser sysUser = authService.getCurrentUser();
             if (sysUser == null || !sysUser.isEnabled() || !sysUser.isAccountNonLocked()) {
                 this.writeUnauthorized(response, "用户状态异常或不存在");
-                return;
+                return Outcome.USER_INVALID;
             }
 
             // 构建认证对象，使用从 Token 和数据库验证后的权限
@@ -101,10 +171,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 不返回具体异常信息，防止信息泄露
             log.warn("Token验证失败: {}", e.getClass().getSimpleName());
             this.writeUnauthorized(response, "Token无效或已过期");
-            return;
+            return Outcome.TOKEN_INVALID;
         }
+        return Outcome.ACCEPTED;
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * 校验 JWT 签名、有效期与会话登记
+     *
+     * @param token JWT
+     * @return 会话信息；会话未登记或已吊销返回 null
+     */
+    private AuthSessionDTO verifyJwt(String token) {
+        AuthSessionDTO session = JwtUtils.getSessionFromToken(token);
+        if (sessionRegistryService.verify(session.getUsername(), session.getSessionId(), token)) {
+            return session;
+        }
+        if (session.getSessionId() != null && this.isDegraded()) {
+            // Redis 不可用：签名与有效期已在解析时校验，再检查本地吊销列表
+            return tokenRevocationService.isRevoked(session) ? null : session;
+        }
+        return null;
+    }
+
+    /**
+     * 是否按 Redis 不可用降级校验
+     *
+     * 单次 Redis 失败不会降级，只在熔断打开期间才跳过会话登记的核对
+     *
+     * @return Redis 熔断打开且开启了降级校验时返回 true
+     */
+    private boolean isDegraded() {
+        return Boolean.TRUE.equals(securityProperties.getTokenDegradedValidation())
+                && redisCircuitBreaker.isOpen();
     }
 
     /**
@@ -121,4 +220,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 objectMapper.writeValueAsString(Result.error(HttpStatus.UNAUTHORIZED, msg))
         );
     }
+
+    /**
+     * Token 校验结果
+     */
+    private enum Outcome {
+        ACCEPTED("accepted"),
+        SESSION_INVALID("session_invalid"),
+        USER_INVALID("user_invalid"),
+        TOKEN_INVALID("token_invalid");
+
+        private final String tagValue;
+
+        Outcome(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
 }
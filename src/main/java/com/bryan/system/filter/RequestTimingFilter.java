@@ -0,0 +1,232 @@
+package com.bryan.system.filter;
+
+import com.bryan.system.util.ip.IpNetwork;
+import com.bryan.system.util.trace.RequestTiming;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求关联 ID 与耗时分段过滤器
+ * <p>
+ * 1. 关联 ID：沿用请求头 X-Request-Id（仅限字母、数字、-、_、.，最长 64 位），否则生成 16 位十六进制 ID；
+ * 写入 MDC（requestId，见 logging.pattern.correlation）与 X-Request-Id 响应头，请求期间的日志行均带有该 ID。
+ * 2. 耗时分段：按 sample-rate 采样，被采样的请求记录各环节耗时（见 {@link RequestTiming}），
+ * 总耗时达到 slow-threshold-ms 时输出一行结构化慢请求日志。
+ * 未被采样的请求只有一次随机数判断，各环节的计时调用只读取一次 ThreadLocal。
+ * 3. Server-Timing：默认关闭。各环节耗时会暴露内部实现，登录接口的密码校验耗时还能用来判断用户名是否存在，
+ * 因此开启后也只在开始写出响应体前对可信调用方（管理员，或来自 trusted-networks 的请求）输出，
+ * /api/auth/** 下的接口一律不输出。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    @Value("${request-timing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${request-timing.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Value("${request-timing.server-timing-header:false}")
+    private boolean serverTimingHeader;
+
+    @Value("${request-timing.trusted-networks:}")
+    private String[] trustedNetworks;
+
+    private List<IpNetwork> networks = List.of();
+
+    @PostConstruct
+    public void init() {
+        try {
+            networks = IpNetwork.parseAll(trustedNetworks);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("request-timing.trusted-networks 中的" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = this.resolveRequestId(request.getHeader(REQUEST_ID_HEADER));
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            if (!this.sampled()) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            RequestTiming timing = RequestTiming.begin();
+            ServerTimingResponse timedResponse = this.serverTimingAllowed(request)
+                    ? new ServerTimingResponse(response, timing, this.fromTrustedNetwork(request.getRemoteAddr()))
+                    : null;
+            try {
+                filterChain.doFilter(request, timedResponse == null ? response : timedResponse);
+            } finally {
+                if (timedResponse != null) {
+                    // 没有响应体的请求在这里补写
+                    timedResponse.writeServerTiming();
+                }
+                // 异步请求（SSE）在此时只完成了同步部分，不计入慢请求
+                if (!request.isAsyncStarted() && timing.elapsedMs() >= slowThresholdMs) {
+                    log.warn("慢请求 method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                            response.getStatus(), timing.toLogFields());
+                }
+                RequestTiming.end();
+            }
+        } finally {
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private boolean serverTimingAllowed(HttpServletRequest request) {
+        return serverTimingHeader
+                && !request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATH_PREFIX);
+    }
+
+    private boolean fromTrustedNetwork(String remoteAddr) {
+        return IpNetwork.matchesAny(networks, remoteAddr);
+    }
+
+    /**
+     * 当前线程的认证信息是否为管理员
+     * 认证信息由安全过滤器链写入，本过滤器位于其外层，只能在链内（写出响应体时）读取；
+     * 链结束后上下文已清空，此时按非管理员处理。
+     */
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 校验客户端传入的关联 ID，不合法时生成新的 ID
+     */
+    private String resolveRequestId(String header) {
+        if (header != null && !header.isEmpty() && header.length() <= MAX_REQUEST_ID_LENGTH) {
+            boolean valid = true;
+            for (int i = 0; i < header.length() && valid; i++) {
+                char c = header.charAt(i);
+                valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                        || c == '-' || c == '_' || c == '.';
+            }
+            if (valid) {
+                return header;
+            }
+        }
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    /**
+     * 在响应提交前写入 Server-Timing 响应头
+     * 响应头必须先于响应体发送，因此在首次获取输出流、发送错误或重定向时写入，
+     * 此时序列化尚未开始，序列化耗时只出现在慢请求日志中。
+     * 调用方既不来自可信网络、写入时也不是管理员的，不输出。
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+
+        private final boolean trustedNetwork;
+
+        private boolean written;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestTiming timing, boolean trustedNetwork) {
+            super(response);
+            this.timing = timing;
+            this.trustedNetwork = trustedNetwork;
+        }
+
+        void writeServerTiming() {
+            if (!written && !this.isCommitted() && (trustedNetwork || isAdmin())) {
+                this.setHeader(SERVER_TIMING_HEADER, timing.toServerTiming());
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            this.writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            this.writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            this.writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            this.writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            this.writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            this.writeServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
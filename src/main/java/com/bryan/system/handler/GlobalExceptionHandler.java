@@ -5,6 +5,7 @@ import com.bryan.system.domain.response.Result;
 import com.bryan.system.exception.BusinessException;
 import com.bryan.system.exception.OptimisticLockException;
 import com.bryan.system.exception.ResourceNotFoundException;
+import com.bryan.system.exception.TooManyRequestsException;
 import com.bryan.system.exception.UnauthorizedException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -153,4 +154,17 @@ public class GlobalExceptionHandler {
         log.warn("未授权访问: {}", e.getMessage());
         return Result.error(HttpStatus.UNAUTHORIZED, e.getMessage());
     }
+
+    /**
+     * 处理限流异常
+     * 攻击流量下会大量出现，只记录 debug 日志，拒绝次数见限流统计
+     *
+     * @param e 限流异常
+     * @return 统一错误响应
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public Result<String> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.debug("请求被限流: {}", e.getMessage());
+        return Result.error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    }
 }
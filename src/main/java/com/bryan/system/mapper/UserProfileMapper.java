@@ -2,6 +2,10 @@ package com.bryan.system.mapper;
 
 import com.bryan.system.domain.entity.UserProfile;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * UserProfileMapper
@@ -17,5 +21,7 @@ public interface UserProfileMapper {
 
     UserProfile selectByRealName(String realName);
 
+    List<String> selectReferencedAvatars(@Param("avatars") Collection<String> avatars);
+
     int update(UserProfile record);
 }
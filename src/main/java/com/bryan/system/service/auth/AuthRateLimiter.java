@@ -0,0 +1,239 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.domain.vo.RateLimitStatsVO;
+import com.bryan.system.exception.TooManyRequestsException;
+import com.bryan.system.service.redis.RedisStringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 登录、注册接口限流服务
+ * <p>
+ * 按客户端 IP 与用户名分别限流，采用令牌桶算法：桶容量决定允许的突发请求数，
+ * 令牌按每分钟固定数量补充。全局令牌桶保存在 Redis Hash 中，
+ * 由 Lua 脚本以 Redis 服务器时间原子地补充并扣减，多个实例共享同一配额。
+ * </p>
+ * <p>
+ * 每个实例另维护参数相同的本地令牌桶作为前置过滤：本实例消耗的令牌不多于全局，
+ * 本地桶为空时全局桶必然为空，可直接拒绝而无需访问 Redis。
+ * Redis 不可用时仅按本地令牌桶限流。
+ * 限流在查询数据库、校验密码之前执行，被拒绝的请求不产生任何数据库与 BCrypt 开销。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthRateLimiter {
+
+    private static final String KEY_PREFIX = "rate:";
+
+    /**
+     * 本地令牌桶数量上限，超出时淘汰最久未使用的
+     */
+    private static final int LOCAL_BUCKET_LIMIT = 10000;
+
+    /**
+     * 多桶令牌桶脚本：ARGV 依次为每个桶的容量与每分钟补充数；
+     * 所有桶都有令牌时各扣减一个并返回 0，否则不扣减，返回需要等待的毫秒数
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local tokens = {}
+            local wait = 0
+            for i, key in ipairs(KEYS) do
+              local capacity = tonumber(ARGV[2 * i - 1])
+              local rate = tonumber(ARGV[2 * i]) / 60000
+              local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+              local available = tonumber(bucket[1]) or capacity
+              local last = tonumber(bucket[2]) or now
+              available = math.min(capacity, available + math.max(0, now - last) * rate)
+              tokens[i] = available
+              if available < 1 then
+                wait = math.max(wait, math.ceil((1 - available) / rate))
+              end
+            end
+            if wait > 0 then
+              return wait
+            end
+            for i, key in ipairs(KEYS) do
+              local capacity = tonumber(ARGV[2 * i - 1])
+              local rate = tonumber(ARGV[2 * i]) / 60000
+              redis.call('HSET', key, 'tokens', tokens[i] - 1, 'ts', now)
+              redis.call('PEXPIRE', key, math.ceil(capacity / rate))
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisStringService redisStringService;
+    private final SecurityProperties securityProperties;
+
+    /**
+     * 本地令牌桶：限流键 → 令牌桶，按访问顺序淘汰
+     */
+    private final Map<String, LocalBucket> localBuckets = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalBucket> eldest) {
+            return size() > LOCAL_BUCKET_LIMIT;
+        }
+    };
+
+    /* -------------------- 统计 -------------------- */
+
+    private final AtomicLong allowedRequests = new AtomicLong();
+    private final AtomicLong localRejectedRequests = new AtomicLong();
+    private final AtomicLong redisRejectedRequests = new AtomicLong();
+    private final AtomicLong redisUnavailableRequests = new AtomicLong();
+
+    /**
+     * 登录限流：按 IP 与用户名
+     *
+     * @param ip       客户端 IP
+     * @param username 登录用户名
+     * @throws TooManyRequestsException 超出限流阈值时抛出
+     */
+    public void checkLogin(String ip, String username) {
+        this.acquire(List.of(
+                new Limit(KEY_PREFIX + "login:ip:" + ip,
+                        securityProperties.getLoginIpCapacity(), securityProperties.getLoginIpPerMinute()),
+                new Limit(KEY_PREFIX + "login:user:" + username,
+                        securityProperties.getLoginUsernameCapacity(), securityProperties.getLoginUsernamePerMinute())));
+    }
+
+    /**
+     * 注册限流：按 IP
+     *
+     * @param ip 客户端 IP
+     * @throws TooManyRequestsException 超出限流阈值时抛出
+     */
+    public void checkRegister(String ip) {
+        this.acquire(List.of(new Limit(KEY_PREFIX + "register:ip:" + ip,
+                securityProperties.getRegisterIpCapacity(), securityProperties.getRegisterIpPerMinute())));
+    }
+
+    /**
+     * 获取限流统计
+     *
+     * @return 限流统计
+     */
+    public RateLimitStatsVO getStats() {
+        int localBucketCount;
+        synchronized (localBuckets) {
+            localBucketCount = localBuckets.size();
+        }
+        return RateLimitStatsVO.builder()
+                .allowedRequests(allowedRequests.get())
+                .localRejectedRequests(localRejectedRequests.get())
+                .redisRejectedRequests(redisRejectedRequests.get())
+                .redisUnavailableRequests(redisUnavailableRequests.get())
+                .localBuckets(localBucketCount)
+                .build();
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private void acquire(List<Limit> limits) {
+        if (!Boolean.TRUE.equals(securityProperties.getRateLimitEnabled())) {
+            return;
+        }
+
+        // 1. 本地前置过滤
+        long localWaitMs = this.acquireLocal(limits, System.currentTimeMillis());
+        if (localWaitMs > 0) {
+            localRejectedRequests.incrementAndGet();
+            throw this.rejected(localWaitMs);
+        }
+
+        // 2. Redis 全局令牌桶
+        List<String> keys = limits.stream().map(Limit::key).toList();
+        Object[] args = new Object[limits.size() * 2];
+        for (int i = 0; i < limits.size(); i++) {
+            args[2 * i] = String.valueOf(limits.get(i).capacity());
+            args[2 * i + 1] = String.valueOf(limits.get(i).perMinute());
+        }
+        Long waitMs = redisStringService.execute(TOKEN_BUCKET_SCRIPT, keys, args);
+        if (waitMs == null) {
+            redisUnavailableRequests.incrementAndGet();
+        } else if (waitMs > 0) {
+            redisRejectedRequests.incrementAndGet();
+            throw this.rejected(waitMs);
+        }
+        allowedRequests.incrementAndGet();
+    }
+
+    /**
+     * 在本地令牌桶中扣减令牌，任一桶不足时都不扣减
+     *
+     * @return 0 表示通过，否则为需要等待的毫秒数
+     */
+    private long acquireLocal(List<Limit> limits, long now) {
+        synchronized (localBuckets) {
+            LocalBucket[] buckets = new LocalBucket[limits.size()];
+            long waitMs = 0;
+            for (int i = 0; i < limits.size(); i++) {
+                Limit limit = limits.get(i);
+                buckets[i] = localBuckets.computeIfAbsent(limit.key(), key -> new LocalBucket(limit.capacity(), now));
+                waitMs = Math.max(waitMs, buckets[i].refill(limit, now));
+            }
+            if (waitMs > 0) {
+                return waitMs;
+            }
+            for (LocalBucket bucket : buckets) {
+                bucket.tokens -= 1;
+            }
+            return 0;
+        }
+    }
+
+    private TooManyRequestsException rejected(long waitMs) {
+        return new TooManyRequestsException("请求过于频繁，请 " + Math.max(1, (waitMs + 999) / 1000) + " 秒后重试");
+    }
+
+    /**
+     * 限流规则
+     *
+     * @param key       Redis 键
+     * @param capacity  桶容量
+     * @param perMinute 每分钟补充的令牌数
+     */
+    private record Limit(String key, int capacity, int perMinute) {
+    }
+
+    /**
+     * 本地令牌桶（在 localBuckets 锁内访问）
+     */
+    private static final class LocalBucket {
+
+        private double tokens;
+
+        private long updatedAt;
+
+        private LocalBucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        /**
+         * 按经过的时间补充令牌
+         *
+         * @return 0 表示至少有一个令牌，否则为需要等待的毫秒数
+         */
+        private long refill(Limit limit, long now) {
+            double ratePerMs = limit.perMinute() / 60000.0;
+            tokens = Math.min(limit.capacity(), tokens + Math.max(0, now - updatedAt) * ratePerMs);
+            updatedAt = now;
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / ratePerMs);
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package com.bryan.system.service.auth;
 
 import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.domain.dto.AuthSessionDTO;
 import com.bryan.system.domain.entity.SysUser;
 import com.bryan.system.domain.entity.UserRole;
 import com.bryan.system.domain.enums.user.UserStatusEnum;
 import com.bryan.system.domain.request.auth.LoginRequest;
 import com.bryan.system.domain.request.auth.RegisterRequest;
+import com.bryan.system.domain.vo.SessionVO;
 import com.bryan.system.exception.BusinessException;
 import com.bryan.system.exception.ResourceNotFoundException;
+import com.bryan.system.exception.TooManyRequestsException;
 import com.bryan.system.mapper.UserMapper;
 import com.bryan.system.mapper.UserRoleMapper;
-import com.bryan.system.service.redis.RedisStringService;
 import com.bryan.system.util.http.HttpUtils;
 import com.bryan.system.util.jwt.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -39,8 +42,12 @@ public class AuthService implements UserDetailsService {
     private final UserMapper userMapper;
     private final UserRoleMapper userRoleMapper;
     private final PasswordEncoder passwordEncoder;
-    private final RedisStringService redisStringService;
     private final SecurityProperties securityProperties;
+    private final TokenRevocationService tokenRevocationService;
+    private final SessionTokenService sessionTokenService;
+    private final SessionRegistryService sessionRegistryService;
+    private final AuthRateLimiter authRateLimiter;
+    private final MeterRegistry meterRegistry;
 
     /**
      * 用户注册。
@@ -49,8 +56,12 @@ public class AuthService implements UserDetailsService {
      * @return 注册成功的用户实体
      * @throws BusinessException 用户名已存在
      * @throws BusinessException 插入数据库失败
+     * @throws TooManyRequestsException 注册过于频繁
      */
     public SysUser register(RegisterRequest registerRequest) {
+        // 0. 按 IP 限流，在访问数据库之前拒绝
+        authRateLimiter.checkRegister(HttpUtils.getClientIp());
+
         // 1. 检查用户名是否已存在
         if(userMapper.selectByUsername(registerRequest.getUsername()) != null) {
             throw new BusinessException("用户名已存在");
@@ -92,8 +103,12 @@ public class AuthService implements UserDetailsService {
      * @param loginRequest 登录请求对象
      * @return 登录成功后的 JWT Token
      * @throws BusinessException 用户名不存在或密码错误
+     * @throws TooManyRequestsException 登录过于频繁
      */
     public String login(LoginRequest loginRequest) {
+        // 0. 按 IP 与用户名限流，在查询数据库、校验密码之前拒绝
+        authRateLimiter.checkLogin(HttpUtils.getClientIp(), loginRequest.getUsername());
+
         // 1. 验证用户凭证
         SysUser sysUser = userMapper.selectByUsername(loginRequest.getUsername());
 
@@ -102,6 +117,7 @@ public class AuthService implements UserDetailsService {
             // 用户不存在时，也记录一次失败的登录尝试（可以使用固定的用户ID或IP作为key）
             log.warn("登录失败 - 用户不存在: {}", loginRequest.getUsername());
             // 为防止用户名枚举，仍然抛出相同的错误消息
+            this.countLogin("failure");
             throw new BusinessException("用户名或密码错误");
         }
 
@@ -118,50 +134,56 @@ public class AuthService implements UserDetailsService {
                 sysUser.setLockedAt(now);
                 userMapper.update(sysUser);
                 log.warn("用户登录失败次数过多，已锁定: {}", sysUser.getUsername());
+                this.countLogin("locked");
                 throw new BusinessException("输入密码错误次数过多，账号锁定");
             }
             userMapper.update(sysUser);
             log.warn("用户登录密码错误: {}, 失败次数: {}", sysUser.getUsername(), sysUser.getLoginFailCount());
+            this.countLogin("failure");
             throw new BusinessException("用户名或密码错误");
         }
 
-        // 2. 检查现有Token（使用JwtUtils验证有效性）
-        String existingToken = redisStringService.get(sysUser.getUsername());
-        if (existingToken != null && JwtUtils.validateToken(existingToken)) {
-            // 刷新 Redis 中的 Token 过期时间
-            redisStringService.setExpire(sysUser.getUsername(), 86400000 / 1000);
-            return existingToken;
-        }
-
-        // 3. 更新用户登录信息
+        // 2. 更新用户登录信息
         LocalDateTime now = LocalDateTime.now();
+        String ip = HttpUtils.getClientIp();
+        String device = HttpUtils.getUserAgent().device();
         sysUser.setLastLoginAt(now);
-        sysUser.setLastLoginIp(HttpUtils.getClientIp());
-        sysUser.setLastLoginDevice(HttpUtils.getClientOS() + " / " + HttpUtils.getClientBrowser());
+        sysUser.setLastLoginIp(ip);
+        sysUser.setLastLoginDevice(device);
         sysUser.setLoginFailCount(0); // 重置密码输入错误次数
         // 登录成功时使用用户自己的ID作为updatedBy
         this.fillUpdate(sysUser, sysUser.getId() == null ? "SYSTEM" : sysUser.getId().toString());
         userMapper.update(sysUser);
 
 
-        // 4. 生成新的JWT Token
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("username", sysUser.getUsername());
-        claims.put("roles", sysUser.getRoles());
-
-        String token = JwtUtils.generateToken(sysUser.getId().toString(), claims);
-
-        // 5. 存储到Redis（设置与JWT相同的过期时间）
-        boolean saved = redisStringService.set(
-                sysUser.getUsername(),
-                token,
-                86400000 / 1000
-        );
+        // 3. 每次登录新建一个会话：不透明模式下同时写入 Redis 会话记录
+        String sessionId = sessionRegistryService.newSessionId();
+        boolean opaque = sessionTokenService.isOpaqueMode();
+        String token;
+        if (opaque) {
+            token = sessionTokenService.create(sysUser, sessionId);
+            if (token == null) {
+                throw new BusinessException("Token 存储失败");
+            }
+        } else {
+            Map<String, Object> claims = new HashMap<>();
+            claims.put("username", sysUser.getUsername());
+            claims.put("roles", sysUser.getRoles());
+            claims.put("sid", sessionId);
+            token = JwtUtils.generateToken(sysUser.getId().toString(), claims);
+        }
 
+        // 4. 登记会话（只保存 Token 摘要），超出设备数上限时淘汰最久未访问的会话
+        boolean saved = sessionRegistryService.register(sysUser.getUsername(), sessionId, token, ip, device);
         if (!saved) {
+            if (opaque) {
+                // 回滚已写入的会话记录，避免留下未登记、无法被吊销的会话
+                sessionTokenService.delete(token);
+            }
             throw new BusinessException("Token 存储失败");
         }
 
+        this.countLogin("success");
         return token;
     }
 
@@ -235,26 +257,15 @@ public class AuthService implements UserDetailsService {
      * @return 是否有效
      */
     public boolean validateToken(String token) {
-        // 1. 调用工具类验证 Token 合法性
-        return JwtUtils.validateToken(token);
-    }
-
-    /**
-     * 刷新当前用户的 JWT Token。
-     *
-     * @return String 是否有效
-     */
-    public String refreshToken() {
-        // 1. 获取当前用户信息
-        SysUser sysUser = this.getCurrentUser();
-
-        // 2. 构建 JWT claims，包含用户角色
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("username", sysUser.getUsername());
-        claims.put("roles", sysUser.getRoles());
-
-        // 3. 生成并返回 Token
-        return JwtUtils.generateToken(sysUser.getId().toString(), claims);
+        // 1. 不透明 Token 查询会话记录，JWT 调用工具类验证合法性并检查会话登记
+        if (SessionTokenService.isOpaqueToken(token)) {
+            return sessionTokenService.resolve(token) != null;
+        }
+        if (!JwtUtils.validateToken(token)) {
+            return false;
+        }
+        AuthSessionDTO session = JwtUtils.getSessionFromToken(token);
+        return sessionRegistryService.verify(session.getUsername(), session.getSessionId(), token);
     }
 
     /**
@@ -303,8 +314,9 @@ public class AuthService implements UserDetailsService {
         this.fillUpdate(user);
         userMapper.update(user);
         
-        // 清除 Redis 中的旧 Token，强制用户重新登录
-        boolean deleted = redisStringService.delete(user.getUsername());
+        // 吊销全部设备上的会话，强制用户重新登录；同时记入本地吊销列表，Redis 不可用时同样生效
+        tokenRevocationService.revoke(user.getUsername());
+        boolean deleted = sessionRegistryService.revokeAll(user.getUsername()) > 0;
         if (!deleted) {
             log.warn("用户ID: {} 密码更新成功，但清除旧 Token 失败", user.getId());
         } else {
@@ -315,14 +327,16 @@ public class AuthService implements UserDetailsService {
     }
 
     /**
-     * 清除当前用户的 JWT Token 在 Redis 中的缓存。
+     * 退出当前设备的登录，其他设备上的会话不受影响。
      *
      * @return boolean 是否成功
      * @throws BusinessException Token 清理失败
      */
     public boolean logout() {
-        String username = JwtUtils.getCurrentUsername();
-        boolean deleted = redisStringService.delete(username);
+        String sessionId = JwtUtils.getCurrentSessionId();
+        tokenRevocationService.revokeSession(sessionId);
+        boolean deleted = sessionId != null
+                && sessionRegistryService.revoke(JwtUtils.getCurrentUsername(), sessionId);
         if (!deleted) {
             throw new BusinessException("Token 清除失败");
         }
@@ -330,6 +344,47 @@ public class AuthService implements UserDetailsService {
         return true;
     }
 
+    /**
+     * 退出全部设备的登录。
+     *
+     * @return boolean 是否成功
+     * @throws BusinessException Token 清理失败
+     */
+    public boolean logoutAll() {
+        String username = JwtUtils.getCurrentUsername();
+        tokenRevocationService.revoke(username);
+        if (sessionRegistryService.revokeAll(username) == 0) {
+            throw new BusinessException("Token 清除失败");
+        }
+
+        return true;
+    }
+
+    /**
+     * 查询当前用户已登录的会话（设备）列表。
+     *
+     * @return 会话列表，按最近访问时间倒序
+     */
+    public List<SessionVO> listSessions() {
+        return sessionRegistryService.list(JwtUtils.getCurrentUsername(), JwtUtils.getCurrentSessionId());
+    }
+
+    /**
+     * 吊销当前用户的指定会话（踢下线某台设备）。
+     *
+     * @param sessionId 会话 ID
+     * @return boolean 是否成功
+     * @throws ResourceNotFoundException 会话不存在时抛出
+     */
+    public boolean revokeSession(String sessionId) {
+        tokenRevocationService.revokeSession(sessionId);
+        if (!sessionRegistryService.revoke(JwtUtils.getCurrentUsername(), sessionId)) {
+            throw new ResourceNotFoundException("会话不存在或已失效");
+        }
+
+        return true;
+    }
+
     /**
      * 注销用户。
      *
@@ -346,6 +401,15 @@ public class AuthService implements UserDetailsService {
         return user;
     }
 
+    /**
+     * 登录结果计数（auth.login，result：success / failure / locked）
+     *
+     * @param result 登录结果
+     */
+    private void countLogin(String result) {
+        meterRegistry.counter("auth.login", "result", result).increment();
+    }
+
     private void fillInsert(SysUser user) {
         LocalDateTime now = LocalDateTime.now();
         String operator = user.getUsername();
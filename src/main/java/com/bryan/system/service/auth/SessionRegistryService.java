@@ -0,0 +1,336 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.JwtProperties;
+import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.domain.vo.SessionVO;
+import com.bryan.system.service.redis.RedisHashService;
+import com.bryan.system.service.redis.RedisPipelineService;
+import com.bryan.system.service.redis.RedisStringService;
+import com.bryan.system.util.ip.IpRegionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多设备会话登记服务
+ * <p>
+ * 每个用户一个 Redis Hash {@code sessions:<username>}：字段为会话 ID，
+ * 值为 {@code <Token SHA-256>|<创建时间>|<最近访问时间>|<IP>|<设备>}，每个会话占用固定的少量内存，
+ * Redis 中不再保存完整 Token。值以 UTF-8 字符串原样存储（不经过通用值序列化器），
+ * 续期脚本按字节比较登记信息，不受 redis-serializer.format 切换影响。
+ * 每次登录新建一个会话，超过 max-sessions-per-user 时淘汰最近访问时间最早的会话；
+ * 支持按会话吊销和一条 DEL 命令登出全部设备。
+ * 不透明 Token 的会话记录（{@code session:<Token SHA-256>}）随会话一起删除。
+ * 最近访问时间与滑动续期由 {@link SessionTouchService} 合并后批量写回。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionRegistryService {
+
+    private static final String KEY_PREFIX = "sessions:";
+
+    private static final String OPAQUE_SESSION_PREFIX = "session:";
+
+    private static final int SESSION_ID_BYTES = 8;
+
+    /**
+     * 仅当登记信息未被改动（期间未被吊销或淘汰）时写回，避免重新写入已吊销的会话
+     */
+    private static final byte[] TOUCH_SCRIPT = ("if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then "
+            + "return redis.call('HSET', KEYS[1], ARGV[1], ARGV[3]) end return -1")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RedisHashService redisHashService;
+    private final RedisStringService redisStringService;
+    private final RedisPipelineService redisPipelineService;
+    private final SecurityProperties securityProperties;
+    private final JwtProperties jwtProperties;
+    private final SessionTokenService sessionTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * 生成新的会话 ID
+     *
+     * @return 64 位随机数的 Base64URL 编码（11 个字符）
+     */
+    public String newSessionId() {
+        byte[] bytes = new byte[SESSION_ID_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 登记会话，超出数量上限时淘汰最久未访问的会话
+     *
+     * @param username  用户名
+     * @param sessionId 会话 ID
+     * @param token     签发的 Token（只保存摘要）
+     * @param ip        登录 IP
+     * @param device    登录设备
+     * @return 登记成功返回 true
+     */
+    public boolean register(String username, String sessionId, String token, String ip, String device) {
+        long now = System.currentTimeMillis();
+        SessionEntry entry = new SessionEntry(SessionTokenService.fingerprint(token), now, now, ip, device);
+        String key = KEY_PREFIX + username;
+        if (!redisHashService.setString(key, Map.of(sessionId, entry.encode()), this.ttlSeconds())) {
+            return false;
+        }
+        if (redisHashService.size(key) > securityProperties.getMaxSessionsPerUser()) {
+            this.evictLeastRecentlyUsed(username);
+        }
+        return true;
+    }
+
+    /**
+     * 校验 Token 是否为登记中的会话
+     *
+     * @param username  用户名
+     * @param sessionId 会话 ID
+     * @param token     Token
+     * @return 会话存在且摘要一致返回 true；会话不存在或 Redis 不可用返回 false
+     */
+    public boolean verify(String username, String sessionId, String token) {
+        if (sessionId == null) {
+            return false;
+        }
+        SessionEntry entry = SessionEntry.decode(redisHashService.getString(KEY_PREFIX + username, sessionId));
+        return entry != null && MessageDigest.isEqual(
+                entry.fingerprint().getBytes(StandardCharsets.US_ASCII),
+                SessionTokenService.fingerprint(token).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 查询用户的全部会话，按最近访问时间倒序
+     *
+     * @param username         用户名
+     * @param currentSessionId 当前请求的会话 ID（用于标记）
+     * @return 会话列表
+     */
+    public List<SessionVO> list(String username, String currentSessionId) {
+        List<SessionVO> sessions = new ArrayList<>();
+        redisHashService.getAllString(KEY_PREFIX + username).forEach((sessionId, value) -> {
+            SessionEntry entry = SessionEntry.decode(value);
+            if (entry != null) {
+                sessions.add(SessionVO.builder()
+                        .sessionId(sessionId)
+                        .ip(entry.ip())
+                        .region(IpRegionUtils.lookup(entry.ip()))
+                        .device(entry.device())
+                        .createdAt(toLocalDateTime(entry.createdAt()))
+                        .lastAccessAt(toLocalDateTime(entry.lastAccessAt()))
+                        .current(sessionId.equals(currentSessionId))
+                        .build());
+            }
+        });
+        sessions.sort(Comparator.comparing(SessionVO::getLastAccessAt).reversed());
+        return sessions;
+    }
+
+    /**
+     * 吊销单个会话
+     *
+     * @param username  用户名
+     * @param sessionId 会话 ID
+     * @return 会话存在并删除成功返回 true
+     */
+    public boolean revoke(String username, String sessionId) {
+        String key = KEY_PREFIX + username;
+        SessionEntry entry = SessionEntry.decode(redisHashService.getString(key, sessionId));
+        if (entry == null) {
+            return false;
+        }
+        sessionTokenService.evictCached(username, sessionId);
+        redisStringService.delete(OPAQUE_SESSION_PREFIX + entry.fingerprint());
+        return redisHashService.delete(key, sessionId);
+    }
+
+    /**
+     * 吊销用户的全部会话（登出全部设备）
+     * 会话 Hash 与各不透明 Token 会话记录在同一条 DEL 命令中删除。
+     *
+     * @param username 用户名
+     * @return 删除的键数量
+     */
+    public long revokeAll(String username) {
+        String key = KEY_PREFIX + username;
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        for (String value : redisHashService.valuesString(key)) {
+            SessionEntry entry = SessionEntry.decode(value);
+            if (entry != null) {
+                keys.add(OPAQUE_SESSION_PREFIX + entry.fingerprint());
+            }
+        }
+        sessionTokenService.evictCached(username, null);
+        return redisStringService.delete(keys);
+    }
+
+    /**
+     * 批量写回会话访问：更新最近访问时间，并将会话登记与不透明 Token 会话记录续期为完整有效期
+     * 共两次网络往返：先以管道批量读取登记信息，再以管道批量比较写回并 EXPIRE。
+     *
+     * @param accesses 会话访问记录
+     * @return 续期的会话数；已吊销的会话与 Redis 不可用时不计入
+     */
+    public int touch(List<SessionAccess> accesses) {
+        List<Object> values = redisPipelineService.executeStringPipelined(ops -> accesses.forEach(access ->
+                ops.opsForHash().get(KEY_PREFIX + access.username(), access.sessionId())));
+        if (values.size() != accesses.size()) {
+            return 0;
+        }
+
+        List<SessionAccess> touched = new ArrayList<>(accesses.size());
+        List<SessionEntry> entries = new ArrayList<>(accesses.size());
+        for (int i = 0; i < accesses.size(); i++) {
+            SessionEntry entry = SessionEntry.decode(values.get(i));
+            // 会话已吊销或已淘汰，不再续期
+            if (entry != null) {
+                touched.add(accesses.get(i));
+                entries.add(entry);
+            }
+        }
+        if (touched.isEmpty()) {
+            return 0;
+        }
+
+        long ttl = this.ttlSeconds();
+        List<Object> results = redisPipelineService.executeStringPipelined(ops -> {
+            for (int i = 0; i < touched.size(); i++) {
+                SessionAccess access = touched.get(i);
+                SessionEntry entry = entries.get(i);
+                String key = KEY_PREFIX + access.username();
+                SessionEntry updated = entry.withLastAccessAt(Math.max(entry.lastAccessAt(), access.lastAccessAt()));
+                byte[][] keysAndArgs = {
+                        key.getBytes(StandardCharsets.UTF_8),
+                        access.sessionId().getBytes(StandardCharsets.UTF_8),
+                        entry.encode().getBytes(StandardCharsets.UTF_8),
+                        updated.encode().getBytes(StandardCharsets.UTF_8)
+                };
+                ops.execute((RedisCallback<Object>) connection ->
+                        connection.scriptingCommands().eval(TOUCH_SCRIPT, ReturnType.INTEGER, 1, keysAndArgs));
+                ops.expire(key, ttl, TimeUnit.SECONDS);
+                if (access.opaque()) {
+                    ops.expire(OPAQUE_SESSION_PREFIX + entry.fingerprint(), ttl, TimeUnit.SECONDS);
+                }
+            }
+        });
+        // 结果按会话依次为：脚本结果、EXPIRE 登记（、EXPIRE 不透明 Token 会话）；
+        // 脚本返回 -1 表示两次管道之间会话已被吊销或淘汰，未续期
+        int count = 0;
+        int index = 0;
+        for (SessionAccess access : touched) {
+            if (index >= results.size()) {
+                break;
+            }
+            if (results.get(index) instanceof Number result && result.longValue() != -1) {
+                count++;
+            }
+            index += access.opaque() ? 3 : 2;
+        }
+        return count;
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private void evictLeastRecentlyUsed(String username) {
+        String key = KEY_PREFIX + username;
+        List<Map.Entry<String, SessionEntry>> sessions = new ArrayList<>();
+        redisHashService.getAllString(key).forEach((sessionId, value) -> {
+            SessionEntry entry = SessionEntry.decode(value);
+            if (entry != null) {
+                sessions.add(Map.entry(sessionId, entry));
+            }
+        });
+        int excess = sessions.size() - securityProperties.getMaxSessionsPerUser();
+        if (excess <= 0) {
+            return;
+        }
+        sessions.sort(Comparator.comparingLong(session -> session.getValue().lastAccessAt()));
+        List<String> sessionIds = new ArrayList<>(excess);
+        List<String> opaqueKeys = new ArrayList<>(excess);
+        for (Map.Entry<String, SessionEntry> session : sessions.subList(0, excess)) {
+            sessionIds.add(session.getKey());
+            opaqueKeys.add(OPAQUE_SESSION_PREFIX + session.getValue().fingerprint());
+        }
+        redisHashService.delete(key, sessionIds);
+        redisStringService.delete(opaqueKeys);
+        for (String sessionId : sessionIds) {
+            sessionTokenService.evictCached(username, sessionId);
+            // 与登出一致记入本地吊销列表，降级校验期间被淘汰会话的 JWT 同样失效
+            tokenRevocationService.revokeSession(sessionId);
+        }
+        log.info("用户 {} 会话数超过上限，已淘汰 {} 个最久未访问的会话", username, excess);
+    }
+
+    private long ttlSeconds() {
+        return jwtProperties.getExpirationMs() / 1000;
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * 会话访问记录
+     *
+     * @param username     用户名
+     * @param sessionId    会话 ID
+     * @param opaque       是否为不透明 Token（需同时续期会话记录）
+     * @param lastAccessAt 最近访问时间（毫秒）
+     */
+    public record SessionAccess(String username, String sessionId, boolean opaque, long lastAccessAt) {
+    }
+
+    /**
+     * 会话登记信息，设备放在最后，允许包含分隔符
+     */
+    record SessionEntry(String fingerprint, long createdAt, long lastAccessAt, String ip, String device) {
+
+        SessionEntry withLastAccessAt(long time) {
+            return new SessionEntry(fingerprint, createdAt, time, ip, device);
+        }
+
+        String encode() {
+            return fingerprint + "|" + createdAt + "|" + lastAccessAt + "|"
+                    + (ip == null ? "" : ip) + "|" + (device == null ? "" : device);
+        }
+
+        static SessionEntry decode(Object value) {
+            if (!(value instanceof String text)) {
+                return null;
+            }
+            String[] parts = text.split("\\|", 5);
+            if (parts.length != 5) {
+                return null;
+            }
+            try {
+                return new SessionEntry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                        parts[3], parts[4]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.JwtProperties;
+import com.bryan.system.domain.dto.AuthSessionDTO;
+import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.service.redis.RedisStringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 不透明 Token 会话服务
+ * <p>
+ * 不透明 Token 为 128 位随机数的 Base64URL 编码（22 个字符），本身不含任何信息。
+ * Redis 中以 Token 的 SHA-256 摘要为键保存紧凑会话记录 {@code userId|issuedAt|sessionId|roles|username}，
+ * 校验时只需一次 Redis 查询（或命中本地缓存），无需任何签名运算。
+ * </p>
+ * <p>
+ * 本地缓存按 session-cache-ttl-ms 过期：本实例上的吊销立即生效，其他实例最多延迟一个缓存周期。
+ * 会话的登记与吊销由 {@link SessionRegistryService} 负责。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionTokenService {
+
+    private static final String KEY_PREFIX = "session:";
+
+    private static final String OPAQUE_MODE = "opaque";
+
+    private static final int TOKEN_BYTES = 16;
+
+    private final RedisStringService redisStringService;
+    private final JwtProperties jwtProperties;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * 本地缓存：Token → 会话，按访问顺序淘汰
+     */
+    private final Map<String, CachedSession> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest) {
+            return size() > jwtProperties.getSessionCacheSize();
+        }
+    };
+
+    /**
+     * 登录是否签发不透明 Token
+     *
+     * @return 配置为 opaque 时返回 true
+     */
+    public boolean isOpaqueMode() {
+        return OPAQUE_MODE.equalsIgnoreCase(jwtProperties.getTokenMode());
+    }
+
+    /**
+     * 判断 Token 是否为不透明 Token（JWT 总是包含两个 "."）
+     *
+     * @param token Token
+     * @return 不透明 Token 返回 true
+     */
+    public static boolean isOpaqueToken(String token) {
+        return token.indexOf('.') < 0;
+    }
+
+    /**
+     * 为用户创建会话并签发不透明 Token
+     *
+     * @param user      用户
+     * @param sessionId 会话 ID
+     * @return Token；Redis 写入失败返回 null
+     */
+    public String create(SysUser user, String sessionId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        AuthSessionDTO session = AuthSessionDTO.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .sessionId(sessionId)
+                .roles(user.getRoles())
+                .issuedAt(System.currentTimeMillis())
+                .build();
+        boolean saved = redisStringService.set(KEY_PREFIX + fingerprint(token), encode(session), this.ttlSeconds());
+        return saved ? token : null;
+    }
+
+    /**
+     * 查询 Token 对应的会话
+     *
+     * @param token 不透明 Token
+     * @return 会话；不存在、已过期或 Redis 不可用且本地未缓存时返回 null
+     */
+    public AuthSessionDTO resolve(String token) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedSession cached = cache.get(token);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return cached.session();
+                }
+                cache.remove(token);
+            }
+        }
+
+        String value = redisStringService.get(KEY_PREFIX + fingerprint(token));
+        AuthSessionDTO session = value != null ? decode(value) : null;
+        long cacheTtlMs = jwtProperties.getSessionCacheTtlMs();
+        if (session != null && cacheTtlMs > 0) {
+            // 会话随访问滑动续期，是否过期以 Redis 中的记录为准
+            synchronized (cache) {
+                cache.put(token, new CachedSession(session, now + cacheTtlMs));
+            }
+        }
+        return session;
+    }
+
+    /**
+     * 将会话有效期重置为完整的 Token 有效期
+     *
+     * @param token 不透明 Token
+     * @return 会话存在并刷新成功返回 true
+     */
+    public boolean refresh(String token) {
+        return redisStringService.setExpire(KEY_PREFIX + fingerprint(token), this.ttlSeconds());
+    }
+
+    /**
+     * 删除 Token 对应的会话记录，用于会话登记失败时回滚
+     *
+     * @param token 不透明 Token
+     * @return 删除成功返回 true
+     */
+    public boolean delete(String token) {
+        synchronized (cache) {
+            cache.remove(token);
+        }
+        return redisStringService.delete(KEY_PREFIX + fingerprint(token));
+    }
+
+    /**
+     * 移除本地缓存中已吊销的会话（Redis 中的会话记录由调用方删除）
+     *
+     * @param username  用户名
+     * @param sessionId 会话 ID，为 null 时移除该用户的全部会话
+     */
+    public void evictCached(String username, String sessionId) {
+        synchronized (cache) {
+            cache.values().removeIf(cached -> username.equals(cached.session().getUsername())
+                    && (sessionId == null || sessionId.equals(cached.session().getSessionId())));
+        }
+    }
+
+    /**
+     * 计算 Token 的 SHA-256 摘要（十六进制），Redis 中只保存摘要
+     *
+     * @param token Token
+     * @return 摘要
+     */
+    public static String fingerprint(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // JDK 必须提供 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private long ttlSeconds() {
+        return jwtProperties.getExpirationMs() / 1000;
+    }
+
+    /**
+     * 编码为 {@code userId|issuedAt|sessionId|roles|username}，用户名放在最后，允许包含分隔符
+     */
+    static String encode(AuthSessionDTO session) {
+        return session.getUserId() + "|" + session.getIssuedAt() + "|" + session.getSessionId() + "|"
+                + (session.getRoles() == null ? "" : session.getRoles()) + "|" + session.getUsername();
+    }
+
+    static AuthSessionDTO decode(String value) {
+        String[] parts = value.split("\\|", 5);
+        if (parts.length != 5) {
+            log.warn("会话记录格式错误，已忽略");
+            return null;
+        }
+        try {
+            return AuthSessionDTO.builder()
+                    .userId(Long.parseLong(parts[0]))
+                    .issuedAt(Long.parseLong(parts[1]))
+                    .sessionId(parts[2])
+                    .roles(parts[3])
+                    .username(parts[4])
+                    .build();
+        } catch (NumberFormatException e) {
+            log.warn("会话记录格式错误，已忽略");
+            return null;
+        }
+    }
+
+    /**
+     * 本地缓存条目
+     */
+    private record CachedSession(AuthSessionDTO session, long expiresAt) {
+    }
+}
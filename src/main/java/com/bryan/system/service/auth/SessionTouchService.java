@@ -0,0 +1,110 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.domain.dto.AuthSessionDTO;
+import com.bryan.system.service.auth.SessionRegistryService.SessionAccess;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 会话访问合并续期服务
+ * <p>
+ * 认证通过的请求只在内存中记录会话的最近访问时间，请求路径上没有 Redis 写操作；
+ * 定时任务每隔 session-touch-interval-ms 将期间被访问过的会话分批写回 Redis
+ * （更新登记中的最近访问时间并 EXPIRE 续期），因此每个会话每个周期最多续期一次。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionTouchService {
+
+    /**
+     * 单个管道中写回的会话数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final SessionRegistryService sessionRegistryService;
+
+    /**
+     * 会话 ID → 待写回的访问记录
+     */
+    private final Map<String, PendingTouch> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次会话访问
+     *
+     * @param session 当前请求的会话
+     * @param token   当前请求的 Token
+     */
+    public void touch(AuthSessionDTO session, String token) {
+        String sessionId = session.getSessionId();
+        if (sessionId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        PendingTouch touch = pending.get(sessionId);
+        if (touch != null) {
+            touch.lastAccessAt = now;
+            return;
+        }
+        pending.put(sessionId, new PendingTouch(session.getUsername(), SessionTokenService.isOpaqueToken(token), now));
+    }
+
+    /**
+     * 将本周期内被访问过的会话批量写回 Redis
+     * 写回失败（如 Redis 不可用）时直接丢弃，会话再次被访问时会重新记录。
+     */
+    @PreDestroy
+    @Scheduled(initialDelayString = "${jwt.session-touch-interval-ms:60000}",
+            fixedDelayString = "${jwt.session-touch-interval-ms:60000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SessionAccess> accesses = new ArrayList<>(pending.size());
+        Iterator<Map.Entry<String, PendingTouch>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            // 移除后仍在更新的访问时间会丢失，误差不超过一个周期，不影响续期
+            Map.Entry<String, PendingTouch> entry = iterator.next();
+            iterator.remove();
+            PendingTouch touch = entry.getValue();
+            accesses.add(new SessionAccess(touch.username, entry.getKey(), touch.opaque, touch.lastAccessAt));
+        }
+
+        int touched = 0;
+        for (int from = 0; from < accesses.size(); from += FLUSH_BATCH_SIZE) {
+            List<SessionAccess> batch = accesses.subList(from, Math.min(from + FLUSH_BATCH_SIZE, accesses.size()));
+            touched += sessionRegistryService.touch(batch);
+        }
+        log.debug("会话续期完成：访问 {} 个，续期 {} 个", accesses.size(), touched);
+    }
+
+    /**
+     * 待写回的访问记录
+     */
+    private static final class PendingTouch {
+
+        private final String username;
+
+        private final boolean opaque;
+
+        private volatile long lastAccessAt;
+
+        private PendingTouch(String username, boolean opaque, long lastAccessAt) {
+            this.username = username;
+            this.opaque = opaque;
+            this.lastAccessAt = lastAccessAt;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.JwtProperties;
+import com.bryan.system.domain.dto.AuthSessionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地 Token 吊销列表
+ * 登出时记录会话 ID；登出全部设备、修改密码时记录用户的吊销时间，签发时间不晚于该时间的 Token 视为已吊销。
+ * 仅在 Redis 不可用、Token 降级为只校验签名时使用；记录保存在本实例内存中，
+ * 超过 Token 有效期的记录已无意义，写入时顺带清理。
+ *
+ * @author Bryan Long
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    /**
+     * 触发清理的记录数
+     */
+    private static final int CLEANUP_THRESHOLD = 1024;
+
+    private final JwtProperties jwtProperties;
+
+    /**
+     * 用户名 → 吊销时间（毫秒）
+     */
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * 会话 ID → 吊销时间（毫秒）
+     */
+    private final Map<String, Long> revokedSessions = new ConcurrentHashMap<>();
+
+    /**
+     * 吊销用户此前签发的全部 Token
+     *
+     * @param username 用户名
+     */
+    public void revoke(String username) {
+        this.put(revokedAt, username);
+    }
+
+    /**
+     * 吊销单个会话
+     *
+     * @param sessionId 会话 ID
+     */
+    public void revokeSession(String sessionId) {
+        if (sessionId != null) {
+            this.put(revokedSessions, sessionId);
+        }
+    }
+
+    /**
+     * 判断 Token 是否已被吊销
+     *
+     * @param session Token 对应的会话
+     * @return 已吊销返回 true
+     */
+    public boolean isRevoked(AuthSessionDTO session) {
+        if (session.getSessionId() != null && revokedSessions.containsKey(session.getSessionId())) {
+            return true;
+        }
+        Long time = revokedAt.get(session.getUsername());
+        // JWT 签发时间只精确到秒，同一秒内签发的 Token 同样视为已吊销
+        return time != null && (session.getIssuedAt() == null || session.getIssuedAt() <= time);
+    }
+
+    private void put(Map<String, Long> records, String key) {
+        long now = System.currentTimeMillis();
+        records.put(key, now);
+        if (records.size() > CLEANUP_THRESHOLD) {
+            long expiredBefore = now - jwtProperties.getExpirationMs();
+            records.values().removeIf(time -> time < expiredBefore);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.bryan.system.service.file;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 头像缩略图服务
+ * 头像上传后在有界后台线程池中按固定尺寸（正方形，居中裁剪）生成缩略图，
+ * 与原图同目录存放，命名为 {@code <原文件名>_<尺寸>.<扩展名>}。
+ * 客户端通过 {@code /uploads/...?size=64} 请求缩略图；缩略图尚未生成（队列已满或仍在排队）时当场生成，
+ * 当场生成占用请求线程与大块堆内存，同时进行的数量不超过后台线程数，超出时不等待；
+ * 原图短边不超过目标尺寸时只读取图片头部即直接返回原图，不解码也不生成；
+ * 无法生成（如 JDK 不支持的 WebP）或超出并发上限时回退为原图。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class AvatarThumbnailService {
+
+    /**
+     * 允许解码的最大像素数，防止解压炸弹耗尽堆内存
+     */
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    /**
+     * 当场生成时等待进行中任务的最长时间（毫秒）
+     */
+    private static final long IN_FLIGHT_WAIT_MS = 3000;
+
+    private static final List<String> SOURCE_EXTENSIONS = List.of(".png", ".jpg", ".jpeg", ".gif");
+
+    /**
+     * 可生成缩略图的原图文件名：{@code <SHA-256>.(png|jpg|jpeg|gif)}，与 {@link #findOriginal} 的识别规则一致；
+     * 旧版非内容寻址命名的原图不生成缩略图，否则其缩略图不会被识别为缩略图，会被垃圾回收反复删除
+     */
+    private static final Pattern ORIGINAL_NAME = Pattern.compile("^[0-9a-f]{64}\\.(?:png|jpg|jpeg|gif)$");
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${file.thumbnail.sizes:64,128,256}")
+    private int[] sizes;
+
+    @Value("${file.thumbnail.threads:2}")
+    private int threads;
+
+    @Value("${file.thumbnail.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * 缩略图文件名：{@code <SHA-256>_<预设尺寸>.(png|jpg)}，只认内容寻址原图的缩略图，
+     * 避免把旧版 {@code <毫秒>_<序号>.png} 命名的原图误判为缩略图
+     */
+    private Pattern thumbnailName;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 当场生成的并发许可，数量与后台线程数相同
+     */
+    private Semaphore onDemandPermits;
+
+    /**
+     * 正在生成的原图（相对路径 → 任务），异步任务与当场生成共享，避免重复解码
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        sizes = Arrays.stream(sizes).filter(size -> size > 0).sorted().distinct().toArray();
+        String sizeAlternatives = Arrays.stream(sizes).mapToObj(String::valueOf).collect(Collectors.joining("|"));
+        thumbnailName = Pattern.compile("^([0-9a-f]{64})_(?:" + sizeAlternatives + ")\\.(?:png|jpg)$");
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "avatar-thumbnail-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        onDemandPermits = new Semaphore(threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交缩略图生成任务
+     * 队列已满时直接放弃，首次请求缩略图时会当场生成。
+     *
+     * @param filePath uploads 下的原图相对路径
+     */
+    public void generateAsync(String filePath) {
+        if (!this.isSupported(filePath)) {
+            return;
+        }
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(filePath, task) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> this.runTask(filePath, task));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(filePath, task);
+            task.complete(null);
+            log.warn("缩略图队列已满，延后到首次访问时生成: {}", filePath);
+        }
+    }
+
+    /**
+     * 获取缩略图文件，不存在时当场生成
+     *
+     * @param filePath      uploads 下的原图相对路径
+     * @param requestedSize 请求的边长（像素），取不小于它的最小预设尺寸
+     * @return 缩略图文件；原图已满足该尺寸（不放大）时返回原图本身；
+     * 无合适尺寸、无法生成或当场生成已达并发上限时返回 null，由调用方回退为原图
+     */
+    public Path resolveThumbnail(String filePath, int requestedSize) {
+        int size = this.pickSize(requestedSize);
+        Path source = this.resolve(filePath);
+        if (size <= 0 || source == null || !this.isSupported(filePath)) {
+            return null;
+        }
+        Path thumbnail = this.thumbnailPath(source, size);
+        if (Files.exists(thumbnail)) {
+            return thumbnail;
+        }
+        int side = this.readSide(source);
+        if (side > 0 && side <= size) {
+            // 不放大，生成时会跳过该尺寸，直接以原图作为该尺寸的结果
+            return source;
+        }
+
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(filePath, task);
+        if (existing != null) {
+            try {
+                existing.get(IN_FLIGHT_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        } else if (onDemandPermits.tryAcquire()) {
+            try {
+                this.runTask(filePath, task);
+            } finally {
+                onDemandPermits.release();
+            }
+        } else {
+            inFlight.remove(filePath, task);
+            task.complete(null);
+            return null;
+        }
+        return Files.exists(thumbnail) ? thumbnail : null;
+    }
+
+    /**
+     * 删除原图对应的全部缩略图
+     *
+     * @param filePath uploads 下的原图相对路径
+     * @return 释放的字节数
+     */
+    public long deleteThumbnails(String filePath) {
+        Path source = this.resolve(filePath);
+        if (source == null) {
+            return 0;
+        }
+        long freed = 0;
+        for (int size : sizes) {
+            Path thumbnail = this.thumbnailPath(source, size);
+            try {
+                long length = Files.exists(thumbnail) ? Files.size(thumbnail) : 0;
+                if (Files.deleteIfExists(thumbnail)) {
+                    freed += length;
+                }
+            } catch (IOException e) {
+                log.warn("删除缩略图失败: {}, size: {}", filePath, size, e);
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * 查找缩略图对应的原图
+     *
+     * @param file 任意文件
+     * @return 原图路径；文件名不符合缩略图命名或原图已不存在时返回 null
+     */
+    public Path findOriginal(Path file) {
+        String name = file.getFileName().toString();
+        Matcher matcher = thumbnailName.matcher(name.toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            return null;
+        }
+        String base = name.substring(0, matcher.end(1));
+        for (String extension : SOURCE_EXTENSIONS) {
+            Path original = file.resolveSibling(base + extension);
+            if (Files.exists(original)) {
+                return original;
+            }
+        }
+        return null;
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private void runTask(String filePath, CompletableFuture<Void> task) {
+        try {
+            Path source = this.resolve(filePath);
+            if (source != null && Files.exists(source)) {
+                this.generate(source);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("缩略图生成失败: {}", filePath, e);
+        } finally {
+            inFlight.remove(filePath, task);
+            task.complete(null);
+        }
+    }
+
+    /**
+     * 解码一次原图，从大到小依次缩放，较小尺寸以上一尺寸的结果为源
+     */
+    private void generate(Path source) throws IOException {
+        BufferedImage image = this.read(source);
+        if (image == null) {
+            return;
+        }
+        int side = Math.min(image.getWidth(), image.getHeight());
+        BufferedImage current = image.getSubimage(
+                (image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+        String format = this.thumbnailExtension(source).substring(1);
+
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            int size = sizes[i];
+            if (size >= side) {
+                // 不放大，原图即可满足
+                continue;
+            }
+            current = scale(current, size, "png".equals(format));
+            Path thumbnail = this.thumbnailPath(source, size);
+            Path temp = Files.createTempFile(source.getParent(), ".thumb-", ".tmp");
+            try {
+                if (!ImageIO.write(current, format, temp.toFile())) {
+                    throw new IOException("不支持写入格式: " + format);
+                }
+                Files.move(temp, thumbnail, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * 读取图片，先检查尺寸再解码
+     *
+     * @return 图片；格式不受支持或尺寸过大返回 null
+     */
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    log.warn("图片尺寸过大，跳过缩略图: {}", source);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 只读取图片头部获取短边长度，不解码像素
+     *
+     * @return 短边像素数；文件不存在、格式不受支持或读取失败返回 -1
+     */
+    private int readSide(Path source) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return -1;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return -1;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return Math.min(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 逐级减半缩放到目标尺寸，双线性插值在每级缩放比不超过 2 时质量较好
+     */
+    private static BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        BufferedImage current = source;
+        int currentSize = source.getWidth();
+        do {
+            currentSize = Math.max(size, currentSize / 2);
+            BufferedImage next = new BufferedImage(currentSize, currentSize,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentSize, currentSize, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentSize > size);
+        return current;
+    }
+
+    private int pickSize(int requestedSize) {
+        for (int size : sizes) {
+            if (size >= requestedSize) {
+                return size;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isSupported(String filePath) {
+        // 缩略图本身与旧版命名的原图都不匹配
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        return ORIGINAL_NAME.matcher(lower.substring(lower.lastIndexOf('/') + 1)).matches();
+    }
+
+    /**
+     * 将相对路径解析到上传目录内，越界返回 null
+     */
+    private Path resolve(String filePath) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path = root.resolve(filePath).normalize();
+        return path.startsWith(root) ? path : null;
+    }
+
+    private Path thumbnailPath(Path source, int size) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return source.resolveSibling(base + "_" + size + this.thumbnailExtension(source));
+    }
+
+    /**
+     * JPEG 保持 JPEG；其余格式（可能带透明通道、GIF 取首帧）统一输出 PNG
+     */
+    private String thumbnailExtension(Path source) {
+        String lower = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg") ? ".jpg" : ".png";
+    }
+}
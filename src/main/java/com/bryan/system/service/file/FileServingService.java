@@ -0,0 +1,306 @@
+package com.bryan.system.service.file;
+
+import com.bryan.system.util.http.FileTransferUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 上传文件访问服务
+ * 为 /uploads/** 提供带缓存协商的静态文件响应：
+ * 1. 强 ETag 由内容得出：内容寻址文件（SHA-256 命名）直接取文件名，历史文件首次访问时计算摘要并缓存；
+ * 2. 内容寻址文件内容永不变化，返回一年期 immutable 缓存头；其余文件及缩略图请求回退为原图时每次协商；
+ * 3. If-None-Match 命中返回 304；
+ * 4. 第二次被访问的小文件进入按总字节数限制的 LRU 热点缓存，其余文件通过 sendfile / transferTo 零拷贝发送。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileServingService {
+
+    /**
+     * 内容寻址文件名：64 位十六进制摘要，可带缩略图尺寸后缀
+     */
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^([0-9a-f]{64}(?:_\\d+)?)\\.[a-z]+$");
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE_CONTROL = "public, no-cache";
+
+    /**
+     * 文件元数据缓存条目上限
+     */
+    private static final int MAX_METADATA_ENTRIES = 10_000;
+
+    private final AvatarThumbnailService avatarThumbnailService;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${file.serving.hot-cache-bytes:33554432}")
+    private long hotCacheBytes;
+
+    @Value("${file.serving.hot-entry-max-bytes:262144}")
+    private long hotEntryMaxBytes;
+
+    /**
+     * 文件元数据（ETag、访问次数），按访问顺序淘汰
+     */
+    private final Map<Path, FileMetadata> metadata = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, FileMetadata> eldest) {
+            return size() > MAX_METADATA_ENTRIES;
+        }
+    };
+
+    /**
+     * 热点文件内容，按访问顺序淘汰，总字节数不超过 hotCacheBytes
+     */
+    private final LinkedHashMap<Path, CachedFile> hotFiles = new LinkedHashMap<>(256, 0.75f, true);
+    private long hotBytes;
+
+    /**
+     * 输出上传文件
+     *
+     * @param filePath uploads 下的相对路径
+     * @param size     请求的缩略图尺寸（可空）
+     * @param request  当前请求
+     * @param response 响应
+     */
+    public void serve(String filePath, Integer size, HttpServletRequest request, HttpServletResponse response) {
+        Path path = this.resolve(filePath);
+        if (path == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        boolean variantRequested = size != null && size > 0;
+        Path thumbnail = variantRequested ? avatarThumbnailService.resolveThumbnail(filePath, size) : null;
+        // 请求了缩略图却回退为原图（尚未生成、等待超时等）时不能长期缓存，否则原图会以缩略图 URL 被缓存一年；
+        // 原图本身已满足该尺寸时缩略图服务直接返回原图路径，按原图的缓存头处理
+        boolean fallback = variantRequested && thumbnail == null;
+        if (thumbnail != null) {
+            path = thumbnail;
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            long length = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            FileMetadata meta = this.getMetadata(path, length, lastModified);
+
+            response.setHeader("ETag", meta.etag());
+            response.setHeader("Cache-Control",
+                    meta.immutable() && !fallback ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+            response.setDateHeader("Last-Modified", lastModified);
+            if (this.matchesEtag(request.getHeader("If-None-Match"), meta.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+            response.setContentLengthLong(length);
+            if ("HEAD".equalsIgnoreCase(request.getMethod()) || length == 0) {
+                return;
+            }
+
+            byte[] bytes = this.getHotBytes(path, meta, length);
+            if (bytes != null) {
+                response.getOutputStream().write(bytes);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                FileTransferUtils.transfer(request, response, path, channel, 0, length - 1);
+            }
+        } catch (NoSuchFileException e) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        } catch (IOException e) {
+            // 客户端中断同样会走到这里，无需按错误处理
+            log.debug("上传文件发送中断：{}，原因：{}", filePath, e.getMessage());
+        }
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    /**
+     * 获取（必要时计算）文件元数据，并累计访问次数
+     */
+    private FileMetadata getMetadata(Path path, long length, long lastModified) throws IOException {
+        FileMetadata meta;
+        synchronized (metadata) {
+            meta = metadata.get(path);
+        }
+        if (meta == null || meta.length() != length || meta.lastModified() != lastModified) {
+            Matcher matcher = CONTENT_ADDRESSED_NAME.matcher(path.getFileName().toString());
+            meta = matcher.matches()
+                    ? new FileMetadata(length, lastModified, "\"" + matcher.group(1) + "\"", true)
+                    : new FileMetadata(length, lastModified, "\"" + this.sha256(path) + "\"", false);
+            synchronized (metadata) {
+                metadata.put(path, meta);
+            }
+        }
+        meta.hits++;
+        return meta;
+    }
+
+    /**
+     * 获取热点文件内容
+     * 只缓存第二次及以后被访问的小文件，一次性访问的文件不挤占缓存。
+     *
+     * @return 缓存的文件内容；不满足缓存条件返回 null
+     */
+    private byte[] getHotBytes(Path path, FileMetadata meta, long length) throws IOException {
+        if (length > hotEntryMaxBytes || length > hotCacheBytes) {
+            return null;
+        }
+        synchronized (hotFiles) {
+            CachedFile cached = hotFiles.get(path);
+            if (cached != null && cached.etag().equals(meta.etag()) && cached.bytes().length == length) {
+                return cached.bytes();
+            }
+        }
+        if (meta.hits < 2) {
+            return null;
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length != length) {
+            // 读取期间文件发生变化，本次不缓存，按已声明的长度走零拷贝发送
+            return null;
+        }
+        synchronized (hotFiles) {
+            CachedFile previous = hotFiles.put(path, new CachedFile(meta.etag(), bytes));
+            hotBytes += bytes.length - (previous == null ? 0 : previous.bytes().length);
+            Iterator<CachedFile> iterator = hotFiles.values().iterator();
+            while (hotBytes > hotCacheBytes && iterator.hasNext()) {
+                hotBytes -= iterator.next().bytes().length;
+                iterator.remove();
+            }
+        }
+        return bytes;
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                // 弱比较：GET 条件请求允许
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将相对路径解析到上传目录内，越界返回 null
+     * 以点开头的文件或目录（上传、缩略图的临时文件）与垃圾回收的墓碑文件不对外输出，同样返回 null。
+     */
+    private Path resolve(String filePath) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path = root.resolve(filePath).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            return null;
+        }
+        for (Path segment : root.relativize(path)) {
+            if (segment.toString().startsWith(".")) {
+                return null;
+            }
+        }
+        return path.getFileName().toString().endsWith(UploadGarbageCollector.TOMBSTONE_SUFFIX) ? null : path;
+    }
+
+    private String sha256(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // JDK 必须提供 SHA-256
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 文件元数据
+     */
+    private static final class FileMetadata {
+        private final long length;
+        private final long lastModified;
+        private final String etag;
+        private final boolean immutable;
+        /**
+         * 访问次数，仅用于热点缓存准入判断，并发下少计几次无妨
+         */
+        private volatile int hits;
+
+        private FileMetadata(long length, long lastModified, String etag, boolean immutable) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.etag = etag;
+            this.immutable = immutable;
+        }
+
+        long length() {
+            return length;
+        }
+
+        long lastModified() {
+            return lastModified;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        boolean immutable() {
+            return immutable;
+        }
+    }
+
+    /**
+     * 热点缓存条目
+     */
+    private record CachedFile(String etag, byte[] bytes) {
+    }
+}
@@ -1,15 +1,29 @@
 package com.bryan.system.service.file;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -18,6 +32,7 @@ import java.util.Set;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class LocalFileService {
 
     // 允许的文件类型（MIME类型白名单）
@@ -28,16 +43,41 @@ public class LocalFileService {
             "image/webp"
     );
 
+    // MIME类型对应的文件扩展名
+    private static final Map<String, String> FILE_EXTENSIONS = Map.of(
+            "image/png", ".png",
+            "image/jpeg", ".jpg",
+            "image/gif", ".gif",
+            "image/webp", ".webp"
+    );
+
     // PNG 文件的魔数 (文件头签名)
     private static final byte[] PNG_MAGIC = new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
     // JPEG 文件的魔数
     private static final byte[] JPEG_MAGIC = new byte[]{(byte) 0xFF, (byte) 0xD8};
+    // GIF 文件的魔数
+    private static final byte[] GIF87_MAGIC = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89_MAGIC = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    // WebP 文件的魔数：RIFF 容器 + 第 8 字节起的 WEBP 标识
+    private static final byte[] RIFF_MAGIC = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_MAGIC = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    // 类型识别需要的文件头长度
+    private static final int HEADER_SIZE = 12;
+
+    private final MeterRegistry meterRegistry;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
 
     /**
      * 存储上传文件并返回相对路径
+     * 上传内容只读写一遍：从缓冲前缀识别文件类型，同时写入目标目录下的临时文件并计算 SHA-256，
+     * 完成后原子移动到最终文件名，失败时不会留下半截文件。
+     * <p>
+     * 文件按内容寻址：以 SHA-256 命名，并按摘要前两级各两位十六进制分片存放
+     * （如 avatars/ab/cd/abcd....png），相同内容只保存一份，单个目录的条目数也保持在可控范围内。
+     * </p>
      *
      * @param file 上传文件
      * @param subDirectory 子目录
@@ -59,94 +99,175 @@ public class LocalFileService {
             throw new IOException("文件名不能为空");
         }
 
-        // 验证文件内容类型（通过魔数检测）
-        String detectedContentType = detectContentType(file.getInputStream());
-        if (detectedContentType == null || !ALLOWED_CONTENT_TYPES.contains(detectedContentType)) {
-            throw new IOException("不支持的文件类型，仅允许 PNG、JPEG、GIF、WebP 格式");
-        }
+        // 单次读取：识别类型 + 写入临时文件 + 计算摘要
+        StoredContent content = this.writeToTempFile(file, uploadPath);
+
+        // 按内容摘要生成分片路径与文件名
+        String hash = content.sha256();
+        String fileName = hash + FILE_EXTENSIONS.get(content.contentType());
+        Path relativePath = Paths.get(subDirectory, hash.substring(0, 2), hash.substring(2, 4), fileName);
+        Path filePath = uploadPath.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(fileName);
 
-        // 确保文件名以.png结尾
-        String correctedFilename = originalFilename;
-        if (!correctedFilename.toLowerCase().endsWith(".png")) {
-            // 如果已经有其他扩展名，去掉后再添加.png
-            int lastDotIndex = correctedFilename.lastIndexOf('.');
-            if (lastDotIndex > 0) {
-                correctedFilename = correctedFilename.substring(0, lastDotIndex);
+        try {
+            if (this.touchExisting(filePath)) {
+                // 相同内容已存在，直接复用；刷新成功后才删除临时文件
+                Files.delete(content.tempFile());
+                log.info("文件内容已存在，复用: {}", relativePath);
+                this.recordUpload(subDirectory, true, content.size());
+                return relativePath.toString();
             }
-            correctedFilename += ".png";
+            Files.createDirectories(filePath.getParent());
+            Files.move(content.tempFile(), filePath,
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(content.tempFile());
+            throw e;
         }
-
-        // 生成唯一的文件名，以时间戳开头，加上修正后的原始文件名
-        String fileName = System.currentTimeMillis() + "_" + correctedFilename;
-        // 构建文件的完整物理路径
-        Path filePath = uploadPath.resolve(fileName);
-
-        // 将文件输入流复制到目标路径，如果文件已存在则替换
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        log.info("文件存储成功: {}, 类型: {}, 大小: {}", relativePath, content.contentType(), content.size());
+        this.recordUpload(subDirectory, false, content.size());
 
         // 返回文件在 uploads 目录下的相对路径
-        return Paths.get(subDirectory, fileName).toString();
+        return relativePath.toString();
 //        ！！！此是备用的方案，返回文件在 uploads 目录下的相对路径，使用正斜杠（URL格式）
-//        return Paths.get(subDirectory, fileName).toString().replace("\\", "/");
+//        return relativePath.toString().replace("\\", "/");
+    }
+
+    /**
+     * 刷新已有文件的修改时间，使回收任务的宽限期重新计算
+     * 回收任务删除前会先将文件改名并复核修改时间：刷新成功即保证文件被保留；
+     * 文件已被改名或删除时刷新失败，由调用方改为写入新文件。
+     *
+     * @param filePath 目标文件
+     * @return 文件存在且已刷新返回 true
+     * @throws IOException 其他读写异常
+     */
+    private boolean touchExisting(Path filePath) throws IOException {
+        try {
+            Files.setLastModifiedTime(filePath, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 记录上传字节数（file.upload.bytes，directory 为调用方传入的固定子目录）
+     */
+    private void recordUpload(String subDirectory, boolean deduplicated, long size) {
+        DistributionSummary.builder("file.upload.bytes")
+                .description("上传文件大小")
+                .baseUnit("bytes")
+                .tag("directory", subDirectory)
+                .tag("deduplicated", String.valueOf(deduplicated))
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    /**
+     * 将上传内容一次性写入目标目录下的临时文件
+     * 先从缓冲流前缀识别类型（不合法直接拒绝，不落盘），再边写边计算 SHA-256。
+     * 临时文件与目标文件位于同一目录，保证后续 move 为同一文件系统内的原子重命名。
+     *
+     * @param file      上传文件
+     * @param directory 目标目录
+     * @return 临时文件及其类型、大小、摘要
+     * @throws IOException 类型不支持或读写失败
+     */
+    private StoredContent writeToTempFile(MultipartFile file, Path directory) throws IOException {
+        MessageDigest digest = this.newSha256();
+        try (InputStream in = new BufferedInputStream(file.getInputStream(), HEADER_SIZE * 2)) {
+            // 验证文件内容类型（通过魔数检测）
+            in.mark(HEADER_SIZE);
+            byte[] header = in.readNBytes(HEADER_SIZE);
+            in.reset();
+            String contentType = this.detectContentType(header, header.length);
+            if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+                throw new IOException("不支持的文件类型，仅允许 PNG、JPEG、GIF、WebP 格式");
+            }
+
+            Path tempFile = Files.createTempFile(directory, ".upload-", ".tmp");
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                long size = in.transferTo(out);
+                return new StoredContent(tempFile, contentType, size, HexFormat.of().formatHex(digest.digest()));
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+        }
     }
 
     /**
      * 通过文件头魔数检测文件真实类型
      *
-     * @param inputStream 文件输入流
+     * @param header    文件头字节
+     * @param bytesRead 有效字节数
      * @return 检测到的MIME类型，如果无法识别则返回null
-     * @throws IOException IO异常
      */
-    private String detectContentType(java.io.InputStream inputStream) throws IOException {
-        // 读取文件头8个字节
-        byte[] header = new byte[8];
-        int bytesRead = inputStream.read(header);
+    private String detectContentType(byte[] header, int bytesRead) {
         if (bytesRead < 2) {
             return null;
         }
 
         // 检测PNG
-        if (bytesRead >= 8 && this.isMagicMatch(header, PNG_MAGIC)) {
+        if (bytesRead >= PNG_MAGIC.length && this.isMagicMatch(header, PNG_MAGIC, 0)) {
             return "image/png";
         }
 
         // 检测JPEG
-        if (bytesRead >= 2 && this.isMagicMatch(header, JPEG_MAGIC)) {
+        if (this.isMagicMatch(header, JPEG_MAGIC, 0)) {
             return "image/jpeg";
         }
 
-        // 尝试使用Files.probeContentType进一步检测
-        try {
-            // 创建一个临时文件来检测类型
-            Path tempFile = Files.createTempFile("img_detect_", ".tmp");
-            try {
-                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
-                String contentType = Files.probeContentType(tempFile);
-                return contentType;
-            } finally {
-                Files.deleteIfExists(tempFile);
-            }
-        } catch (Exception e) {
-            return null;
+        // 检测GIF（GIF87a / GIF89a）
+        if (bytesRead >= GIF87_MAGIC.length
+                && (this.isMagicMatch(header, GIF87_MAGIC, 0) || this.isMagicMatch(header, GIF89_MAGIC, 0))) {
+            return "image/gif";
+        }
+
+        // 检测WebP（RIFF....WEBP）
+        if (bytesRead >= 12 && this.isMagicMatch(header, RIFF_MAGIC, 0) && this.isMagicMatch(header, WEBP_MAGIC, 8)) {
+            return "image/webp";
         }
+        return null;
     }
 
     /**
-     * 检查字节数组是否以指定的魔数开头
+     * 检查字节数组指定位置是否为给定魔数
      *
-     * @param data 要检查的数据
-     * @param magic 魔数
+     * @param data   要检查的数据
+     * @param magic  魔数
+     * @param offset 起始位置
      * @return 是否匹配
      */
-    private boolean isMagicMatch(byte[] data, byte[] magic) {
+    private boolean isMagicMatch(byte[] data, byte[] magic, int offset) {
         for (int i = 0; i < magic.length; i++) {
-            if (data[i] != magic[i]) {
+            if (data[offset + i] != magic[i]) {
                 return false;
             }
         }
         return true;
     }
 
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // JDK 必须提供 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 已写入临时文件的上传内容
+     *
+     * @param tempFile    临时文件
+     * @param contentType 识别出的 MIME 类型
+     * @param size        字节数
+     * @param sha256      内容摘要（十六进制小写）
+     */
+    private record StoredContent(Path tempFile, String contentType, long size, String sha256) {
+    }
+
     /**
      * 读取指定相对路径文件为字节数组
      *
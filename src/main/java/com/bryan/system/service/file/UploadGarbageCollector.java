@@ -0,0 +1,287 @@
+package com.bryan.system.service.file;
+
+import com.bryan.system.domain.vo.FileGcStatsVO;
+import com.bryan.system.mapper.UserProfileMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 上传文件回收任务
+ * 定时、分批遍历头像目录：每次只取 batch-size 个文件，批量查询 user_profile.avatar 引用，
+ * 对修改时间早于宽限期且未被任何有效用户资料引用的文件执行删除（软删除用户的头像同样视为无引用）。
+ * 目录遍历游标在两次执行之间保留，一轮遍历完成后从头开始下一轮。
+ * <p>
+ * 宽限期保证刚上传、尚未写入数据库的文件不会被误删；
+ * 上传命中已有内容时会刷新文件修改时间，宽限期随之重新计算。
+ * </p>
+ * <p>
+ * 删除前先将文件原子重命名为墓碑文件（原文件名 + .gc），再复核墓碑的修改时间与引用：
+ * 重命名之前完成的刷新会体现在墓碑上，此时改回原名；重命名之后的上传因原文件已不存在，
+ * 会改为写入新文件。进程在两步之间退出留下的墓碑，在下一轮遍历时恢复。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadGarbageCollector {
+
+    private static final String AVATAR_DIRECTORY = "avatars";
+
+    /**
+     * 墓碑文件后缀，文件服务据此拒绝输出待删除文件
+     */
+    static final String TOMBSTONE_SUFFIX = ".gc";
+
+    private final UserProfileMapper userProfileMapper;
+    private final AvatarThumbnailService avatarThumbnailService;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${file.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.gc.batch-size:200}")
+    private int batchSize;
+
+    @Value("${file.gc.grace-hours:24}")
+    private long graceHours;
+
+    /* -------------------- 遍历游标（持有 lock 时访问） -------------------- */
+
+    private Stream<Path> walk;
+    private Iterator<Path> cursor;
+
+    /**
+     * 回收过程包含数据库与文件 I/O，使用 ReentrantLock 而非 synchronized，避免虚拟线程固定载体线程
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /* -------------------- 统计 -------------------- */
+
+    private final AtomicLong scannedFiles = new AtomicLong();
+    private final AtomicLong deletedFiles = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong completedCycles = new AtomicLong();
+    private volatile LocalDateTime lastCycleCompletedAt;
+
+    /**
+     * 处理一批文件
+     */
+    @Scheduled(initialDelayString = "${file.gc.interval-ms:60000}",
+            fixedDelayString = "${file.gc.interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            this.sweepLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取回收统计
+     *
+     * @return 累计统计
+     */
+    public FileGcStatsVO getStats() {
+        return FileGcStatsVO.builder()
+                .scannedFiles(scannedFiles.get())
+                .deletedFiles(deletedFiles.get())
+                .reclaimedBytes(reclaimedBytes.get())
+                .completedCycles(completedCycles.get())
+                .lastCycleCompletedAt(lastCycleCompletedAt)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            this.closeWalk();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private void sweepLocked() {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path avatarRoot = root.resolve(AVATAR_DIRECTORY);
+        if (!Files.isDirectory(avatarRoot)) {
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(graceHours);
+        List<Path> batch = this.nextBatch(avatarRoot, cutoff);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<String> relativePaths = batch.stream().map(path -> root.relativize(path).toString()).toList();
+        Set<String> referenced;
+        try {
+            referenced = new HashSet<>(userProfileMapper.selectReferencedAvatars(relativePaths));
+        } catch (RuntimeException e) {
+            // 无法确认引用关系时不删除任何文件，本批留到下一轮
+            log.warn("查询头像引用失败，跳过本批回收：{}", e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Path path = batch.get(i);
+            String relativePath = relativePaths.get(i);
+            if (referenced.contains(relativePath) || avatarThumbnailService.findOriginal(path) != null) {
+                // 被引用，或是仍有原图的缩略图（随原图一起回收）
+                continue;
+            }
+            this.delete(path, relativePath, cutoff);
+        }
+    }
+
+    /**
+     * 从遍历游标中取出下一批超过宽限期的普通文件
+     */
+    private List<Path> nextBatch(Path avatarRoot, long cutoff) {
+        List<Path> batch = new ArrayList<>(batchSize);
+        try {
+            if (cursor == null) {
+                walk = Files.walk(avatarRoot);
+                cursor = walk.iterator();
+            }
+            while (batch.size() < batchSize) {
+                if (!cursor.hasNext()) {
+                    this.closeWalk();
+                    completedCycles.incrementAndGet();
+                    lastCycleCompletedAt = LocalDateTime.now();
+                    break;
+                }
+                Path path = cursor.next();
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                if (path.getFileName().toString().endsWith(TOMBSTONE_SUFFIX)) {
+                    this.recoverTombstone(path);
+                    continue;
+                }
+                scannedFiles.incrementAndGet();
+                if (attributes.lastModifiedTime().toMillis() < cutoff) {
+                    batch.add(path);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // 遍历期间目录被删除等情况：结束本轮，下次重新开始
+            log.warn("遍历上传目录失败，将重新开始：{}", e.getMessage());
+            this.closeWalk();
+        }
+        return batch;
+    }
+
+    private void delete(Path path, String relativePath, long cutoff) {
+        Path tombstone = path.resolveSibling(path.getFileName() + TOMBSTONE_SUFFIX);
+        try {
+            if (Files.getLastModifiedTime(path).toMillis() >= cutoff) {
+                // 查询引用期间被重新上传（修改时间已刷新）
+                return;
+            }
+            Files.move(path, tombstone, StandardCopyOption.ATOMIC_MOVE);
+
+            // 重命名前刚好被刷新或被引用：改回原名
+            BasicFileAttributes attributes = Files.readAttributes(tombstone, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().toMillis() >= cutoff || this.isReferenced(relativePath)) {
+                this.restore(tombstone, path);
+                return;
+            }
+            Files.delete(tombstone);
+            long freed = attributes.size() + avatarThumbnailService.deleteThumbnails(relativePath);
+            deletedFiles.incrementAndGet();
+            reclaimedBytes.addAndGet(freed);
+            log.info("回收孤立上传文件: {}, 释放 {} 字节", relativePath, freed);
+        } catch (NoSuchFileException e) {
+            // 已被删除
+        } catch (IOException e) {
+            log.warn("回收上传文件失败: {}, 原因: {}", relativePath, e.getMessage());
+        }
+    }
+
+    /**
+     * 复核单个文件的引用；无法确认时按已引用处理
+     */
+    private boolean isReferenced(String relativePath) {
+        try {
+            return !userProfileMapper.selectReferencedAvatars(List.of(relativePath)).isEmpty();
+        } catch (RuntimeException e) {
+            log.warn("复核头像引用失败，保留文件: {}, 原因: {}", relativePath, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 墓碑改回原名；期间已有上传写入了同名文件时（内容寻址，内容相同）直接删除墓碑
+     */
+    private void restore(Path tombstone, Path path) throws IOException {
+        try {
+            Files.move(tombstone, path);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(tombstone);
+        }
+    }
+
+    /**
+     * 恢复上次回收中途遗留的墓碑，交由下一轮重新判断
+     */
+    private void recoverTombstone(Path tombstone) {
+        String name = tombstone.getFileName().toString();
+        Path path = tombstone.resolveSibling(name.substring(0, name.length() - TOMBSTONE_SUFFIX.length()));
+        try {
+            this.restore(tombstone, path);
+            log.info("恢复遗留的回收墓碑文件: {}", path);
+        } catch (IOException e) {
+            log.warn("恢复回收墓碑文件失败: {}, 原因: {}", tombstone, e.getMessage());
+        }
+    }
+
+    private void closeWalk() {
+        if (walk != null) {
+            walk.close();
+        }
+        walk = null;
+        cursor = null;
+    }
+}
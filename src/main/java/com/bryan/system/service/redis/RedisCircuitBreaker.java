@@ -0,0 +1,364 @@
+package com.bryan.system.service.redis;
+
+import com.bryan.system.util.trace.RequestTiming;
+import com.bryan.system.util.trace.RequestTiming.Phase;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 熔断器
+ * <p>
+ * 通过 {@link #protect(RedisConnectionFactory)} 包装连接工厂，所有 RedisTemplate 命令都经过熔断判断：
+ * 1. 连续 failure-threshold 次连接失败或命令超时后熔断打开，此后的命令立即抛出
+ *    {@link RedisCircuitOpenException}，不再等待 Lettuce 超时；
+ * 2. 打开 open-duration-ms 后放行一个探测命令，成功即关闭熔断，失败则继续保持打开；
+ * 3. 各 Redis 工具类通过 {@link #logFailure} 记录失败：不可用类异常按 log-interval-ms 限频且不打印堆栈，
+ *    其余异常（如序列化错误）照常输出。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    /**
+     * 不访问网络的连接方法，不参与熔断判断，也不消耗探测名额
+     */
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "close", "isClosed", "isPipelined", "isQueueing", "openPipeline", "getNativeConnection");
+
+    @Value("${redis-circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${redis-circuit-breaker.open-duration-ms:5000}")
+    private long openDurationMs;
+
+    @Value("${redis-circuit-breaker.log-interval-ms:10000}")
+    private long logIntervalMs;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean open;
+    /**
+     * 熔断打开时，下一次允许探测的时间
+     */
+    private final AtomicLong retryAt = new AtomicLong();
+
+    private final AtomicLong lastLogAt = new AtomicLong();
+    private final LongAdder suppressedLogs = new LongAdder();
+
+    /**
+     * 熔断是否打开
+     *
+     * @return 打开时 Redis 命令会被立即拒绝
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Redis 最近是否可用（熔断关闭且最近一次命令未失败）
+     *
+     * @return 可用返回 true
+     */
+    public boolean isHealthy() {
+        return !open && consecutiveFailures.get() == 0;
+    }
+
+    /**
+     * 判断是否允许执行命令
+     * 熔断打开期间每个 open-duration-ms 周期只放行一个探测命令。
+     *
+     * @return 允许执行返回 true
+     */
+    public boolean allowRequest() {
+        if (!open) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        long next = retryAt.get();
+        return now >= next && retryAt.compareAndSet(next, now + openDurationMs);
+    }
+
+    /**
+     * 记录一次成功的命令
+     */
+    public void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (open) {
+            synchronized (this) {
+                if (open) {
+                    open = false;
+                    log.info("Redis 已恢复，熔断关闭（熔断期间省略 {} 条失败日志）", suppressedLogs.sumThenReset());
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录一次失败的命令，只有连接失败、超时等不可用类异常计入熔断
+     *
+     * @param error 命令抛出的异常
+     */
+    public void recordFailure(Throwable error) {
+        if (!isOutage(error) || open) {
+            // 打开期间探测失败：retryAt 已顺延，保持打开即可
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            synchronized (this) {
+                if (!open) {
+                    retryAt.set(System.currentTimeMillis() + openDurationMs);
+                    open = true;
+                    log.warn("Redis 连续 {} 次失败，熔断打开，{} ms 内快速失败：{}",
+                            consecutiveFailures.get(), openDurationMs, error.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录 Redis 操作失败日志
+     * 用法与 {@code log.error(format, args..., e)} 相同：最后一个参数为异常。
+     * Redis 不可用类异常每 log-interval-ms 最多输出一条（不含堆栈），其余被计数省略。
+     *
+     * @param logger 调用方 Logger
+     * @param format 日志格式
+     * @param args   日志参数，最后一个为异常
+     */
+    public void logFailure(Logger logger, String format, Object... args) {
+        Throwable error = args.length > 0 && args[args.length - 1] instanceof Throwable t ? t : null;
+        if (error == null || !isOutage(error)) {
+            logger.error(format, args);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long last = lastLogAt.get();
+        if (error instanceof RedisCircuitOpenException
+                || now - last < logIntervalMs || !lastLogAt.compareAndSet(last, now)) {
+            suppressedLogs.increment();
+            return;
+        }
+        Object[] messageArgs = Arrays.copyOf(args, args.length + 1);
+        messageArgs[args.length - 1] = error.getMessage();
+        messageArgs[args.length] = suppressedLogs.sumThenReset();
+        logger.error(format + "，原因: {}（期间省略 {} 条同类日志）", messageArgs);
+    }
+
+    /**
+     * 为连接工厂加上熔断保护
+     *
+     * @param factory 原连接工厂
+     * @return 受保护的连接工厂
+     */
+    public RedisConnectionFactory protect(RedisConnectionFactory factory) {
+        return new ProtectedConnectionFactory(factory);
+    }
+
+    /**
+     * 是否属于 Redis 不可用类异常（连接失败、命令超时）
+     */
+    static boolean isOutage(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof DataAccessResourceFailureException || t instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RedisCircuitOpenException rejected() {
+        return new RedisCircuitOpenException("Redis 熔断中，命令已被拒绝");
+    }
+
+    /**
+     * 熔断打开期间抛出的异常，不携带堆栈
+     */
+    public static class RedisCircuitOpenException extends RedisConnectionFailureException {
+
+        public RedisCircuitOpenException(String msg) {
+            super(msg);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * 受熔断保护的连接工厂：获取连接与执行命令前检查熔断状态，并按结果更新状态；
+     * 连接从获取到释放的耗时计入请求的 redis 分段
+     */
+    private class ProtectedConnectionFactory implements RedisConnectionFactory {
+
+        private final RedisConnectionFactory delegate;
+
+        ProtectedConnectionFactory(RedisConnectionFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public RedisConnection getConnection() {
+            if (open && System.currentTimeMillis() < retryAt.get()) {
+                throw rejected();
+            }
+            long start = RequestTiming.start();
+            RedisConnection connection;
+            try {
+                connection = delegate.getConnection();
+            } catch (RuntimeException e) {
+                recordFailure(e);
+                throw e;
+            }
+            return (RedisConnection) Proxy.newProxyInstance(RedisConnection.class.getClassLoader(),
+                    new Class<?>[]{RedisConnection.class}, new ProtectedConnection(connection, start));
+        }
+
+        @Override
+        public RedisClusterConnection getClusterConnection() {
+            return delegate.getClusterConnection();
+        }
+
+        @Override
+        public boolean getConvertPipelineAndTxResults() {
+            return delegate.getConvertPipelineAndTxResults();
+        }
+
+        @Override
+        public RedisSentinelConnection getSentinelConnection() {
+            return delegate.getSentinelConnection();
+        }
+
+        @Override
+        public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+            return delegate.translateExceptionIfPossible(ex);
+        }
+    }
+
+    /**
+     * 命令级熔断判断
+     * RedisTemplate 多数操作经 {@code hashCommands()}、{@code keyCommands()} 等访问器取得命令对象后再执行，
+     * 访问器本身不访问网络，其返回的命令对象同样包装为受保护代理。
+     */
+    private class ProtectedConnection implements InvocationHandler {
+
+        private final RedisConnection target;
+
+        /**
+         * 获取连接的时间，释放连接时计入请求的 redis 分段
+         */
+        private final long start;
+
+        ProtectedConnection(RedisConnection target, long start) {
+            this.target = target;
+            this.start = start;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName())) {
+                try {
+                    return invokeTarget(target, method, args);
+                } finally {
+                    RequestTiming.stop(Phase.REDIS, start);
+                }
+            }
+            if (isCommandsAccessor(method)) {
+                Object commands = invokeTarget(target, method, args);
+                if (commands == null) {
+                    return null;
+                }
+                return Proxy.newProxyInstance(method.getReturnType().getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new ProtectedCommands(target, commands));
+            }
+            return execute(target, target, method, args);
+        }
+    }
+
+    /**
+     * 访问器返回的命令对象（如 RedisHashCommands），命令经由所属连接执行
+     */
+    private class ProtectedCommands implements InvocationHandler {
+
+        private final RedisConnection connection;
+        private final Object target;
+
+        ProtectedCommands(RedisConnection connection, Object target) {
+            this.connection = connection;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return execute(connection, target, method, args);
+        }
+    }
+
+    /**
+     * 在熔断判断下执行一条命令，并按结果更新熔断状态
+     *
+     * @param connection 命令所属连接，用于判断是否处于管道 / 事务中
+     * @param target     实际执行命令的对象
+     */
+    private Object execute(RedisConnection connection, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class || LOCAL_METHODS.contains(method.getName())) {
+            return invokeTarget(target, method, args);
+        }
+        if (!allowRequest()) {
+            throw rejected();
+        }
+        try {
+            Object result = invokeTarget(target, method, args);
+            // 管道 / 事务中的命令只是入队，结果以 closePipeline / exec 为准
+            if (!connection.isPipelined() && !connection.isQueueing()) {
+                recordSuccess();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 是否为 {@code commands()}、{@code xxxCommands()} 形式的命令对象访问器
+     */
+    private static boolean isCommandsAccessor(Method method) {
+        String name = method.getName();
+        return method.getParameterCount() == 0
+                && ("commands".equals(name) || name.endsWith("Commands"))
+                && method.getReturnType().isInterface();
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -3,9 +3,14 @@ package com.bryan.system.service.redis;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -14,6 +19,8 @@ import java.util.Set;
  * Redis Hash 类型操作工具类。
  * 优化了 RedisTemplate 的注入泛型以及 Hash 相关方法的泛型，
  * 使其与 RedisConfig 中配置的序列化器类型更加匹配，提升类型安全性。
+ * 以 String 结尾的方法使用 StringRedisTemplate，值按 UTF-8 字符串原样存储，
+ * 不受 redis-serializer.format 切换影响，适合需要在 Lua 脚本中按字节比较的值。
  *
  * @author Bryan Long
  */
@@ -23,10 +30,12 @@ import java.util.Set;
 public class RedisHashService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
 
     /**
      * 在 Redis 的 Hash 中存储多个键值对。
-     * 哈希的字段（hashKey）将被序列化为 String，值（hashValue）将被序列化为 JSON。
+     * 哈希的字段（hashKey）将被序列化为 String，值（hashValue）按 RedisTemplate 的值序列化器序列化。
      *
      * @param key   哈希的键 (String)，不能为 null
      * @param value 哈希的键值对 (Map<String, Object>)，不能为 null
@@ -37,14 +46,14 @@ public class RedisHashService {
             redisTemplate.opsForHash().putAll(key, value);
             return true;
         } catch (Exception e) {
-            log.error("Redis hSetAll 操作失败，key: {}, value: {}", key, value, e);
+            circuitBreaker.logFailure(log, "Redis hSetAll 操作失败，key: {}, value: {}", key, value, e);
             return false;
         }
     }
 
     /**
      * 在 Redis 的 Hash 中存储一个键值对。
-     * 哈希的字段（hashKey）将被序列化为 String，值（value）将被序列化为 JSON。
+     * 哈希的字段（hashKey）将被序列化为 String，值（value）按 RedisTemplate 的值序列化器序列化。
      *
      * @param key     哈希的键 (String)，不能为 null
      * @param hashKey 哈希字段的键 (String)，不能为 null
@@ -56,14 +65,14 @@ public class RedisHashService {
             redisTemplate.opsForHash().put(key, hashKey, value);
             return true;
         } catch (Exception e) {
-            log.error("Redis hSet 操作失败，key: {}, hashKey: {}, value: {}", key, hashKey, value, e);
+            circuitBreaker.logFailure(log, "Redis hSet 操作失败，key: {}, hashKey: {}, value: {}", key, hashKey, value, e);
             return false;
         }
     }
 
     /**
      * 在 Redis 的 Hash 中获取某个字段的值。
-     * 值将从 JSON 反序列化为 Object。
+     * 值将按 RedisTemplate 的值序列化器反序列化为 Object。
      *
      * @param key     哈希的键 (String)，不能为 null
      * @param hashKey 哈希字段的键 (String)，不能为 null
@@ -73,7 +82,7 @@ public class RedisHashService {
         try {
             return redisTemplate.opsForHash().get(key, hashKey);
         } catch (Exception e) {
-            log.error("Redis hGet 操作失败，key: {}, hashKey: {}", key, hashKey, e);
+            circuitBreaker.logFailure(log, "Redis hGet 操作失败，key: {}, hashKey: {}", key, hashKey, e);
             return null;
         }
     }
@@ -90,7 +99,7 @@ public class RedisHashService {
             // RedisTemplate 的 delete 方法返回 Long，需要检查是否大于 0 来判断是否成功删除
             return redisTemplate.opsForHash().delete(key, hashKey) > 0;
         } catch (Exception e) {
-            log.error("Redis hDelete 操作失败，key: {}, hashKey: {}", key, hashKey, e);
+            circuitBreaker.logFailure(log, "Redis hDelete 操作失败，key: {}, hashKey: {}", key, hashKey, e);
             return false;
         }
     }
@@ -106,14 +115,14 @@ public class RedisHashService {
         try {
             return Boolean.TRUE.equals(redisTemplate.opsForHash().hasKey(key, hashKey));
         } catch (Exception e) {
-            log.error("Redis hHasKey 操作失败，key: {}, hashKey: {}", key, hashKey, e);
+            circuitBreaker.logFailure(log, "Redis hHasKey 操作失败，key: {}, hashKey: {}", key, hashKey, e);
             return false;
         }
     }
 
     /**
      * 获取 Redis 的 Hash 中所有字段和对应值。
-     * 字段（keys）将是 String，值（values）将是 Object (JSON 反序列化后)。
+     * 字段（keys）将是 String，值（values）将是 Object（反序列化后）。
      *
      * @param key 哈希的键 (String)，不能为 null
      * @return 哈希中的所有字段和值 (Map<String, Object>)，若键不存在返回空 Map
@@ -123,7 +132,7 @@ public class RedisHashService {
             // opsForHash().entries() 返回的 Map 的 key 类型是 K（这里是 String），value 类型是 V（这里是 Object）
             return (Map<String, Object>) (Map<?, ?>) redisTemplate.opsForHash().entries(key);
         } catch (Exception e) {
-            log.error("Redis hGetAll 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis hGetAll 操作失败，key: {}", key, e);
             return Collections.emptyMap();
         }
     }
@@ -140,14 +149,14 @@ public class RedisHashService {
             // opsForHash().keys() 返回的 Set 的元素类型是 HK（这里是 String）
             return (Set<String>) (Set<?>) redisTemplate.opsForHash().keys(key);
         } catch (Exception e) {
-            log.error("Redis hKeys 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis hKeys 操作失败，key: {}", key, e);
             return Collections.emptySet();
         }
     }
 
     /**
      * 获取 Redis 的 Hash 中所有字段的值。
-     * 值将从 JSON 反序列化为 Object。
+     * 值将按 RedisTemplate 的值序列化器反序列化为 Object。
      *
      * @param key 哈希的键 (String)，不能为 null
      * @return 哈希中的所有字段的值 (List<Object>)，若键不存在返回空 List
@@ -156,7 +165,7 @@ public class RedisHashService {
         try {
             return redisTemplate.opsForHash().values(key);
         } catch (Exception e) {
-            log.error("Redis hValues 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis hValues 操作失败，key: {}", key, e);
             return Collections.emptyList();
         }
     }
@@ -172,8 +181,171 @@ public class RedisHashService {
             Long count = redisTemplate.opsForHash().size(key);
             return count != null ? count : 0L;
         } catch (Exception e) {
-            log.error("Redis hSize 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis hSize 操作失败，key: {}", key, e);
             return 0L;
         }
     }
+
+    /**
+     * 存储 Hash 的多个键值对并设置整个 Hash 的过期时间。
+     * HMSET 与 EXPIRE 在同一个管道中发送，只有一次网络往返。
+     *
+     * @param key     哈希的键 (String)，不能为 null
+     * @param value   哈希的键值对，不能为 null
+     * @param seconds 过期时间（秒），必须大于 0
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean set(String key, Map<String, Object> value, long seconds) {
+        if (seconds <= 0) {
+            log.warn("Redis hSetAll 操作：过期时间必须大于0，key: {}", key);
+            return set(key, value);
+        }
+        try {
+            Duration ttl = Duration.ofSeconds(seconds);
+            RedisPipelineService.pipelined(redisTemplate, ops -> {
+                ops.opsForHash().putAll(key, value);
+                ops.expire(key, ttl);
+            });
+            return true;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hSetAll 操作失败，key: {}, seconds: {}", key, seconds, e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量获取 Hash 中多个字段的值（HMGET，一次网络往返）。
+     *
+     * @param key      哈希的键 (String)，不能为 null
+     * @param hashKeys 字段集合，不能为 null
+     * @return 与 hashKeys 顺序一致的值列表，不存在的字段对应 null；操作失败时全部为 null
+     */
+    public List<Object> multiGet(String key, Collection<String> hashKeys) {
+        if (hashKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return redisTemplate.opsForHash().multiGet(key, new ArrayList<>(hashKeys));
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hMultiGet 操作失败，key: {}, hashKeys: {}", key, hashKeys, e);
+            return Collections.nCopies(hashKeys.size(), null);
+        }
+    }
+
+    /**
+     * 批量删除 Hash 中的多个字段（HDEL key f1 f2 ...）。
+     *
+     * @param key      哈希的键 (String)，不能为 null
+     * @param hashKeys 字段集合，不能为 null
+     * @return 实际删除的字段数量，失败返回 0
+     */
+    public long delete(String key, Collection<String> hashKeys) {
+        if (hashKeys.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return redisTemplate.opsForHash().delete(key, hashKeys.toArray());
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hDelete 操作失败，key: {}, hashKeys: {}", key, hashKeys, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 批量获取多个 Hash 的全部字段（管道发送多条 HGETALL，一次网络往返）。
+     *
+     * @param keys 哈希键集合，不能为 null
+     * @return 哈希键 → 字段与值，不存在的哈希对应空 Map；操作失败返回空 Map
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<String, Object>> multiGetAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<Object> results = RedisPipelineService.pipelined(redisTemplate,
+                    ops -> keyList.forEach(key -> ops.opsForHash().entries(key)));
+            Map<String, Map<String, Object>> entries = new LinkedHashMap<>(keyList.size() * 2);
+            for (int i = 0; i < keyList.size(); i++) {
+                Object result = results.get(i);
+                entries.put(keyList.get(i), result != null ? (Map<String, Object>) result : Collections.emptyMap());
+            }
+            return entries;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hMultiGetAll 操作失败，keys: {}", keys.size(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 存储 Hash 的多个字符串键值对并设置整个 Hash 的过期时间（值为 UTF-8 字符串）。
+     * HMSET 与 EXPIRE 在同一个管道中发送，只有一次网络往返。
+     *
+     * @param key     哈希的键 (String)，不能为 null
+     * @param value   哈希的键值对，不能为 null
+     * @param seconds 过期时间（秒），必须大于 0
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean setString(String key, Map<String, String> value, long seconds) {
+        try {
+            Duration ttl = Duration.ofSeconds(seconds);
+            RedisPipelineService.pipelined(stringRedisTemplate, ops -> {
+                ops.opsForHash().putAll(key, value);
+                if (seconds > 0) {
+                    ops.expire(key, ttl);
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hSetAll 操作失败，key: {}, seconds: {}", key, seconds, e);
+            return false;
+        }
+    }
+
+    /**
+     * 获取 Hash 中某个字段的字符串值（值为 UTF-8 字符串）。
+     *
+     * @param key     哈希的键 (String)，不能为 null
+     * @param hashKey 哈希字段的键 (String)，不能为 null
+     * @return 字段的值，若字段不存在或操作失败返回 null
+     */
+    public String getString(String key, String hashKey) {
+        try {
+            return stringRedisTemplate.<String, String>opsForHash().get(key, hashKey);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hGet 操作失败，key: {}, hashKey: {}", key, hashKey, e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取 Hash 中所有字段和对应的字符串值（值为 UTF-8 字符串）。
+     *
+     * @param key 哈希的键 (String)，不能为 null
+     * @return 哈希中的所有字段和值，若键不存在或操作失败返回空 Map
+     */
+    public Map<String, String> getAllString(String key) {
+        try {
+            return stringRedisTemplate.<String, String>opsForHash().entries(key);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hGetAll 操作失败，key: {}", key, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 获取 Hash 中所有字段的字符串值（值为 UTF-8 字符串）。
+     *
+     * @param key 哈希的键 (String)，不能为 null
+     * @return 哈希中的所有字段的值，若键不存在或操作失败返回空 List
+     */
+    public List<String> valuesString(String key) {
+        try {
+            return stringRedisTemplate.<String, String>opsForHash().values(key);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis hValues 操作失败，key: {}", key, e);
+            return Collections.emptyList();
+        }
+    }
 }
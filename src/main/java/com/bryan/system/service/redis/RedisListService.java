@@ -5,8 +5,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections; // Added import for Collections.emptyList()
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Redis 列表 (List) 类型操作工具类。
@@ -20,10 +25,11 @@ import java.util.List;
 public class RedisListService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
 
     /**
      * 向 Redis 列表左侧添加一个或多个元素。
-     * 元素将使用 JSON 序列化器进行序列化。
+     * 元素将使用 RedisTemplate 的值序列化器进行序列化。
      *
      * @param key   列表键 (String)，不能为 null
      * @param value 要添加的值 (Object)
@@ -34,7 +40,7 @@ public class RedisListService {
             redisTemplate.opsForList().leftPush(key, value);
             return true;
         } catch (Exception e) {
-            log.error("Redis leftPush 操作失败，key: {}, value: {}", key, value, e);
+            circuitBreaker.logFailure(log, "Redis leftPush 操作失败，key: {}, value: {}", key, value, e);
             return false;
         }
     }
@@ -51,14 +57,14 @@ public class RedisListService {
             redisTemplate.opsForList().leftPushAll(key, values);
             return true;
         } catch (Exception e) {
-            log.error("Redis leftPushAll 操作失败，key: {}, values: {}", key, values, e);
+            circuitBreaker.logFailure(log, "Redis leftPushAll 操作失败，key: {}, values: {}", key, values, e);
             return false;
         }
     }
 
     /**
      * 向 Redis 列表右侧添加一个或多个元素。
-     * 元素将使用 JSON 序列化器进行序列化。
+     * 元素将使用 RedisTemplate 的值序列化器进行序列化。
      *
      * @param key   列表键 (String)，不能为 null
      * @param value 要添加的值 (Object)
@@ -69,7 +75,7 @@ public class RedisListService {
             redisTemplate.opsForList().rightPush(key, value);
             return true;
         } catch (Exception e) {
-            log.error("Redis rightPush 操作失败，key: {}, value: {}", key, value, e);
+            circuitBreaker.logFailure(log, "Redis rightPush 操作失败，key: {}, value: {}", key, value, e);
             return false;
         }
     }
@@ -86,14 +92,14 @@ public class RedisListService {
             redisTemplate.opsForList().rightPushAll(key, values);
             return true;
         } catch (Exception e) {
-            log.error("Redis rightPushAll 操作失败，key: {}, values: {}", key, values, e);
+            circuitBreaker.logFailure(log, "Redis rightPushAll 操作失败，key: {}, values: {}", key, values, e);
             return false;
         }
     }
 
     /**
      * 从 Redis 列表左侧弹出元素。
-     * 元素将从 JSON 反序列化为 Object。
+     * 元素将按 RedisTemplate 的值序列化器反序列化为 Object。
      *
      * @param key 列表键 (String)，不能为 null
      * @return 弹出的元素 (Object)，若列表为空或键不存在返回 null
@@ -102,14 +108,14 @@ public class RedisListService {
         try {
             return redisTemplate.opsForList().leftPop(key);
         } catch (Exception e) {
-            log.error("Redis leftPop 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis leftPop 操作失败，key: {}", key, e);
             return null;
         }
     }
 
     /**
      * 从 Redis 列表右侧弹出元素。
-     * 元素将从 JSON 反序列化为 Object。
+     * 元素将按 RedisTemplate 的值序列化器反序列化为 Object。
      *
      * @param key 列表键 (String)，不能为 null
      * @return 弹出的元素 (Object)，若列表为空或键不存在返回 null
@@ -118,7 +124,7 @@ public class RedisListService {
         try {
             return redisTemplate.opsForList().rightPop(key);
         } catch (Exception e) {
-            log.error("Redis rightPop 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis rightPop 操作失败，key: {}", key, e);
             return null;
         }
     }
@@ -136,7 +142,7 @@ public class RedisListService {
             List<Object> result = redisTemplate.opsForList().range(key, start, end);
             return result != null ? result : Collections.emptyList(); // Handle null case
         } catch (Exception e) {
-            log.error("Redis range 操作失败，key: {}, start: {}, end: {}", key, start, end, e);
+            circuitBreaker.logFailure(log, "Redis range 操作失败，key: {}, start: {}, end: {}", key, start, end, e);
             return Collections.emptyList(); // Return empty list on error
         }
     }
@@ -152,7 +158,7 @@ public class RedisListService {
             Long size = redisTemplate.opsForList().size(key);
             return size != null ? size : 0L; // Ensure 0L for long return type
         } catch (Exception e) {
-            log.error("Redis size 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis size 操作失败，key: {}", key, e);
             return 0L;
         }
     }
@@ -168,7 +174,7 @@ public class RedisListService {
         try {
             return redisTemplate.opsForList().index(key, index);
         } catch (Exception e) {
-            log.error("Redis index 操作失败，key: {}, index: {}", key, index, e);
+            circuitBreaker.logFailure(log, "Redis index 操作失败，key: {}, index: {}", key, index, e);
             return null;
         }
     }
@@ -186,7 +192,7 @@ public class RedisListService {
             redisTemplate.opsForList().set(key, index, value);
             return true;
         } catch (Exception e) {
-            log.error("Redis set (by index) 操作失败，key: {}, index: {}, value: {}", key, index, value, e);
+            circuitBreaker.logFailure(log, "Redis set (by index) 操作失败，key: {}, index: {}, value: {}", key, index, value, e);
             return false;
         }
     }
@@ -207,7 +213,7 @@ public class RedisListService {
             Long removedCount = redisTemplate.opsForList().remove(key, count, value);
             return removedCount != null ? removedCount : 0L; // Ensure 0L for long return type
         } catch (Exception e) {
-            log.error("Redis remove 操作失败，key: {}, count: {}, value: {}", key, count, value, e);
+            circuitBreaker.logFailure(log, "Redis remove 操作失败，key: {}, count: {}, value: {}", key, count, value, e);
             return 0L;
         }
     }
@@ -225,8 +231,66 @@ public class RedisListService {
             redisTemplate.opsForList().trim(key, start, end);
             return true;
         } catch (Exception e) {
-            log.error("Redis trim 操作失败，key: {}, start: {}, end: {}", key, start, end, e);
+            circuitBreaker.logFailure(log, "Redis trim 操作失败，key: {}, start: {}, end: {}", key, start, end, e);
             return false;
         }
     }
+
+    /**
+     * 向列表右侧追加多个元素，只保留最新的 maxLength 个，并刷新过期时间。
+     * RPUSH、LTRIM、EXPIRE 在同一个管道中发送，只有一次网络往返，适合定长的最近记录列表。
+     *
+     * @param key       列表键 (String)，不能为 null
+     * @param values    要追加的值，不能为 null
+     * @param maxLength 保留的最大长度，必须大于 0
+     * @param seconds   过期时间（秒），小于等于 0 表示不设置
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean rightPushAll(String key, Collection<?> values, long maxLength, long seconds) {
+        if (values.isEmpty() || maxLength <= 0) {
+            return false;
+        }
+        try {
+            RedisPipelineService.pipelined(redisTemplate, ops -> {
+                ops.opsForList().rightPushAll(key, values.toArray());
+                ops.opsForList().trim(key, -maxLength, -1);
+                if (seconds > 0) {
+                    ops.expire(key, Duration.ofSeconds(seconds));
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis rightPushAll 操作失败，key: {}, size: {}, maxLength: {}", key, values.size(), maxLength, e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量获取多个列表中指定范围的元素（管道发送多条 LRANGE，一次网络往返）。
+     *
+     * @param keys  列表键集合，不能为 null
+     * @param start 起始索引（包含）
+     * @param end   结束索引（包含）
+     * @return 列表键 → 元素，不存在的列表对应空列表；操作失败返回空 Map
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, List<Object>> multiRange(Collection<String> keys, long start, long end) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<Object> results = RedisPipelineService.pipelined(redisTemplate,
+                    ops -> keyList.forEach(key -> ops.opsForList().range(key, start, end)));
+            Map<String, List<Object>> ranges = new LinkedHashMap<>(keyList.size() * 2);
+            for (int i = 0; i < keyList.size(); i++) {
+                Object result = results.get(i);
+                ranges.put(keyList.get(i), result != null ? (List<Object>) result : Collections.emptyList());
+            }
+            return ranges;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis multiRange 操作失败，keys: {}, start: {}, end: {}", keys.size(), start, end, e);
+            return Collections.emptyMap();
+        }
+    }
 }
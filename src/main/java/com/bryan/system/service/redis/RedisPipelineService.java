@@ -0,0 +1,83 @@
+package com.bryan.system.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Redis 管道（Pipeline）执行工具类。
+ * 将任意多条命令合并为一次网络往返发送，适合批量会话吊销、缓存预热等场景。
+ * 回调中的命令在管道内执行时返回值均为 null，实际结果按命令顺序在执行完成后统一返回，
+ * 并已按对应 RedisTemplate 的序列化器反序列化。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisPipelineService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    /**
+     * 使用通用 RedisTemplate（值为对象）执行管道命令。
+     *
+     * @param commands 在管道中执行的命令，如 ops -> ops.opsForHash().put(...)
+     * @return 各命令结果（按顺序），执行失败返回空 List
+     */
+    public List<Object> executePipelined(Consumer<RedisOperations<String, Object>> commands) {
+        try {
+            return pipelined(redisTemplate, commands);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis pipeline 执行失败", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 使用 StringRedisTemplate（值为字符串）执行管道命令。
+     *
+     * @param commands 在管道中执行的命令，如 ops -> ops.opsForValue().set(...)
+     * @return 各命令结果（按顺序），执行失败返回空 List
+     */
+    public List<Object> executeStringPipelined(Consumer<RedisOperations<String, String>> commands) {
+        try {
+            return pipelined(stringRedisTemplate, commands);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis pipeline 执行失败", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 在指定模板上以管道方式执行命令，异常向上抛出，供各 Redis 工具类内部复用。
+     *
+     * @param template RedisTemplate
+     * @param commands 在管道中执行的命令
+     * @param <V>      值类型
+     * @return 各命令结果（按顺序）
+     */
+    static <V> List<Object> pipelined(RedisTemplate<String, V> template,
+                                      Consumer<RedisOperations<String, V>> commands) {
+        return template.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, HV> Object execute(RedisOperations<K, HV> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, V>) operations);
+                // 管道模式下回调必须返回 null
+                return null;
+            }
+        });
+    }
+}
@@ -3,9 +3,14 @@ package com.bryan.system.service.redis;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Redis 字符串 (String) 类型操作工具类。
@@ -19,6 +24,7 @@ import java.time.Duration;
 public class RedisStringService {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
 
     /**
      * 在 Redis 中存储一个键值对（无过期时间）。
@@ -33,7 +39,7 @@ public class RedisStringService {
             stringRedisTemplate.opsForValue().set(key, value);
             return true;
         } catch (Exception e) {
-            log.error("Redis set 操作失败，key: {}, value: {}", key, value, e);
+            circuitBreaker.logFailure(log, "Redis set 操作失败，key: {}, value: {}", key, value, e);
             return false;
         }
     }
@@ -57,7 +63,7 @@ public class RedisStringService {
                 return set(key, value); // Fallback to set without expiration if seconds <= 0
             }
         } catch (Exception e) {
-            log.error("Redis setWithExpire 操作失败，key: {}, value: {}, seconds: {}", key, value, seconds, e);
+            circuitBreaker.logFailure(log, "Redis setWithExpire 操作失败，key: {}, value: {}, seconds: {}", key, value, seconds, e);
             return false;
         }
     }
@@ -77,7 +83,7 @@ public class RedisStringService {
             }
             return Boolean.TRUE.equals(stringRedisTemplate.expire(key, Duration.ofSeconds(seconds)));
         } catch (Exception e) {
-            log.error("Redis setExpire 操作失败，key: {}, seconds: {}", key, seconds, e);
+            circuitBreaker.logFailure(log, "Redis setExpire 操作失败，key: {}, seconds: {}", key, seconds, e);
             return false;
         }
     }
@@ -93,7 +99,7 @@ public class RedisStringService {
         try {
             return stringRedisTemplate.opsForValue().get(key);
         } catch (Exception e) {
-            log.error("Redis get 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis get 操作失败，key: {}", key, e);
             return null;
         }
     }
@@ -108,7 +114,7 @@ public class RedisStringService {
         try {
             return Boolean.TRUE.equals(stringRedisTemplate.delete(key));
         } catch (Exception e) {
-            log.error("Redis delete 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis delete 操作失败，key: {}", key, e);
             return false;
         }
     }
@@ -123,7 +129,7 @@ public class RedisStringService {
         try {
             return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key));
         } catch (Exception e) {
-            log.error("Redis hasKey 操作失败，key: {}", key, e);
+            circuitBreaker.logFailure(log, "Redis hasKey 操作失败，key: {}", key, e);
             return false;
         }
     }
@@ -140,7 +146,7 @@ public class RedisStringService {
         try {
             return stringRedisTemplate.opsForValue().increment(key, delta);
         } catch (Exception e) {
-            log.error("Redis increment 操作失败，key: {}, delta: {}", key, delta, e);
+            circuitBreaker.logFailure(log, "Redis increment 操作失败，key: {}, delta: {}", key, delta, e);
             return null;
         }
     }
@@ -157,8 +163,136 @@ public class RedisStringService {
         try {
             return stringRedisTemplate.opsForValue().decrement(key, delta);
         } catch (Exception e) {
-            log.error("Redis decrement 操作失败，key: {}, delta: {}", key, delta, e);
+            circuitBreaker.logFailure(log, "Redis decrement 操作失败，key: {}, delta: {}", key, delta, e);
             return null;
         }
     }
+
+    /**
+     * 批量获取多个键的值（MGET，一次网络往返）。
+     *
+     * @param keys 键集合，不能为 null
+     * @return 与 keys 顺序一致的值列表，不存在的键对应 null；操作失败时全部为 null
+     */
+    public List<String> multiGet(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            return values != null ? values : Collections.nCopies(keys.size(), null);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis multiGet 操作失败，keys: {}", keys.size(), e);
+            return Collections.nCopies(keys.size(), null);
+        }
+    }
+
+    /**
+     * 批量存储多个键值对（MSET，原子操作，无过期时间）。
+     *
+     * @param values 键值对，不能为 null
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean multiSet(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return true;
+        }
+        try {
+            stringRedisTemplate.opsForValue().multiSet(values);
+            return true;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis multiSet 操作失败，keys: {}", values.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量存储多个带过期时间的键值对。
+     * MSET 不支持过期时间，这里在一个管道中发送多条 SET EX，仍只有一次网络往返（非原子）。
+     *
+     * @param values  键值对，不能为 null
+     * @param seconds 过期时间（秒），必须大于 0
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean multiSet(Map<String, String> values, long seconds) {
+        if (seconds <= 0) {
+            log.warn("Redis multiSet 操作：过期时间必须大于0，keys: {}", values.size());
+            return multiSet(values);
+        }
+        if (values.isEmpty()) {
+            return true;
+        }
+        try {
+            Duration ttl = Duration.ofSeconds(seconds);
+            RedisPipelineService.pipelined(stringRedisTemplate,
+                    ops -> values.forEach((key, value) -> ops.opsForValue().set(key, value, ttl)));
+            return true;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis multiSet 操作失败，keys: {}, seconds: {}", values.size(), seconds, e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量删除多个键（DEL key1 key2 ...，一次网络往返）。
+     *
+     * @param keys 键集合，不能为 null
+     * @return 实际删除的键数量，失败返回 0
+     */
+    public long delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        try {
+            Long count = stringRedisTemplate.delete(keys);
+            return count != null ? count : 0L;
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis delete 操作失败，keys: {}", keys.size(), e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 执行 Lua 脚本（优先 EVALSHA，脚本未缓存时自动回退为 EVAL）。
+     *
+     * @param script 脚本
+     * @param keys   脚本中的 KEYS
+     * @param args   脚本中的 ARGV
+     * @param <T>    返回值类型
+     * @return 脚本返回值，失败返回 null
+     */
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        try {
+            return stringRedisTemplate.execute(script, keys, args);
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis 脚本执行失败，keys: {}", keys, e);
+            return null;
+        }
+    }
+
+    /**
+     * 批量为已存在的键设置过期时间（管道发送多条 EXPIRE，一次网络往返）。
+     *
+     * @param keys    键集合，不能为 null
+     * @param seconds 过期时间（秒），必须大于 0
+     * @return 成功设置过期时间的键数量（不存在的键不计入），失败返回 0
+     */
+    public long setExpire(Collection<String> keys, long seconds) {
+        if (seconds <= 0) {
+            log.warn("Redis setExpire 操作：过期时间必须大于0，keys: {}", keys.size());
+            return 0L;
+        }
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        try {
+            Duration ttl = Duration.ofSeconds(seconds);
+            List<Object> results = RedisPipelineService.pipelined(stringRedisTemplate,
+                    ops -> keys.forEach(key -> ops.expire(key, ttl)));
+            return results.stream().filter(Boolean.TRUE::equals).count();
+        } catch (Exception e) {
+            circuitBreaker.logFailure(log, "Redis setExpire 操作失败，keys: {}, seconds: {}", keys.size(), seconds, e);
+            return 0L;
+        }
+    }
 }
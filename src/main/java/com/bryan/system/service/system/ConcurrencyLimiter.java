@@ -0,0 +1,210 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.config.properties.ConcurrencyLimitProperties;
+import com.bryan.system.domain.enums.RequestPriority;
+import com.bryan.system.domain.vo.ConcurrencyLimitStatsVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 自适应并发限流服务
+ * <p>
+ * 采用梯度算法：以长期平均延迟为基线，每个采样窗口结束时计算
+ * 梯度 = 容忍倍数 × 长期延迟 / 短期延迟（限制在 0.5 ~ 1 之间），
+ * 新上限 = 上限 × 梯度 + √上限；收缩立即生效，增长按平滑系数逐步进行。
+ * 数据库等下游变慢时短期延迟升高、梯度小于 1，上限随之收缩，多出的请求在进入业务前被快速拒绝，
+ * 而不是在 Tomcat 与 Hikari 中排队等待；延迟恢复后上限按 √上限 逐步增长。
+ * </p>
+ * <p>
+ * 处理中的请求数远低于上限时延迟不反映容量，此时不调整上限。
+ * 不同优先级的请求可使用的额度不同：关键请求可用满上限，普通、可舍弃请求只能使用一定比例，
+ * 过载时可舍弃请求最先被拒绝，为登录、Token 校验保留余量。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class ConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double limit;
+
+    /* -------------------- 采样窗口（持有 lock 时访问） -------------------- */
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long windowStartNanos;
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInflight;
+    private double longRttNanos;
+    private volatile double shortRttNanos;
+
+    /* -------------------- 统计 -------------------- */
+
+    private final AtomicLong acceptedRequests = new AtomicLong();
+    private final AtomicLong rejectedCritical = new AtomicLong();
+    private final AtomicLong rejectedNormal = new AtomicLong();
+    private final AtomicLong rejectedLow = new AtomicLong();
+
+    @Autowired
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ConcurrencyLimiter(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.limit = properties.getInitialLimit();
+        this.windowStartNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * 尝试占用一个并发额度
+     *
+     * @param priority 请求优先级
+     * @return 是否允许处理；返回 true 时处理结束后必须调用 {@link #release}
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = this.allowedInflight(priority);
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= allowed) {
+                this.rejectedCounter(priority).incrementAndGet();
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        acceptedRequests.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 释放并发额度并记录延迟样本
+     *
+     * @param rttNanos 请求处理耗时（纳秒）
+     * @param sample   是否将耗时计入延迟样本
+     */
+    public void release(long rttNanos, boolean sample) {
+        int current = inflight.getAndDecrement();
+        if (sample) {
+            this.record(rttNanos, current);
+        }
+    }
+
+    /**
+     * 获取限流统计
+     *
+     * @return 限流统计
+     */
+    public ConcurrencyLimitStatsVO getStats() {
+        double longRtt;
+        lock.lock();
+        try {
+            longRtt = longRttNanos;
+        } finally {
+            lock.unlock();
+        }
+        return ConcurrencyLimitStatsVO.builder()
+                .limit((int) limit)
+                .inflight(inflight.get())
+                .shortRttMs(shortRttNanos / TimeUnit.MILLISECONDS.toNanos(1))
+                .longRttMs(longRtt / TimeUnit.MILLISECONDS.toNanos(1))
+                .acceptedRequests(acceptedRequests.get())
+                .rejectedCritical(rejectedCritical.get())
+                .rejectedNormal(rejectedNormal.get())
+                .rejectedLow(rejectedLow.get())
+                .build();
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private int allowedInflight(RequestPriority priority) {
+        double share = switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> properties.getNormalShare();
+            case LOW -> properties.getLowShare();
+        };
+        return Math.max(1, (int) (limit * share));
+    }
+
+    private AtomicLong rejectedCounter(RequestPriority priority) {
+        return switch (priority) {
+            case CRITICAL -> rejectedCritical;
+            case NORMAL -> rejectedNormal;
+            case LOW -> rejectedLow;
+        };
+    }
+
+    /**
+     * 累计样本，窗口结束时调整上限
+     *
+     * @param rttNanos 请求处理耗时
+     * @param current  请求结束前的处理中请求数
+     */
+    private void record(long rttNanos, int current) {
+        lock.lock();
+        try {
+            windowRttSumNanos += rttNanos;
+            windowSamples++;
+            windowMaxInflight = Math.max(windowMaxInflight, current);
+
+            long now = nanoClock.getAsLong();
+            if (now - windowStartNanos < TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs())
+                    || windowSamples < properties.getMinWindowSamples()) {
+                return;
+            }
+            double shortRtt = (double) windowRttSumNanos / windowSamples;
+            int maxInflight = windowMaxInflight;
+            windowStartNanos = now;
+            windowRttSumNanos = 0;
+            windowSamples = 0;
+            windowMaxInflight = 0;
+            this.updateLimit(shortRtt, maxInflight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateLimit(double shortRtt, int maxInflight) {
+        shortRttNanos = shortRtt;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * 2 / (properties.getLongWindows() + 1);
+        }
+        if (longRttNanos / shortRtt > 2) {
+            // 延迟大幅回落（如下游恢复）时基线加速下降，避免以过高的基线放大并发
+            longRttNanos *= 0.95;
+        }
+        double current = limit;
+        if (maxInflight < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        // 收缩立即生效（每个窗口至多减半），增长按平滑系数逐步进行
+        double next = target < current
+                ? target
+                : current + (target - current) * properties.getSmoothing();
+        next = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), next));
+        limit = next;
+        if ((int) next != (int) current) {
+            log.debug("并发上限调整：{} -> {}（短期延迟 {} ms，基线 {} ms）", (int) current, (int) next,
+                    String.format("%.1f", shortRtt / 1e6), String.format("%.1f", longRttNanos / 1e6));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.util.log.LogLineUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 归档日志（.gz）的稀疏时间戳索引
+ * 每隔 {@link #BLOCK_SIZE} 字节（解压后）记录一个「行起始偏移 → 首个时间戳」，
+ * 并持久化为 .index 目录下的旁路文件，按源文件大小与修改时间判定是否失效。
+ * <p>
+ * 说明：logback 归档为单成员 gzip 流，无法在压缩数据上随机定位。
+ * 索引的作用是：整个文件与查询时间段无交集时完全不解压；
+ * 有交集时直接跳过（只解压不解码）到目标块，避免逐行解码与匹配。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+class GzipLogIndex {
+
+    /**
+     * 索引块大小（解压后字节数）
+     */
+    static final long BLOCK_SIZE = 256 * 1024;
+
+    private static final String HEADER = "v1";
+
+    private final long sourceSize;
+    private final long sourceModified;
+    private final long[] offsets;
+    private final String[] timestamps;
+    private final String lastTimestamp;
+
+    private GzipLogIndex(long sourceSize, long sourceModified,
+                         long[] offsets, String[] timestamps, String lastTimestamp) {
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.offsets = offsets;
+        this.timestamps = timestamps;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    /**
+     * 加载旁路索引，缺失或过期时重新构建并落盘
+     *
+     * @param source    .gz 日志文件
+     * @param indexFile 旁路索引文件
+     * @return 索引
+     * @throws IOException 读取源文件失败
+     */
+    static GzipLogIndex loadOrBuild(Path source, Path indexFile) throws IOException {
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+
+        if (Files.exists(indexFile)) {
+            try {
+                GzipLogIndex index = read(indexFile);
+                if (index != null && index.matches(size, modified)) {
+                    return index;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("日志索引损坏，将重新构建：{}", indexFile, e);
+            }
+        }
+
+        GzipLogIndex index = build(source, size, modified);
+        try {
+            index.write(indexFile);
+        } catch (IOException e) {
+            // 落盘失败不影响本次查询，下次重新构建
+            log.warn("写入日志索引失败：{}", indexFile, e);
+        }
+        return index;
+    }
+
+    /**
+     * 源文件是否与索引一致
+     */
+    boolean matches(long size, long modified) {
+        return sourceSize == size && sourceModified == modified;
+    }
+
+    /**
+     * 文件中的时间段是否与查询区间有交集
+     *
+     * @param fromKey 起始时间键（可空）
+     * @param toKey   结束时间键（可空）
+     */
+    boolean overlaps(String fromKey, String toKey) {
+        if (timestamps.length == 0) {
+            return false;
+        }
+        if (toKey != null && timestamps[0].compareTo(toKey) > 0) {
+            return false;
+        }
+        return fromKey == null || lastTimestamp.compareTo(fromKey) >= 0;
+    }
+
+    /**
+     * 查找扫描起点：最后一个时间戳严格小于 fromKey 的块的起始偏移
+     * 该块之前的所有行时间戳都小于 fromKey，可以安全跳过。
+     *
+     * @param fromKey 起始时间键（可空）
+     * @return 解压后字节偏移
+     */
+    long seekOffset(String fromKey) {
+        if (fromKey == null) {
+            return 0;
+        }
+        int lo = 0;
+        int hi = timestamps.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid].compareTo(fromKey) < 0) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found < 0 ? 0 : offsets[found];
+    }
+
+    /**
+     * 全量解压一次并按块采样构建索引
+     */
+    private static GzipLogIndex build(Path source, long size, long modified) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        List<String> timestamps = new ArrayList<>();
+        String last = null;
+        long nextBlock = 0;
+
+        try (LogLineReader reader = new LogLineReader(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(source))), 0)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String ts = LogLineUtils.extractTimestamp(line);
+                if (ts == null) {
+                    continue;
+                }
+                if (reader.getLineStart() >= nextBlock) {
+                    offsets.add(reader.getLineStart());
+                    timestamps.add(ts);
+                    nextBlock = reader.getLineStart() + BLOCK_SIZE;
+                }
+                last = ts;
+            }
+        }
+
+        long[] offsetArray = offsets.stream().mapToLong(Long::longValue).toArray();
+        return new GzipLogIndex(size, modified, offsetArray, timestamps.toArray(new String[0]), last);
+    }
+
+    private static GzipLogIndex read(Path indexFile) throws IOException {
+        List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+        if (lines.size() < 2) {
+            return null;
+        }
+        String[] header = lines.get(0).split(" ");
+        if (header.length != 3 || !HEADER.equals(header[0])) {
+            return null;
+        }
+        String[] tail = lines.get(lines.size() - 1).split(" ");
+        if (tail.length < 1 || !"end".equals(tail[0])) {
+            return null;
+        }
+
+        int count = lines.size() - 2;
+        long[] offsets = new long[count];
+        String[] timestamps = new String[count];
+        for (int i = 0; i < count; i++) {
+            String[] parts = lines.get(i + 1).split(" ");
+            offsets[i] = Long.parseLong(parts[0]);
+            timestamps[i] = parts[1];
+        }
+        String last = tail.length > 1 ? tail[1] : null;
+        return new GzipLogIndex(Long.parseLong(header[1]), Long.parseLong(header[2]), offsets, timestamps, last);
+    }
+
+    private void write(Path indexFile) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER + " " + sourceSize + " " + sourceModified);
+            writer.newLine();
+            for (int i = 0; i < offsets.length; i++) {
+                writer.write(offsets[i] + " " + timestamps[i]);
+                writer.newLine();
+            }
+            writer.write(lastTimestamp == null ? "end" : "end " + lastTimestamp);
+            writer.newLine();
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 打开解压流并跳到指定偏移
+     *
+     * @param source .gz 文件
+     * @param offset 解压后字节偏移
+     * @return 已定位的行读取器
+     */
+    static LogLineReader open(Path source, long offset) throws IOException {
+        InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(source)), 64 * 1024);
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new LogLineReader(in, offset);
+    }
+}
@@ -0,0 +1,376 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.domain.Cpu;
+import com.bryan.system.domain.Jvm;
+import com.bryan.system.domain.Memory;
+import com.bryan.system.domain.System;
+import com.bryan.system.domain.enums.HostMetric;
+import com.bryan.system.domain.vo.HostHistoryVO;
+import com.bryan.system.domain.vo.HostMonitorVO;
+import com.bryan.system.util.math.ArithmeticUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 主机与 JVM 监控服务
+ * <p>
+ * 定时（默认每秒）采样 CPU、内存、GC、线程与进程状态：
+ * 1. 最近一次采样结果保存为不可变快照，查询当前状态直接返回快照；
+ * 2. 各项指标写入启动时预分配的环形缓冲（默认 3600 个点，即最近一小时），查询历史时按需降采样复制。
+ * 接口请求不触发任何采样。
+ * </p>
+ * <p>
+ * Linux 下 CPU 各项使用率由 /proc/stat 两次采样的时间片差值计算；
+ * 其他系统仅提供总使用率（OperatingSystemMXBean）。
+ * 内存已用量在 Linux 下按 /proc/meminfo 的 MemAvailable 计算（可回收的页缓存不计为已用），
+ * 其他系统按 OperatingSystemMXBean 的空闲内存计算。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class HostMonitorService {
+
+    private static final Path PROC_STAT = Paths.get("/proc/stat");
+
+    private static final Path PROC_MEMINFO = Paths.get("/proc/meminfo");
+
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private static final HostMetric[] METRICS = HostMetric.values();
+
+    private final com.sun.management.OperatingSystemMXBean osBean =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final RuntimeMXBean runtimeBean = ManagementFactory.getRuntimeMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+    @Value("${host-monitor.sample-interval-ms:1000}")
+    private long sampleIntervalMs;
+
+    @Value("${host-monitor.history-size:3600}")
+    private int historySize;
+
+    /**
+     * 服务器信息，启动时获取一次
+     */
+    private System system;
+
+    /**
+     * 最近一次采样结果
+     */
+    private volatile HostMonitorVO current;
+
+    /* -------------------- 环形缓冲（在 lock 内访问） -------------------- */
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] timestamps;
+    private double[][] values;
+    private int next;
+    private int size;
+
+    /* -------------------- 采样线程私有状态 -------------------- */
+
+    /**
+     * 上次采样的 /proc/stat 时间片：user nice system idle iowait irq softirq steal
+     */
+    private final long[] lastTicks = new long[8];
+    private final long[] ticks = new long[8];
+    private boolean procStatAvailable = true;
+    private boolean memInfoAvailable = true;
+    private long lastGcCount = -1;
+    private long lastGcTime;
+    private final double[] sample = new double[METRICS.length];
+
+    @PostConstruct
+    public void init() {
+        this.timestamps = new long[historySize];
+        this.values = new double[METRICS.length][historySize];
+        this.system = this.readSystem();
+        // 首次采样只用于建立 CPU 时间片与 GC 计数基线并提供当前状态：
+        // 此时的 CPU 使用率是开机以来的平均值，不写入历史
+        this.sample(false);
+    }
+
+    /**
+     * 采样一次并写入环形缓冲
+     */
+    @Scheduled(initialDelayString = "${host-monitor.sample-interval-ms:1000}",
+            fixedRateString = "${host-monitor.sample-interval-ms:1000}")
+    public void sample() {
+        this.sample(true);
+    }
+
+    /**
+     * 采样一次
+     *
+     * @param record 是否写入环形缓冲
+     */
+    private void sample(boolean record) {
+        try {
+            long now = java.lang.System.currentTimeMillis();
+            Cpu cpu = this.sampleCpu();
+            Memory memory = this.sampleMemory();
+            Jvm jvm = this.sampleJvm();
+            current = HostMonitorVO.builder()
+                    .sampledAt(now)
+                    .cpu(cpu)
+                    .memory(memory)
+                    .system(system)
+                    .jvm(jvm)
+                    .build();
+
+            long gcCount = jvm.getGcCount();
+            long gcTime = jvm.getGcTime();
+            sample[HostMetric.CPU_USAGE.ordinal()] = cpu.getTotalUsage();
+            sample[HostMetric.PROCESS_CPU_USAGE.ordinal()] = jvm.getProcessCpuUsage();
+            sample[HostMetric.LOAD_AVERAGE.ordinal()] = osBean.getSystemLoadAverage();
+            sample[HostMetric.MEMORY_USAGE.ordinal()] = memory.getUsage();
+            sample[HostMetric.HEAP_USED.ordinal()] = jvm.getHeapUsed();
+            sample[HostMetric.NON_HEAP_USED.ordinal()] = jvm.getNonHeapUsed();
+            sample[HostMetric.GC_COUNT.ordinal()] = lastGcCount < 0 ? 0 : gcCount - lastGcCount;
+            sample[HostMetric.GC_TIME.ordinal()] = lastGcCount < 0 ? 0 : gcTime - lastGcTime;
+            sample[HostMetric.THREAD_COUNT.ordinal()] = jvm.getThreadCount();
+            sample[HostMetric.OPEN_FILES.ordinal()] = jvm.getOpenFileDescriptors();
+            lastGcCount = gcCount;
+            lastGcTime = gcTime;
+            if (record) {
+                this.record(now, sample);
+            }
+        } catch (RuntimeException e) {
+            log.warn("主机监控采样失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取当前状态（最近一次采样结果）
+     *
+     * @return 当前状态
+     */
+    public HostMonitorVO getCurrent() {
+        return current;
+    }
+
+    /**
+     * 获取最近一段时间的历史
+     *
+     * @param seconds 时间范围（秒），超出缓冲容量时返回全部
+     * @param step    降采样步长，每 step 个点取平均合并为一个点，1 表示不合并
+     * @return 历史序列
+     */
+    public HostHistoryVO getHistory(int seconds, int step) {
+        int wanted = (int) Math.min(Integer.MAX_VALUE, Math.max(1, seconds * 1000L / Math.max(1, sampleIntervalMs)));
+        step = Math.max(1, step);
+
+        lock.lock();
+        try {
+            int count = Math.min(wanted, size);
+            int points = (count + step - 1) / step;
+            // 最早一个点在缓冲中的位置
+            int first = Math.floorMod(next - count, historySize);
+            // 合并后的点取区间内最后一个采样时间
+            long[] outTimestamps = new long[points];
+            for (int p = 0; p < points; p++) {
+                outTimestamps[p] = timestamps[(first + Math.min(count, (p + 1) * step) - 1) % historySize];
+            }
+            Map<String, double[]> series = new LinkedHashMap<>();
+            for (HostMetric metric : METRICS) {
+                double[] source = values[metric.ordinal()];
+                double[] out = new double[points];
+                for (int p = 0; p < points; p++) {
+                    int from = p * step;
+                    int to = Math.min(count, from + step);
+                    double sum = 0;
+                    for (int i = from; i < to; i++) {
+                        sum += source[(first + i) % historySize];
+                    }
+                    out[p] = sum / (to - from);
+                }
+                series.put(metric.getMetricName(), out);
+            }
+            return HostHistoryVO.builder()
+                    .intervalMs(sampleIntervalMs * step)
+                    .timestamps(outTimestamps)
+                    .series(series)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 写入一个采样点，缓冲已满时覆盖最早的点
+     *
+     * @param timestamp 采样时间
+     * @param sample    各指标取值，下标为 {@link HostMetric#ordinal()}
+     */
+    void record(long timestamp, double[] sample) {
+        lock.lock();
+        try {
+            timestamps[next] = timestamp;
+            for (int m = 0; m < METRICS.length; m++) {
+                values[m][next] = sample[m];
+            }
+            next = (next + 1) % historySize;
+            size = Math.min(size + 1, historySize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private Cpu sampleCpu() {
+        Cpu cpu = new Cpu();
+        cpu.setProcessorNumber(osBean.getAvailableProcessors());
+        if (procStatAvailable && this.readProcStat(ticks)) {
+            long total = 0;
+            for (int i = 0; i < ticks.length; i++) {
+                total += ticks[i] - lastTicks[i];
+            }
+            if (total > 0) {
+                double idle = (double) (ticks[3] - lastTicks[3]) / total;
+                cpu.setUserUsage((double) (ticks[0] - lastTicks[0] + ticks[1] - lastTicks[1]) / total);
+                cpu.setSystemUsage((double) (ticks[2] - lastTicks[2] + ticks[5] - lastTicks[5]
+                        + ticks[6] - lastTicks[6]) / total);
+                cpu.setWaitRate((double) (ticks[4] - lastTicks[4]) / total);
+                cpu.setIdleRate(idle);
+                cpu.setTotalUsage(1 - idle);
+            }
+            java.lang.System.arraycopy(ticks, 0, lastTicks, 0, ticks.length);
+            return cpu;
+        }
+        // 无 /proc/stat 时只有总使用率，首次调用可能返回负数
+        double load = Math.max(0, osBean.getCpuLoad());
+        cpu.setTotalUsage(load);
+        cpu.setIdleRate(1 - load);
+        return cpu;
+    }
+
+    /**
+     * 读取 /proc/stat 首行的累计 CPU 时间片
+     *
+     * @return 读取成功返回 true；文件不存在或格式不符时返回 false，此后不再尝试
+     */
+    private boolean readProcStat(long[] target) {
+        try (BufferedReader reader = Files.newBufferedReader(PROC_STAT)) {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith("cpu ")) {
+                procStatAvailable = false;
+                return false;
+            }
+            String[] fields = line.trim().split("\\s+");
+            for (int i = 0; i < target.length; i++) {
+                target[i] = i + 1 < fields.length ? Long.parseLong(fields[i + 1]) : 0;
+            }
+            return true;
+        } catch (IOException | NumberFormatException e) {
+            procStatAvailable = false;
+            return false;
+        }
+    }
+
+    private Memory sampleMemory() {
+        long total = osBean.getTotalMemorySize();
+        long available = memInfoAvailable ? this.readMemAvailable() : -1;
+        long free = available >= 0 ? Math.min(available, total) : osBean.getFreeMemorySize();
+        Memory memory = new Memory();
+        memory.setTotalMemory(total);
+        memory.setUsedMemory(total - free);
+        memory.setRemainingMemory(free);
+        return memory;
+    }
+
+    /**
+     * 读取 /proc/meminfo 中的 MemAvailable（可用内存，含可回收的页缓存）
+     *
+     * @return 字节数；文件不存在或内核未提供该项（3.14 之前）时返回 -1，此后不再尝试
+     */
+    private long readMemAvailable() {
+        try (BufferedReader reader = Files.newBufferedReader(PROC_MEMINFO)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("MemAvailable:")) {
+                    String[] fields = line.trim().split("\\s+");
+                    return Long.parseLong(fields[1]) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 按不支持处理
+        }
+        memInfoAvailable = false;
+        return -1;
+    }
+
+    private Jvm sampleJvm() {
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memoryBean.getNonHeapMemoryUsage();
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gcBean : gcBeans) {
+            gcCount += Math.max(0, gcBean.getCollectionCount());
+            gcTime += Math.max(0, gcBean.getCollectionTime());
+        }
+
+        Jvm jvm = new Jvm();
+        jvm.setPid(runtimeBean.getPid());
+        jvm.setJavaVersion(java.lang.System.getProperty("java.version"));
+        jvm.setVmName(runtimeBean.getVmName());
+        jvm.setStartTime(runtimeBean.getStartTime());
+        jvm.setUptime(runtimeBean.getUptime());
+        jvm.setProcessCpuUsage(ArithmeticUtil.round(Math.max(0, osBean.getProcessCpuLoad()) * 100, 2));
+        jvm.setHeapUsed(toMb(heap.getUsed()));
+        jvm.setHeapCommitted(toMb(heap.getCommitted()));
+        jvm.setHeapMax(heap.getMax() < 0 ? -1 : toMb(heap.getMax()));
+        jvm.setNonHeapUsed(toMb(nonHeap.getUsed()));
+        jvm.setGcCount(gcCount);
+        jvm.setGcTime(gcTime);
+        jvm.setThreadCount(threadBean.getThreadCount());
+        jvm.setDaemonThreadCount(threadBean.getDaemonThreadCount());
+        jvm.setPeakThreadCount(threadBean.getPeakThreadCount());
+        jvm.setOpenFileDescriptors(osBean instanceof com.sun.management.UnixOperatingSystemMXBean unix
+                ? unix.getOpenFileDescriptorCount() : -1);
+        return jvm;
+    }
+
+    private System readSystem() {
+        System info = new System();
+        info.setUserDirectory(java.lang.System.getProperty("user.dir"));
+        info.setOsName(java.lang.System.getProperty("os.name"));
+        info.setOsArchitecture(java.lang.System.getProperty("os.arch"));
+        try {
+            InetAddress address = InetAddress.getLocalHost();
+            info.setComputerName(address.getHostName());
+            info.setComputerIp(address.getHostAddress());
+        } catch (IOException e) {
+            log.warn("获取服务器名称失败：{}", e.getMessage());
+        }
+        return info;
+    }
+
+    private static double toMb(long bytes) {
+        return ArithmeticUtil.div(bytes, BYTES_PER_MB, 2);
+    }
+}
@@ -0,0 +1,131 @@
+package com.bryan.system.service.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 带字节位置的日志行读取器
+ * 与 BufferedReader 不同，它记录每一行在（解压后）数据流中的起止字节偏移，
+ * 用于二分查找、稀疏索引与游标分页。
+ *
+ * @author Bryan Long
+ */
+class LogLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferLimit;
+
+    private byte[] lineBytes = new byte[256];
+
+    /**
+     * 下一次读取的起始字节偏移
+     */
+    private long position;
+
+    /**
+     * 最近一次返回的行的起始字节偏移
+     */
+    private long lineStart;
+
+    /**
+     * 最近一次返回的行是否以换行符结束（文件仍在写入时末行可能不完整）
+     */
+    private boolean terminated;
+
+    /**
+     * @param in       数据流，调用方负责定位到 startPosition 处
+     * @param position 数据流当前位置对应的字节偏移
+     */
+    LogLineReader(InputStream in, long position) {
+        this.in = in;
+        this.position = position;
+    }
+
+    /**
+     * 读取下一行（不含换行符）
+     *
+     * @return 行内容；已到达末尾返回 null
+     * @throws IOException 读取异常
+     */
+    String readLine() throws IOException {
+        lineStart = position;
+        int length = 0;
+        boolean any = false;
+        while (true) {
+            if (bufferPos >= bufferLimit) {
+                bufferLimit = in.read(buffer, 0, buffer.length);
+                bufferPos = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    break;
+                }
+            }
+            any = true;
+            int start = bufferPos;
+            int newline = -1;
+            for (int i = bufferPos; i < bufferLimit; i++) {
+                if (buffer[i] == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+            int end = newline >= 0 ? newline : bufferLimit;
+            int chunk = end - start;
+            if (length + chunk > lineBytes.length) {
+                lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, length + chunk));
+            }
+            System.arraycopy(buffer, start, lineBytes, length, chunk);
+            length += chunk;
+            if (newline >= 0) {
+                bufferPos = newline + 1;
+                position += chunk + 1;
+                terminated = true;
+                return this.decode(length);
+            }
+            bufferPos = bufferLimit;
+            position += chunk;
+        }
+        terminated = false;
+        return any ? this.decode(length) : null;
+    }
+
+    /**
+     * @return 最近一次返回的行的起始字节偏移
+     */
+    long getLineStart() {
+        return lineStart;
+    }
+
+    /**
+     * @return 最近一次返回的行是否完整
+     */
+    boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * @return 下一行的起始字节偏移
+     */
+    long getPosition() {
+        return position;
+    }
+
+    private String decode(int length) {
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
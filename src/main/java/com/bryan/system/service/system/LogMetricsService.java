@@ -0,0 +1,477 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.domain.vo.LogMetricsVO;
+import com.bryan.system.util.log.LogLineUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 日志指标增量聚合服务
+ * 定时读取当前日志文件自上次位置之后追加的内容，维护：
+ * 1. 每分钟各级别日志数（固定大小的环形缓冲，按分钟取模定位槽位）；
+ * 2. 出现最多的异常类与 Logger（固定容量的 Space-Saving 计数器，每小时衰减一半）。
+ * 文件位置与聚合结果一并持久化到日志目录的 .index/metrics.json（至多每分钟一次，滚动与停机时立即写入），
+ * 重启后继续增量解析。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogMetricsService {
+
+    private static final String SNAPSHOT_FILE = "metrics.json";
+
+    private static final DateTimeFormatter MINUTE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /**
+     * 级别在计数数组中的下标顺序
+     */
+    private static final String[] LEVELS = {"ERROR", "WARN", "INFO", "DEBUG", "TRACE"};
+
+    /**
+     * 排行榜衰减周期（分钟）
+     */
+    private static final long DECAY_MINUTES = 60;
+
+    /**
+     * 快照最短写入间隔（毫秒），稳定写日志时避免每次轮询都重写整个快照
+     */
+    private static final long SNAPSHOT_INTERVAL_MS = 60_000;
+
+    private final LogService logService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${log-metrics.window-minutes:1440}")
+    private int windowMinutes;
+
+    @Value("${log-metrics.top-capacity:64}")
+    private int topCapacity;
+
+    private boolean loaded;
+    private String fileKey;
+    private long position;
+
+    /**
+     * 正在解析的日志文件句柄，跨轮询保留：滚动后旧文件被改名或删除，仍可通过它读完剩余内容
+     */
+    private FileChannel channel;
+    private long[] minuteKeys;
+    private long[][] counts;
+    private TopKCounter exceptions;
+    private TopKCounter loggers;
+    private long lastDecayMinute;
+
+    /**
+     * 聚合状态自上次写入快照后是否有变化
+     */
+    private boolean dirty;
+    private long lastSavedAt;
+
+    /**
+     * 解析分钟键时的缓存，同一分钟内的行无需重复解析
+     */
+    private String cachedMinutePrefix;
+    private long cachedMinute;
+
+    /**
+     * 保护以上全部聚合状态；解析过程包含文件 I/O，使用 ReentrantLock 而非 synchronized，
+     * 虚拟线程在等待或持有锁期间不会固定（pin）载体线程
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 增量解析新追加的日志
+     * 只处理以换行结束的完整行，未写完的末行留到下次。
+     */
+    @Scheduled(initialDelayString = "${log-metrics.poll-interval-ms:5000}",
+            fixedDelayString = "${log-metrics.poll-interval-ms:5000}")
+    public void poll() {
+        lock.lock();
+        try {
+            this.pollLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取最近若干分钟的日志指标
+     *
+     * @param minutes 分钟数（1 ~ 窗口大小）
+     * @param top     排行榜条数（1 ~ 50）
+     * @return 指标聚合结果
+     */
+    public LogMetricsVO getMetrics(int minutes, int top) {
+        lock.lock();
+        try {
+            return this.getMetricsLocked(minutes, top);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        lock.lock();
+        try {
+            this.closeChannel();
+            if (dirty) {
+                this.saveSnapshot();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private void pollLocked() {
+        if (!loaded) {
+            this.loadSnapshot();
+        }
+
+        Path path = logService.resolveDefaultLogPath();
+        long before = position;
+        String beforeKey = fileKey;
+        try {
+            if (channel == null) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+                String previousKey = fileKey;
+                this.openChannel(path);
+                if (!Objects.equals(previousKey, fileKey) || channel.size() < position) {
+                    // 首次运行或停机期间已滚动：新文件从头解析；同一文件按快照位置继续
+                    position = 0;
+                }
+            }
+
+            this.readAppended(false);
+
+            if (this.isRotated(path)) {
+                // 旧文件句柄仍然有效，先读完滚动前追加的内容（含未换行的末行）
+                this.readAppended(true);
+                this.closeChannel();
+                if (Files.exists(path)) {
+                    this.openChannel(path);
+                    position = 0;
+                    this.readAppended(false);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("增量解析日志指标失败，将在下次轮询时重试：{}", e.getMessage());
+            this.closeChannel();
+        }
+        boolean switched = !Objects.equals(fileKey, beforeKey);
+        dirty |= position != before || switched;
+        // 切换文件时立即写入，避免重启后按旧文件的位置解析新文件
+        if (dirty && (switched || System.currentTimeMillis() - lastSavedAt >= SNAPSHOT_INTERVAL_MS)) {
+            this.saveSnapshot();
+        }
+    }
+
+    private void openChannel(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        Object key = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        fileKey = key == null ? null : key.toString();
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败无需处理
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * 文件是否已滚动：文件被替换（文件标识变化）或被截断
+     */
+    private boolean isRotated(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return true;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Object currentKey = attributes.fileKey();
+        if (currentKey != null && fileKey != null) {
+            return !currentKey.toString().equals(fileKey);
+        }
+        return attributes.size() < position;
+    }
+
+    /**
+     * 解析 position 之后新增的内容
+     * 默认只处理以换行结束的完整行；last 为 true 表示文件已不再写入，末行不完整也一并处理。
+     */
+    private void readAppended(boolean last) throws IOException {
+        if (channel.size() <= position) {
+            return;
+        }
+        // 读取器不关闭：关闭输入流会连带关闭跨轮询保留的 channel
+        LogLineReader reader = new LogLineReader(Channels.newInputStream(channel.position(position)), position);
+        String line;
+        while ((line = reader.readLine()) != null && (last || reader.isTerminated())) {
+            this.consume(line);
+            position = reader.getPosition();
+        }
+    }
+
+    private LogMetricsVO getMetricsLocked(int minutes, int top) {
+        if (!loaded) {
+            this.loadSnapshot();
+        }
+        int span = Math.max(1, Math.min(minutes, windowMinutes));
+        int limit = Math.max(1, Math.min(top, 50));
+        long end = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 60;
+
+        List<LogMetricsVO.MinuteCount> timeline = new ArrayList<>(span);
+        for (long minute = end - span + 1; minute <= end; minute++) {
+            int slot = this.slotOf(minute);
+            long[] c = minuteKeys[slot] == minute ? counts[slot] : new long[LEVELS.length];
+            String label = MINUTE_FORMATTER.format(LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC));
+            timeline.add(new LogMetricsVO.MinuteCount(label, c[0], c[1], c[2], c[3], c[4]));
+        }
+
+        return LogMetricsVO.builder()
+                .timeline(timeline)
+                .topExceptions(exceptions.top(limit))
+                .topLoggers(loggers.top(limit))
+                .build();
+    }
+
+    private void consume(String line) {
+        String ts = LogLineUtils.extractTimestamp(line);
+        if (ts == null) {
+            String exception = LogLineUtils.extractExceptionClass(line);
+            if (exception != null) {
+                exceptions.increment(exception);
+            }
+            return;
+        }
+
+        int levelIndex = levelIndex(LogLineUtils.extractLevel(line));
+        if (levelIndex < 0) {
+            return;
+        }
+        long minute = this.toEpochMinute(ts);
+        int slot = this.slotOf(minute);
+        if (minuteKeys[slot] != minute) {
+            if (minuteKeys[slot] > minute) {
+                // 早于窗口的旧数据
+                return;
+            }
+            minuteKeys[slot] = minute;
+            Arrays.fill(counts[slot], 0);
+        }
+        counts[slot][levelIndex]++;
+
+        String logger = LogLineUtils.extractLogger(line);
+        if (logger != null) {
+            loggers.increment(logger);
+        }
+
+        if (minute - lastDecayMinute >= DECAY_MINUTES) {
+            exceptions.decay();
+            loggers.decay();
+            lastDecayMinute = minute;
+        }
+    }
+
+    private int slotOf(long minute) {
+        return (int) Math.floorMod(minute, (long) windowMinutes);
+    }
+
+    private long toEpochMinute(String ts) {
+        String prefix = ts.substring(0, 16);
+        if (!prefix.equals(cachedMinutePrefix)) {
+            LocalDateTime time = LocalDateTime.of(
+                    Integer.parseInt(ts, 0, 4, 10),
+                    Integer.parseInt(ts, 5, 7, 10),
+                    Integer.parseInt(ts, 8, 10, 10),
+                    Integer.parseInt(ts, 11, 13, 10),
+                    Integer.parseInt(ts, 14, 16, 10));
+            cachedMinutePrefix = prefix;
+            cachedMinute = time.toEpochSecond(ZoneOffset.UTC) / 60;
+        }
+        return cachedMinute;
+    }
+
+    private static int levelIndex(String level) {
+        if (level == null) {
+            return -1;
+        }
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Path snapshotPath() {
+        return logService.getLogsDirectory().resolve(LogService.INDEX_DIRECTORY).resolve(SNAPSHOT_FILE);
+    }
+
+    /**
+     * 加载持久化的位置与聚合结果；窗口配置变化或文件损坏时从头开始
+     */
+    private void loadSnapshot() {
+        loaded = true;
+        minuteKeys = new long[windowMinutes];
+        Arrays.fill(minuteKeys, -1);
+        counts = new long[windowMinutes][LEVELS.length];
+        exceptions = new TopKCounter(topCapacity);
+        loggers = new TopKCounter(topCapacity);
+
+        Path path = this.snapshotPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(path.toFile(), Snapshot.class);
+            if (snapshot.getMinuteKeys() == null || snapshot.getMinuteKeys().length != windowMinutes) {
+                return;
+            }
+            fileKey = snapshot.getFileKey();
+            position = snapshot.getPosition();
+            minuteKeys = snapshot.getMinuteKeys();
+            counts = snapshot.getCounts();
+            lastDecayMinute = snapshot.getLastDecayMinute();
+            exceptions.restore(snapshot.getExceptions());
+            loggers.restore(snapshot.getLoggers());
+        } catch (IOException | RuntimeException e) {
+            log.warn("日志指标快照损坏，将重新解析：{}", e.getMessage());
+        }
+    }
+
+    private void saveSnapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setFileKey(fileKey);
+        snapshot.setPosition(position);
+        snapshot.setMinuteKeys(minuteKeys);
+        snapshot.setCounts(counts);
+        snapshot.setLastDecayMinute(lastDecayMinute);
+        snapshot.setExceptions(exceptions.asMap());
+        snapshot.setLoggers(loggers.asMap());
+
+        Path path = this.snapshotPath();
+        Path temp = path.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+            lastSavedAt = System.currentTimeMillis();
+        } catch (IOException e) {
+            log.warn("保存日志指标快照失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 持久化快照
+     */
+    @Data
+    @NoArgsConstructor
+    static class Snapshot {
+        private String fileKey;
+        private long position;
+        private long[] minuteKeys;
+        private long[][] counts;
+        private long lastDecayMinute;
+        private Map<String, Long> exceptions;
+        private Map<String, Long> loggers;
+    }
+
+    /**
+     * 固定容量的 Space-Saving 频次计数器
+     * 容量满时新键替换当前最小计数项，并继承其计数 + 1，保证高频项不会被挤出。
+     */
+    static class TopKCounter {
+
+        private final int capacity;
+        private final Map<String, Long> counts = new HashMap<>();
+
+        TopKCounter(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void increment(String key) {
+            Long current = counts.get(key);
+            if (current != null) {
+                counts.put(key, current + 1);
+                return;
+            }
+            if (counts.size() < capacity) {
+                counts.put(key, 1L);
+                return;
+            }
+            String minKey = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                if (entry.getValue() < min) {
+                    min = entry.getValue();
+                    minKey = entry.getKey();
+                }
+            }
+            counts.remove(minKey);
+            counts.put(key, min + 1);
+        }
+
+        void decay() {
+            counts.replaceAll((key, value) -> value / 2);
+            counts.values().removeIf(value -> value == 0);
+        }
+
+        List<LogMetricsVO.TopEntry> top(int limit) {
+            return counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                    .limit(limit)
+                    .map(entry -> new LogMetricsVO.TopEntry(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+
+        Map<String, Long> asMap() {
+            return new HashMap<>(counts);
+        }
+
+        void restore(Map<String, Long> values) {
+            if (values != null) {
+                values.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                        .limit(capacity)
+                        .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.bryan.system.service.system;
 
+import com.bryan.system.domain.request.system.LogSearchRequest;
+import com.bryan.system.domain.vo.LogSearchVO;
 import com.bryan.system.exception.BusinessException;
+import com.bryan.system.util.http.FileTransferUtils;
+import com.bryan.system.util.log.LogLineUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -9,13 +15,24 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -35,6 +52,21 @@ public class LogService {
     @Value("${logging.file.name:logs/platform.log}")
     private String logFileName;
 
+    /**
+     * 二分查找收敛阈值：区间小于该值后改为顺序扫描
+     */
+    private static final long SEEK_THRESHOLD = 64 * 1024;
+
+    /**
+     * 旁路索引等派生数据所在的子目录
+     */
+    static final String INDEX_DIRECTORY = ".index";
+
+    /**
+     * 已加载的归档日志索引缓存
+     */
+    private final Map<Path, GzipLogIndex> gzipIndexes = new ConcurrentHashMap<>();
+
     /**
      * 读取默认日志文件最近 N 行
      *
@@ -102,6 +134,146 @@ public class LogService {
         }
     }
 
+    /**
+     * 按时间段、级别与正则检索日志（游标分页）
+     * 普通日志文件按行首时间戳二分定位起点，归档 .gz 文件借助旁路索引跳过无关文件与数据块；
+     * 命中达到单页上限时返回 nextCursor，继续检索时原样传回即可。
+     *
+     * @param request 检索条件
+     * @return 命中的日志行及下一页游标
+     * @throws BusinessException 参数非法或读取失败
+     */
+    public LogSearchVO searchLogs(LogSearchRequest request) {
+        int limit = Math.max(1, Math.min(request.getLimit() == null ? 200 : request.getLimit(), 2000));
+        String fromKey = request.getFrom() == null ? null : LogLineUtils.toTimestampKey(request.getFrom());
+        String toKey = request.getTo() == null ? null
+                : LogLineUtils.toTimestampKey(request.getTo().withNano(999_000_000));
+        String level = request.getLevel() == null || request.getLevel().isBlank()
+                ? null : request.getLevel().trim().toUpperCase(Locale.ROOT);
+
+        Pattern pattern = null;
+        if (request.getPattern() != null && !request.getPattern().isEmpty()) {
+            try {
+                pattern = Pattern.compile(request.getPattern());
+            } catch (PatternSyntaxException e) {
+                throw new BusinessException("非法的正则表达式");
+            }
+        }
+
+        List<Path> files = this.resolveSearchFiles(request.getFile());
+
+        // 解析游标：<文件名>:<字节偏移>
+        int startIndex = 0;
+        long cursorOffset = -1;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String cursor = request.getCursor();
+            int sep = cursor.lastIndexOf(':');
+            try {
+                String cursorFile = cursor.substring(0, sep);
+                cursorOffset = Long.parseLong(cursor.substring(sep + 1));
+                startIndex = -1;
+                for (int i = 0; i < files.size(); i++) {
+                    if (files.get(i).getFileName().toString().equals(cursorFile)) {
+                        startIndex = i;
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                startIndex = -1;
+            }
+            if (startIndex < 0 || cursorOffset < 0) {
+                throw new BusinessException("无效的分页游标");
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (int i = startIndex; i < files.size(); i++) {
+            Path path = files.get(i);
+            boolean resume = i == startIndex && cursorOffset >= 0;
+            try {
+                long next = this.searchFile(path, resume ? cursorOffset : -1,
+                        fromKey, toKey, level, pattern, lines, limit);
+                if (next >= 0) {
+                    return LogSearchVO.builder()
+                            .lines(lines)
+                            .nextCursor(path.getFileName() + ":" + next)
+                            .build();
+                }
+            } catch (IOException e) {
+                log.error("检索日志文件失败：{}", path.toAbsolutePath(), e);
+                throw new BusinessException("检索日志文件失败，请稍后重试", e);
+            }
+        }
+        return LogSearchVO.builder().lines(lines).build();
+    }
+
+    /**
+     * 下载日志文件原始内容，支持单段 Range 断点续传
+     * 优先交给 Tomcat sendfile 由内核直接发送；容器不支持时使用 FileChannel.transferTo 分段写出，
+     * 两种方式都不会把文件整体读入堆内存。当前日志文件仍在增长，按请求时刻的大小截取。
+     *
+     * @param fileName 日志文件名
+     * @param request  当前请求（读取 Range / If-Range 头）
+     * @param response 响应流
+     * @throws BusinessException 文件不存在或读取失败
+     */
+    public void downloadLogFile(String fileName, HttpServletRequest request, HttpServletResponse response) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new BusinessException("日志文件名不能为空");
+        }
+        Path path = this.resolveLogPath(fileName);
+        if (!Files.isRegularFile(path)) {
+            throw new BusinessException("日志文件不存在，请检查日志配置");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+            long start = 0;
+            long end = size - 1;
+            String range = request.getHeader("Range");
+            String ifRange = request.getHeader("If-Range");
+            boolean rangeApplicable = range != null
+                    && (ifRange == null || ifRange.equals(etag) || this.matchesDate(request, lastModified));
+
+            response.setHeader("Accept-Ranges", "bytes");
+            response.setHeader("ETag", etag);
+            response.setDateHeader("Last-Modified", lastModified);
+            response.setContentType(path.getFileName().toString().endsWith(".gz")
+                    ? "application/gzip" : "text/plain;charset=UTF-8");
+            String encoded = URLEncoder.encode(path.getFileName().toString(), StandardCharsets.UTF_8).replace("+", "%20");
+            response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + encoded);
+
+            if (rangeApplicable) {
+                long[] parsed = this.parseRange(range, size);
+                if (parsed == null) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader("Content-Range", "bytes */" + size);
+                    return;
+                }
+                if (parsed.length == 2) {
+                    start = parsed[0];
+                    end = parsed[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+
+            long length = end - start + 1;
+            response.setContentLengthLong(Math.max(length, 0));
+            if (length <= 0) {
+                return;
+            }
+
+            FileTransferUtils.transfer(request, response, path, channel, start, end);
+        } catch (IOException e) {
+            // 客户端中断下载同样会走到这里，无需按错误处理
+            log.warn("下载日志文件中断：{}，原因：{}", path.getFileName(), e.getMessage());
+        }
+    }
+
     /* -------------------- 私有工具方法 -------------------- */
 
     /**
@@ -122,7 +294,7 @@ public class LogService {
     /**
      * 解析默认日志文件路径（支持相对路径）
      */
-    private Path resolveDefaultLogPath() {
+    Path resolveDefaultLogPath() {
         Path path = Paths.get(logFileName);
         if (!path.isAbsolute()) {
             Path userDir = Paths.get(System.getProperty("user.dir"));
@@ -134,7 +306,7 @@ public class LogService {
     /**
      * 获取日志目录（默认日志文件的父目录）
      */
-    private Path getLogsDirectory() {
+    Path getLogsDirectory() {
         Path defaultLogPath = this.resolveDefaultLogPath();
         Path parent = defaultLogPath.getParent();
         return parent == null ? Paths.get(System.getProperty("user.dir")) : parent;
@@ -159,4 +331,209 @@ public class LogService {
         }
         return Files.readAllLines(path, StandardCharsets.UTF_8);
     }
+
+    /**
+     * 确定待检索的日志文件，按最后修改时间正序（归档在前，当前日志在后）
+     */
+    private List<Path> resolveSearchFiles(String fileName) {
+        if (fileName != null && !fileName.isBlank()) {
+            Path path = this.resolveLogPath(fileName);
+            if (!Files.exists(path)) {
+                throw new BusinessException("日志文件不存在，请检查日志配置");
+            }
+            return List.of(path);
+        }
+        try {
+            return this.listLogFiles().stream()
+                    .map(this::resolveLogPath)
+                    .filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw new BusinessException("读取日志文件失败，请稍后重试", e);
+        }
+    }
+
+    /**
+     * 在单个文件内检索
+     *
+     * @param startOffset 游标续读的起始偏移；小于 0 表示按时间戳定位起点
+     * @return 命中达到上限时返回下一行的偏移；文件已检索完毕返回 -1
+     */
+    private long searchFile(Path path, long startOffset, String fromKey, String toKey,
+                            String level, Pattern pattern, List<String> out, int limit) throws IOException {
+        boolean gzip = path.getFileName().toString().endsWith(".gz");
+        long offset = startOffset;
+        if (offset < 0) {
+            if (gzip) {
+                GzipLogIndex index = this.getGzipIndex(path);
+                if (!index.overlaps(fromKey, toKey)) {
+                    return -1;
+                }
+                offset = index.seekOffset(fromKey);
+            } else {
+                offset = this.seekPlainFile(path, fromKey);
+            }
+        }
+
+        // 游标续读时紧随上一条命中行，其后的堆栈行属于同一条日志，沿用其时间与级别
+        String currentTs = startOffset >= 0 ? (fromKey == null ? "" : fromKey) : null;
+        String currentLevel = startOffset >= 0 ? level : null;
+
+        try (LogLineReader reader = gzip ? GzipLogIndex.open(path, offset) : this.openPlainFile(path, offset)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String ts = LogLineUtils.extractTimestamp(line);
+                if (ts != null) {
+                    if (toKey != null && ts.compareTo(toKey) > 0) {
+                        return -1;
+                    }
+                    currentTs = ts;
+                    currentLevel = LogLineUtils.extractLevel(line);
+                }
+                if (currentTs == null || (fromKey != null && currentTs.compareTo(fromKey) < 0)) {
+                    continue;
+                }
+                if (level != null && !level.equals(currentLevel)) {
+                    continue;
+                }
+                if (pattern != null && !pattern.matcher(line).find()) {
+                    continue;
+                }
+                out.add(line);
+                if (out.size() >= limit) {
+                    return reader.getPosition();
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 在普通日志文件中按行首时间戳二分查找扫描起点
+     * 返回的偏移处于行首，且其之前的所有行时间戳均小于 fromKey。
+     */
+    private long seekPlainFile(Path path, String fromKey) throws IOException {
+        if (fromKey == null) {
+            return 0;
+        }
+        long lo = 0;
+        long hi = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (hi - lo > SEEK_THRESHOLD) {
+                long mid = (lo + hi) >>> 1;
+                // 探测流不单独关闭，随 channel 一起释放
+                LogLineReader reader = new LogLineReader(Channels.newInputStream(channel.position(mid - 1)), mid - 1);
+                reader.readLine(); // 丢弃 mid 所在的残行
+
+                String probeTs = null;
+                long probeOffset = -1;
+                String line;
+                while (reader.getPosition() < hi && (line = reader.readLine()) != null) {
+                    probeTs = LogLineUtils.extractTimestamp(line);
+                    if (probeTs != null) {
+                        probeOffset = reader.getLineStart();
+                        break;
+                    }
+                }
+
+                if (probeTs != null && probeTs.compareTo(fromKey) < 0) {
+                    lo = probeOffset;
+                } else {
+                    hi = mid;
+                }
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * 打开普通日志文件并定位到指定偏移
+     */
+    private LogLineReader openPlainFile(Path path, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new LogLineReader(Channels.newInputStream(channel), offset);
+    }
+
+    /**
+     * 获取归档日志索引，优先使用内存缓存
+     */
+    private GzipLogIndex getGzipIndex(Path path) throws IOException {
+        long size = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        GzipLogIndex cached = gzipIndexes.get(path);
+        if (cached != null && cached.matches(size, modified)) {
+            return cached;
+        }
+        Path indexFile = this.getLogsDirectory().resolve(INDEX_DIRECTORY).resolve(path.getFileName() + ".idx");
+        GzipLogIndex index = GzipLogIndex.loadOrBuild(path, indexFile);
+        gzipIndexes.put(path, index);
+        return index;
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 解析单段 Range 头
+     *
+     * @return [start, end]；多段或格式不支持时返回空数组（按完整文件响应）；范围不可满足返回 null
+     */
+    private long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // bytes=-N：最后 N 个字节
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * If-Range 为日期时与文件修改时间比较（秒级精度）
+     */
+    private boolean matchesDate(HttpServletRequest request, long lastModified) {
+        try {
+            long date = request.getDateHeader("If-Range");
+            return date >= 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
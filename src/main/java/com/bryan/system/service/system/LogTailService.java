@@ -0,0 +1,400 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.exception.BusinessException;
+import com.bryan.system.util.thread.ThreadUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 日志实时推送服务
+ * 由单个共享读取线程按固定间隔轮询当前日志文件的增量内容，并通过 SSE 推送给所有订阅者。
+ * <p>
+ * 说明：
+ * 1. 读取线程只在存在订阅者时运行，从无订阅者恢复时总是从文件末尾开始跟随，不补发期间写入的内容。
+ * 2. 通过文件标识（inode）变化或文件变小识别日志滚动，先读完旧文件剩余内容再切换到新文件。
+ * 3. 每个订阅者持有有界队列，队列写满说明客户端消费过慢，直接断开而不是无限缓冲。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class LogTailService {
+
+    /**
+     * 单行最大字节数，超出部分截断
+     */
+    private static final int MAX_LINE_BYTES = 16 * 1024;
+
+    /**
+     * 单次轮询最多读取的字节数，积压过多时跳到末尾
+     */
+    private static final long MAX_READ_PER_POLL = 1024 * 1024;
+
+    /**
+     * 单个 SSE 事件最多合并的行数
+     */
+    private static final int MAX_BATCH_LINES = 200;
+
+    private final LogService logService;
+
+    @Value("${log-tail.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${log-tail.max-subscribers:32}")
+    private int maxSubscribers;
+
+    @Value("${log-tail.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${log-tail.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${log-tail.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService readerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-tail-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ThreadPoolExecutor senderExecutor;
+
+    private ScheduledFuture<?> pollTask;
+
+    /* -------------------- 读取线程状态（仅由 log-tail-reader 线程访问） -------------------- */
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(64 * 1024);
+    private final byte[] lineBytes = new byte[MAX_LINE_BYTES];
+    private int lineLength;
+    private long lastEventAt;
+
+    public LogTailService(LogService logService, Environment environment) {
+        this.logService = logService;
+        // 每个订阅者同一时刻至多占用一个发送线程，线程数实际受 maxSubscribers 约束；
+        // 发送阻塞在客户端网络写入上，虚拟线程模式下改用虚拟线程
+        this.senderExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), ThreadUtils.newThreadFactory("log-tail-sender-",
+                ThreadUtils.isVirtualThreadsActive(environment)));
+    }
+
+    /**
+     * 订阅日志实时推送
+     *
+     * @return SSE 发射器，事件名 log，数据为以换行分隔的若干日志行
+     * @throws BusinessException 订阅数已达上限
+     */
+    public synchronized SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessException("实时日志订阅数已达上限，请稍后重试");
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        emitter.onCompletion(() -> this.unsubscribe(subscriber));
+        emitter.onTimeout(() -> this.unsubscribe(subscriber));
+        emitter.onError(e -> this.unsubscribe(subscriber));
+        subscribers.add(subscriber);
+
+        if (pollTask == null) {
+            // 无订阅者期间写入的内容不补发：先于首次轮询在读取线程上重置跟随状态，从文件末尾开始
+            readerExecutor.execute(this::followFromEnd);
+            pollTask = readerExecutor.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("新增实时日志订阅，当前订阅数：{}", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * 当前订阅数
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readerExecutor.shutdownNow();
+        senderExecutor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        if (subscribers.isEmpty() && pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+            // 读取线程会在下次任务开始前释放文件，这里提交一个清理任务避免竞争
+            readerExecutor.execute(this::closeChannel);
+        }
+        log.info("实时日志订阅已结束，当前订阅数：{}", subscribers.size());
+    }
+
+    /* -------------------- 读取线程 -------------------- */
+
+    /**
+     * 轮询一次：读取新增内容，检测滚动，必要时发送心跳
+     */
+    private void poll() {
+        try {
+            Path path = logService.resolveDefaultLogPath();
+            if (channel == null) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+                Object previousKey = fileKey;
+                this.openChannel(path);
+                if (previousKey == null) {
+                    // 首次打开从末尾开始跟随
+                    position = channel.size();
+                } else if (!Objects.equals(previousKey, fileKey) || channel.size() < position) {
+                    // 滚动后的新文件从头读取；同一文件重试时保留原位置
+                    position = 0;
+                }
+            }
+
+            this.readAppended();
+
+            if (this.isRotated(path)) {
+                // 旧文件句柄仍然有效，先读完剩余内容
+                this.readAppended();
+                this.flushPartialLine();
+                this.closeChannel();
+                if (Files.exists(path)) {
+                    this.openChannel(path);
+                    position = 0;
+                    this.readAppended();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("跟随日志文件失败，将在下次轮询时重试：{}", e.getMessage());
+            this.closeChannel();
+        } catch (RuntimeException e) {
+            log.error("实时日志读取线程异常", e);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastEventAt >= TimeUnit.SECONDS.toMillis(heartbeatSeconds)) {
+            lastEventAt = now;
+            subscribers.forEach(subscriber -> subscriber.heartbeat(senderExecutor));
+        }
+    }
+
+    private void openChannel(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        lineLength = 0;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败无需处理
+            }
+            channel = null;
+        }
+        if (subscribers.isEmpty()) {
+            fileKey = null;
+        }
+    }
+
+    /**
+     * 丢弃上一轮订阅的读取位置，下次轮询重新打开文件并从末尾开始跟随
+     */
+    private void followFromEnd() {
+        this.closeChannel();
+        fileKey = null;
+        lineLength = 0;
+    }
+
+    /**
+     * 文件是否已滚动：文件被替换（文件标识变化）或被截断
+     */
+    private boolean isRotated(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return true;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Object currentKey = attributes.fileKey();
+        if (currentKey != null && fileKey != null) {
+            return !Objects.equals(currentKey, fileKey);
+        }
+        return attributes.size() < position;
+    }
+
+    /**
+     * 读取 position 之后新增的字节并按行分发
+     */
+    private void readAppended() throws IOException {
+        long size = channel.size();
+        if (size - position > MAX_READ_PER_POLL) {
+            // 积压过多时丢弃旧内容，只推送最近部分
+            position = size - MAX_READ_PER_POLL;
+            lineLength = -1;
+        }
+
+        List<String> lines = new ArrayList<>();
+        while (position < size) {
+            readBuffer.clear();
+            int read = channel.read(readBuffer, position);
+            if (read <= 0) {
+                break;
+            }
+            position += read;
+            readBuffer.flip();
+            while (readBuffer.hasRemaining()) {
+                byte b = readBuffer.get();
+                if (b == '\n') {
+                    if (lineLength >= 0) {
+                        lines.add(this.decodeLine());
+                    }
+                    lineLength = 0;
+                } else if (lineLength >= 0 && lineLength < MAX_LINE_BYTES) {
+                    lineBytes[lineLength++] = b;
+                }
+            }
+        }
+        this.dispatch(lines);
+    }
+
+    /**
+     * 滚动时旧文件最后一行可能没有换行符
+     */
+    private void flushPartialLine() {
+        if (lineLength > 0) {
+            this.dispatch(List.of(this.decodeLine()));
+        }
+        lineLength = 0;
+    }
+
+    private String decodeLine() {
+        int length = lineLength;
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void dispatch(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        lastEventAt = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(lines)) {
+                log.warn("实时日志订阅者消费过慢，已断开");
+                subscriber.emitter.completeWithError(new IOException("subscriber too slow"));
+                this.unsubscribe(subscriber);
+                continue;
+            }
+            subscriber.scheduleDrain(senderExecutor);
+        }
+    }
+
+    /**
+     * 订阅者：有界队列 + 单线程发送（同一订阅者同一时刻至多一个发送任务）
+     */
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * 放入待发送的行
+         *
+         * @return 队列已满返回 false
+         */
+        boolean offer(List<String> lines) {
+            for (String line : lines) {
+                if (!queue.offer(line)) {
+                    closed = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void scheduleDrain(ThreadPoolExecutor executor) {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        void heartbeat(ThreadPoolExecutor executor) {
+            if (queue.isEmpty() && draining.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    try {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } catch (IOException | IllegalStateException e) {
+                        closed = true;
+                        emitter.completeWithError(e);
+                    } finally {
+                        draining.set(false);
+                    }
+                });
+            }
+        }
+
+        private void drain() {
+            List<String> batch = new ArrayList<>(MAX_BATCH_LINES);
+            try {
+                while (!closed && queue.drainTo(batch, MAX_BATCH_LINES) > 0) {
+                    emitter.send(SseEmitter.event().name("log").data(String.join("\n", batch)));
+                    batch.clear();
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // 发送期间可能有新数据入队
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                this.drain();
+            }
+        }
+    }
+}
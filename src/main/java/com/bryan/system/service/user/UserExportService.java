@@ -4,12 +4,17 @@ import com.alibaba.excel.EasyExcel;
 import com.alibaba.excel.ExcelWriter;
 import com.alibaba.excel.write.handler.CellWriteHandler;
 import com.alibaba.excel.write.metadata.WriteSheet;
+import com.bryan.system.config.datasource.Workload;
 import com.bryan.system.domain.converter.UserConverter;
 import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.domain.enums.WorkloadType;
 import com.bryan.system.domain.request.user.UserExportRequest;
 import com.bryan.system.domain.vo.UserExportVO;
 import com.bryan.system.exception.BusinessException;
 import com.bryan.system.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +27,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 用户导出业务服务
@@ -32,9 +38,11 @@ import java.util.Optional;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Workload(WorkloadType.BULK)
 public class UserExportService {
 
     private final UserMapper userMapper;
+    private final MeterRegistry meterRegistry;
 
     /* -------------------- 公开导出入口 -------------------- */
 
@@ -73,6 +81,9 @@ public class UserExportService {
                                     UserExportRequest exportRequest,
                                     int pageNum, int pageSize) throws IOException {
         int total    = 0;
+        long start   = System.nanoTime();
+        // 导出行数按批累加，结合 Prometheus rate() 即为每秒导出行数
+        Counter rows = meterRegistry.counter("user.export.rows");
 
         while (true) {
             int offset = (pageNum - 1) * pageSize;
@@ -85,11 +96,17 @@ public class UserExportService {
                     .toList();
             excelWriter.write(vos, writeSheet);
             total += vos.size();
+            rows.increment(vos.size());
             log.info("已导出 {} 条数据", total);
             pageNum++;
         }
         excelWriter.finish();
-        log.info("导出完成，总计 {} 条数据", total);
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("user.export.duration")
+                .description("用户导出耗时")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("导出完成，总计 {} 条数据，耗时 {} ms", total, TimeUnit.NANOSECONDS.toMillis(elapsed));
     }
 
     /**
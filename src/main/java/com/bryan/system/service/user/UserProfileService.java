@@ -5,6 +5,7 @@ import com.bryan.system.domain.entity.UserProfile;
 import com.bryan.system.exception.BusinessException;
 import com.bryan.system.exception.ResourceNotFoundException;
 import com.bryan.system.mapper.UserProfileMapper;
+import com.bryan.system.service.file.AvatarThumbnailService;
 import com.bryan.system.service.file.LocalFileService;
 import com.bryan.system.util.jwt.JwtUtils;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class UserProfileService {
 
     private final UserProfileMapper userProfileMapper;
     private final LocalFileService localFileService;
+    private final AvatarThumbnailService avatarThumbnailService;
 
     /**
      * 创建用户资料
@@ -128,6 +130,9 @@ public class UserProfileService {
 
     /**
      * 上传并更新用户头像
+     * 头像按内容寻址存储，多个用户可能引用同一文件，因此这里不删除旧头像；
+     * 不再被引用的文件由 {@link com.bryan.system.service.file.UploadGarbageCollector} 在宽限期后统一回收。
+     * 新头像的缩略图在后台线程池中生成。
      *
      * @param userId 用户主键
      * @param file   头像文件
@@ -138,15 +143,10 @@ public class UserProfileService {
         UserProfile profile = this.getUserProfileByUserId(userId);
 
         try {
-            // 1. 存储新头像文件
+            // 1. 存储新头像文件（相同内容复用已有文件）
             String avatarPath = localFileService.storeFile(file, "avatars");
 
-            // 2. 如果原有头像存在，尝试删除旧文件（可选，根据业务需求）
-            if (profile.getAvatar() != null && !profile.getAvatar().isEmpty()) {
-                localFileService.deleteFile(profile.getAvatar());
-            }
-
-            // 3. 更新数据库
+            // 2. 更新数据库
             profile.setAvatar(avatarPath);
 
             this.fillUpdate(profile);
@@ -156,6 +156,9 @@ public class UserProfileService {
                 throw new BusinessException("头像更新失败");
             }
 
+            // 3. 后台生成缩略图
+            avatarThumbnailService.generateAsync(avatarPath);
+
             log.info("用户头像更新成功，用户ID: {}, 路径: {}", userId, avatarPath);
             return avatarPath;
         } catch (IOException e) {
@@ -1,8 +1,10 @@
 package com.bryan.system.service.user;
 
+import com.bryan.system.config.datasource.Workload;
 import com.bryan.system.domain.dto.UserUpdateDTO;
 import com.bryan.system.domain.entity.SysUser;
 import com.bryan.system.domain.entity.UserRole;
+import com.bryan.system.domain.enums.WorkloadType;
 import com.bryan.system.domain.enums.user.UserStatusEnum;
 import com.bryan.system.domain.request.user.ChangeRoleRequest;
 import com.bryan.system.domain.request.user.UserCreateRequest;
@@ -104,6 +106,7 @@ public class UserService {
      *
      * @return 包含所有用户的分页对象（Page）。
      */
+    @Workload(WorkloadType.BULK)
     public PageResult<SysUser> getAllUsers(int pageNum,
                                            int pageSize) {
         int offset = (pageNum - 1) * pageSize;
@@ -143,6 +146,7 @@ public class UserService {
      * @param searchRequest 搜索请求
      * @return 符合查询条件的分页对象（Page）
      */
+    @Workload(WorkloadType.BULK)
     public PageResult<SysUser> queryUsers(UserSearchRequest searchRequest,
                                            int pageNum,
                                            int pageSize) {
@@ -0,0 +1,66 @@
+package com.bryan.system.util.http;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * 文件零拷贝发送工具类
+ * 优先交给 Tomcat sendfile 由内核直接发送（与 DefaultServlet 使用的请求属性约定一致）；
+ * 容器不支持时使用 FileChannel.transferTo 分段写出。两种方式都不会把文件读入堆内存。
+ *
+ * @author Bryan Long
+ */
+public class FileTransferUtils {
+
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 这个类不能实例化
+     */
+    private FileTransferUtils() {
+    }
+
+    /**
+     * 发送文件的 [start, end] 字节区间
+     * 调用前应已设置状态码、Content-Type 与 Content-Length 等响应头。
+     *
+     * @param request  当前请求
+     * @param response 响应
+     * @param path     文件路径
+     * @param channel  已打开的文件通道（sendfile 时不使用）
+     * @param start    起始字节（含）
+     * @param end      结束字节（含）
+     * @throws IOException 写出失败（包括客户端中断）
+     */
+    public static void transfer(HttpServletRequest request, HttpServletResponse response,
+                                Path path, FileChannel channel, long start, long end) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = end - start + 1;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+            remaining -= sent;
+        }
+        response.flushBuffer();
+    }
+}
@@ -1,87 +1,128 @@
 package com.bryan.system.util.http;
 
+import com.bryan.system.util.ip.IpNetwork;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * HTTP 工具类
  * 提供获取客户端 IP、操作系统、浏览器等常用能力。
+ * <p>
+ * 转发头（X-Forwarded-For 等）可由客户端任意伪造，只有 RemoteAddr 属于 client-ip.trusted-proxies
+ * 配置的代理网段时才采信，否则客户端 IP 即 RemoteAddr。
+ * </p>
  *
  * @author Bryan Long
  */
+@Component
 public class HttpUtils {
 
+    private static final String USER_AGENT_ATTRIBUTE = HttpUtils.class.getName() + ".USER_AGENT";
+
+    /**
+     * 单值的代理转发头，按顺序尝试
+     */
+    private static final String[] SINGLE_VALUE_HEADERS = {
+            "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP"};
+
+    private static volatile List<IpNetwork> trustedProxies = List.of();
+
+    @Value("${client-ip.trusted-proxies:}")
+    private String[] trustedProxyNetworks;
+
+    @PostConstruct
+    public void init() {
+        try {
+            trustedProxies = IpNetwork.parseAll(trustedProxyNetworks);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("client-ip.trusted-proxies 中的" + e.getMessage(), e);
+        }
+    }
+
     /**
      * 获取客户端真实 IP
-     * 依次解析 X-Forwarded-For、Proxy-Client-IP、WL-Proxy-Client-IP、
-     * HTTP_CLIENT_IP、HTTP_X_FORWARDED_FOR，最后回退到 RemoteAddr。
      *
      * @return 客户端 IP；未知返回 "Unknown"
      */
     public static String getClientIp() {
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(
                 RequestContextHolder.getRequestAttributes());
-        HttpServletRequest request = attributes.getRequest();
+        return getClientIp(attributes.getRequest(), trustedProxies);
+    }
 
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
+    /**
+     * 获取客户端真实 IP
+     * RemoteAddr 属于可信代理时，从右向左跳过 X-Forwarded-For 中的可信代理，取第一个不可信的地址
+     * （更靠左的地址由客户端提供，不可信）；没有 X-Forwarded-For 时依次解析 Proxy-Client-IP、
+     * WL-Proxy-Client-IP、HTTP_CLIENT_IP；其余情况均使用 RemoteAddr。
+     *
+     * @param request        当前请求
+     * @param trustedProxies 可信代理网段
+     * @return 客户端 IP；未知返回 "Unknown"
+     */
+    static String getClientIp(HttpServletRequest request, List<IpNetwork> trustedProxies) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!IpNetwork.matchesAny(trustedProxies, remoteAddr)) {
+            return remoteAddr == null ? "Unknown" : remoteAddr;
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
+
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (hasValue(forwardedFor)) {
+            String[] hops = forwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hasValue(hop) && (i == 0 || !IpNetwork.matchesAny(trustedProxies, hop))) {
+                    return hop;
+                }
+            }
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
+        for (String header : SINGLE_VALUE_HEADERS) {
+            String ip = request.getHeader(header);
+            if (hasValue(ip)) {
+                return ip.trim();
+            }
         }
+        return remoteAddr;
+    }
 
-        // 多级代理时，取第一个真实 IP
-        if (ip != null && ip.contains(",")) {
-            ip = ip.substring(0, ip.indexOf(",")).trim();
-        }
-        return ip == null ? "Unknown" : ip;
+    private static boolean hasValue(String ip) {
+        return ip != null && !ip.isBlank() && !"unknown".equalsIgnoreCase(ip.trim());
     }
 
     /**
-     * 获取客户端操作系统
+     * 获取客户端 User-Agent 解析结果
+     * 每个请求只解析一次，结果保存在请求属性中。
      *
-     * @return 操作系统名称；未知返回 "Unknown"
+     * @return 解析结果；缺少 User-Agent 时各字段为 "Unknown"
      */
-    public static String getClientOS() {
+    public static UserAgentInfo getUserAgent() {
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(
                 RequestContextHolder.getRequestAttributes());
         HttpServletRequest request = attributes.getRequest();
 
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent == null) {
-            return "Unknown";
+        Object cached = request.getAttribute(USER_AGENT_ATTRIBUTE);
+        if (cached instanceof UserAgentInfo userAgent) {
+            return userAgent;
         }
+        UserAgentInfo userAgent = UserAgentParser.parse(request.getHeader("User-Agent"));
+        request.setAttribute(USER_AGENT_ATTRIBUTE, userAgent);
+        return userAgent;
+    }
 
-        String ua = userAgent.toLowerCase();
-
-        if (ua.contains("windows")) {
-            return "Windows";
-        } else if (ua.contains("mac")) {
-            return "macOS";
-        } else if (ua.contains("x11")) {
-            return "Unix";
-        } else if (ua.contains("android")) {
-            return "Android";
-        } else if (ua.contains("iphone")) {
-            return "iOS";
-        } else if (ua.contains("linux")) {
-            return "Linux";
-        } else {
-            return "Unknown";
-        }
+    /**
+     * 获取客户端操作系统
+     *
+     * @return 操作系统名称；未知返回 "Unknown"
+     */
+    public static String getClientOS() {
+        return getUserAgent().os();
     }
 
     /**
@@ -90,31 +131,6 @@ public class HttpUtils {
      * @return 浏览器名称；未知返回 "Unknown"
      */
     public static String getClientBrowser() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(
-                RequestContextHolder.getRequestAttributes());
-        HttpServletRequest request = attributes.getRequest();
-
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent == null) {
-            return "Unknown";
-        }
-
-        String ua = userAgent.toLowerCase();
-
-        if (ua.contains("edg/") || ua.contains("edge/")) {
-            return "Edge";
-        } else if (ua.contains("opr/") || ua.contains("opera")) {
-            return "Opera";
-        } else if (ua.contains("chrome") && !ua.contains("chromium")) {
-            return "Chrome";
-        } else if (ua.contains("firefox") || ua.contains("fxios")) {
-            return "Firefox";
-        } else if (ua.contains("safari") && !ua.contains("chrome")) {
-            return "Safari";
-        } else if (ua.contains("msie") || ua.contains("trident/7")) {
-            return "Internet Explorer";
-        } else {
-            return "Unknown";
-        }
+        return getUserAgent().browser();
     }
-}
\ No newline at end of file
+}
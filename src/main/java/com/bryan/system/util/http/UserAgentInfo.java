@@ -0,0 +1,40 @@
+package com.bryan.system.util.http;
+
+/**
+ * 客户端 User-Agent 解析结果（不可变）
+ *
+ * @param os             操作系统；未知为 "Unknown"
+ * @param browser        浏览器；未知为 "Unknown"
+ * @param browserVersion 浏览器版本；未知为 null
+ * @param deviceType     设备类型
+ * @author Bryan Long
+ */
+public record UserAgentInfo(String os, String browser, String browserVersion, DeviceType deviceType) {
+
+    public static final String UNKNOWN = "Unknown";
+
+    /**
+     * 缺少 User-Agent 时的解析结果
+     */
+    public static final UserAgentInfo EMPTY = new UserAgentInfo(UNKNOWN, UNKNOWN, null, DeviceType.UNKNOWN);
+
+    /**
+     * 登录设备描述，格式为 "操作系统 / 浏览器"
+     *
+     * @return 设备描述
+     */
+    public String device() {
+        return os + " / " + browser;
+    }
+
+    /**
+     * 设备类型
+     */
+    public enum DeviceType {
+        DESKTOP,
+        MOBILE,
+        TABLET,
+        BOT,
+        UNKNOWN
+    }
+}
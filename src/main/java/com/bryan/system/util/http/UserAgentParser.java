@@ -0,0 +1,159 @@
+package com.bryan.system.util.http;
+
+import com.bryan.system.util.http.UserAgentInfo.DeviceType;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * User-Agent 解析工具类
+ * <p>
+ * 一次解析得到操作系统、浏览器、版本与设备类型。实际流量中 User-Agent 的取值很少，
+ * 解析结果按原始字符串缓存在有界 LRU 中，命中时不再做任何字符串处理；
+ * 超长的 User-Agent 不缓存，避免恶意请求占用缓存内存。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public final class UserAgentParser {
+
+    /**
+     * 缓存条目上限
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * 参与缓存的 User-Agent 最大长度
+     */
+    private static final int MAX_CACHED_LENGTH = 512;
+
+    private static final String[] BOT_MARKERS = {"bot", "spider", "crawl", "curl/", "wget/", "python-requests", "httpclient"};
+
+    private static final Map<String, UserAgentInfo> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserAgentInfo> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private UserAgentParser() {
+    }
+
+    /**
+     * 解析 User-Agent（带缓存）
+     *
+     * @param userAgent 原始 User-Agent，可以为 null
+     * @return 解析结果
+     */
+    public static UserAgentInfo parse(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return UserAgentInfo.EMPTY;
+        }
+        if (userAgent.length() > MAX_CACHED_LENGTH) {
+            return doParse(userAgent);
+        }
+        synchronized (CACHE) {
+            UserAgentInfo cached = CACHE.get(userAgent);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        UserAgentInfo info = doParse(userAgent);
+        synchronized (CACHE) {
+            CACHE.put(userAgent, info);
+        }
+        return info;
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    static UserAgentInfo doParse(String userAgent) {
+        String ua = userAgent.toLowerCase(Locale.ROOT);
+        String os = parseOs(ua);
+        String[] browser = parseBrowser(ua);
+        return new UserAgentInfo(os, browser[0], browser[1], parseDeviceType(ua, os));
+    }
+
+    /**
+     * iOS、Android 的 User-Agent 同时包含 "Mac OS X"、"Linux"，需先于桌面系统判断
+     */
+    private static String parseOs(String ua) {
+        if (ua.contains("windows")) {
+            return "Windows";
+        } else if (ua.contains("iphone") || ua.contains("ipad") || ua.contains("ipod")) {
+            return "iOS";
+        } else if (ua.contains("android")) {
+            return "Android";
+        } else if (ua.contains("macintosh") || ua.contains("mac os")) {
+            return "macOS";
+        } else if (ua.contains("cros ")) {
+            return "ChromeOS";
+        } else if (ua.contains("linux")) {
+            return "Linux";
+        } else if (ua.contains("x11")) {
+            return "Unix";
+        }
+        return UserAgentInfo.UNKNOWN;
+    }
+
+    /**
+     * Edge、Opera 的 User-Agent 同时包含 "Chrome"、"Safari"，Chrome 的同时包含 "Safari"，按此顺序判断
+     *
+     * @return {浏览器, 版本}
+     */
+    private static String[] parseBrowser(String ua) {
+        if (ua.contains("edg/") || ua.contains("edge/") || ua.contains("edga/") || ua.contains("edgios/")) {
+            return browser("Edge", ua, "edg/", "edge/", "edga/", "edgios/");
+        } else if (ua.contains("opr/") || ua.contains("opera")) {
+            return browser("Opera", ua, "opr/", "version/", "opera/");
+        } else if (ua.contains("firefox/") || ua.contains("fxios/")) {
+            return browser("Firefox", ua, "firefox/", "fxios/");
+        } else if (ua.contains("chromium/")) {
+            return browser("Chromium", ua, "chromium/");
+        } else if (ua.contains("chrome/") || ua.contains("crios/")) {
+            return browser("Chrome", ua, "chrome/", "crios/");
+        } else if (ua.contains("safari/")) {
+            return browser("Safari", ua, "version/");
+        } else if (ua.contains("msie") || ua.contains("trident/")) {
+            return browser("Internet Explorer", ua, "msie ", "rv:");
+        }
+        return new String[]{UserAgentInfo.UNKNOWN, null};
+    }
+
+    private static DeviceType parseDeviceType(String ua, String os) {
+        for (String marker : BOT_MARKERS) {
+            if (ua.contains(marker)) {
+                return DeviceType.BOT;
+            }
+        }
+        if (ua.contains("ipad") || ua.contains("tablet") || (ua.contains("android") && !ua.contains("mobile"))) {
+            return DeviceType.TABLET;
+        }
+        if (ua.contains("mobi") || ua.contains("iphone") || ua.contains("ipod")) {
+            return DeviceType.MOBILE;
+        }
+        return UserAgentInfo.UNKNOWN.equals(os) ? DeviceType.UNKNOWN : DeviceType.DESKTOP;
+    }
+
+    /**
+     * 取第一个出现的版本标记后的数字与点
+     */
+    private static String[] browser(String name, String ua, String... versionMarkers) {
+        for (String marker : versionMarkers) {
+            int index = ua.indexOf(marker);
+            if (index < 0) {
+                continue;
+            }
+            int start = index + marker.length();
+            int end = start;
+            while (end < ua.length() && (Character.isDigit(ua.charAt(end)) || ua.charAt(end) == '.')) {
+                end++;
+            }
+            if (end > start) {
+                return new String[]{name, ua.substring(start, end)};
+            }
+        }
+        return new String[]{name, null};
+    }
+}
@@ -0,0 +1,134 @@
+package com.bryan.system.util.ip;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IP 网段（CIDR），不带前缀长度时视为单个地址
+ * 只解析 IP 字面量，不做 DNS 解析。
+ *
+ * @param address      网段地址
+ * @param prefixLength 前缀长度
+ * @author Bryan Long
+ */
+public record IpNetwork(byte[] address, int prefixLength) {
+
+    /**
+     * 解析网段
+     *
+     * @param cidr 如 10.0.0.0/8、::1
+     * @return 网段
+     * @throws IllegalArgumentException 格式不合法
+     */
+    public static IpNetwork parse(String cidr) {
+        int slash = cidr.indexOf('/');
+        byte[] address = toBytes(slash < 0 ? cidr : cidr.substring(0, slash));
+        if (address == null) {
+            throw new IllegalArgumentException("网段不合法: " + cidr);
+        }
+        int prefixLength = address.length * 8;
+        if (slash >= 0) {
+            try {
+                prefixLength = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                prefixLength = -1;
+            }
+            if (prefixLength < 0 || prefixLength > address.length * 8) {
+                throw new IllegalArgumentException("网段不合法: " + cidr);
+            }
+        }
+        return new IpNetwork(address, prefixLength);
+    }
+
+    /**
+     * 解析配置中的网段列表，忽略空白项
+     *
+     * @param cidrs 网段
+     * @return 不可变网段列表
+     * @throws IllegalArgumentException 任一网段格式不合法
+     */
+    public static List<IpNetwork> parseAll(String[] cidrs) {
+        List<IpNetwork> parsed = new ArrayList<>();
+        if (cidrs != null) {
+            for (String cidr : cidrs) {
+                if (!cidr.isBlank()) {
+                    parsed.add(parse(cidr.trim()));
+                }
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * 地址是否属于任一网段
+     *
+     * @param networks 网段列表
+     * @param ip       IP 字面量
+     * @return 属于返回 true；地址为空或不是 IP 字面量返回 false
+     */
+    public static boolean matchesAny(List<IpNetwork> networks, String ip) {
+        if (networks.isEmpty() || ip == null) {
+            return false;
+        }
+        byte[] address = toBytes(ip.trim());
+        if (address == null) {
+            return false;
+        }
+        for (IpNetwork network : networks) {
+            if (network.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析 IP 字面量，不是字面量时返回 null（不做 DNS 解析）
+     */
+    static byte[] toBytes(String ip) {
+        // 含冒号的按 IPv6 字面量解析；否则只允许数字和点，避免把主机名交给 DNS
+        boolean ipv6 = ip.indexOf(':') >= 0;
+        if (ip.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            boolean valid = (c >= '0' && c <= '9') || c == '.'
+                    || (ipv6 && (c == ':' || Character.digit(c, 16) >= 0));
+            if (!valid) {
+                return null;
+            }
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 地址是否属于本网段
+     *
+     * @param candidate 地址字节
+     * @return 属于返回 true；地址族不同返回 false
+     */
+    public boolean contains(byte[] candidate) {
+        if (candidate.length != address.length) {
+            return false;
+        }
+        int fullBytes = prefixLength / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (candidate[i] != address[i]) {
+                return false;
+            }
+        }
+        int remainingBits = prefixLength % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = 0xFF << (8 - remainingBits);
+        return (candidate[fullBytes] & mask) == (address[fullBytes] & mask);
+    }
+}
@@ -0,0 +1,457 @@
+package com.bryan.system.util.ip;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IP 地址段 → 地区 查询表
+ * <p>
+ * 数据文件为按起始地址排序的 IPv4 / IPv6 地址段，整体内存映射（mmap）后直接在映射区上二分查找；
+ * 地区名称在加载时解码为字符串数组，查询时解析 IP、查找、返回均不分配对象，单次查询为微秒级。
+ * </p>
+ * <p>
+ * 文件格式（大端序）：
+ * <pre>
+ * 头部    int magic("IPRG"), int version, int ipv4Count, int ipv6Count, int regionCount
+ * IPv4 段 ipv4Count × (int start, int end, int region)
+ * IPv6 段 ipv6Count × (long startHigh, long startLow, long endHigh, long endLow, int region)
+ * 地区    regionCount × (unsigned short length, UTF-8 bytes)
+ * </pre>
+ * 可用 main 方法将 CSV（每行 {@code 起始IP,结束IP,地区}）转换为数据文件。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public final class IpRegionTable {
+
+    private static final int MAGIC = 0x49505247;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 20;
+
+    private static final int IPV4_RECORD_BYTES = 12;
+
+    private static final int IPV6_RECORD_BYTES = 36;
+
+    /**
+     * IPv6 解析失败时的返回值：ffff:ffff:ffff:ffff::/64 属于组播地址，不会出现在地区数据中
+     */
+    private static final long INVALID = -1L;
+
+    private final ByteBuffer buffer;
+    private final int ipv4Count;
+    private final int ipv6Count;
+    private final int ipv6Offset;
+    private final String[] regions;
+
+    private IpRegionTable(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("IP 地区数据文件格式错误");
+        }
+        this.buffer = buffer;
+        this.ipv4Count = buffer.getInt(8);
+        this.ipv6Count = buffer.getInt(12);
+        int regionCount = buffer.getInt(16);
+        long regionsOffset = HEADER_BYTES + (long) ipv4Count * IPV4_RECORD_BYTES + (long) ipv6Count * IPV6_RECORD_BYTES;
+        if (ipv4Count < 0 || ipv6Count < 0 || regionCount < 0 || regionsOffset > buffer.capacity()) {
+            throw new IllegalArgumentException("IP 地区数据文件已损坏：地址段数量超出文件长度");
+        }
+        this.ipv6Offset = HEADER_BYTES + ipv4Count * IPV4_RECORD_BYTES;
+
+        this.regions = new String[regionCount];
+        int position = (int) regionsOffset;
+        for (int i = 0; i < regionCount; i++) {
+            if (position + 2 > buffer.capacity()) {
+                throw new IllegalArgumentException("IP 地区数据文件已损坏：地区名称不完整");
+            }
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            if (position + 2 + length > buffer.capacity()) {
+                throw new IllegalArgumentException("IP 地区数据文件已损坏：地区名称不完整");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position + 2, bytes);
+            regions[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + length;
+        }
+
+        // 地区下标在查询时直接取用，加载时逐条校验，损坏的文件不替换正在使用的查询表
+        for (int i = 0; i < ipv4Count; i++) {
+            this.checkRegionIndex(HEADER_BYTES + i * IPV4_RECORD_BYTES + 8);
+        }
+        for (int i = 0; i < ipv6Count; i++) {
+            this.checkRegionIndex(ipv6Offset + i * IPV6_RECORD_BYTES + 32);
+        }
+    }
+
+    private void checkRegionIndex(int position) {
+        int index = buffer.getInt(position);
+        if (index < 0 || index >= regions.length) {
+            throw new IllegalArgumentException("IP 地区数据文件已损坏：地区下标越界 " + index);
+        }
+    }
+
+    /**
+     * 以只读方式内存映射数据文件
+     *
+     * @param file 数据文件
+     * @return 查询表
+     * @throws IOException 读取失败
+     */
+    public static IpRegionTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 映射建立后即可关闭通道，映射区在查询表被回收前一直有效
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new IpRegionTable(buffer);
+        }
+    }
+
+    /**
+     * 查询 IP 所属地区
+     *
+     * @param ip IPv4 或 IPv6 地址文本
+     * @return 地区；地址无效或不在任何地址段内返回 null
+     */
+    public String lookup(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return null;
+        }
+        if (ip.indexOf(':') < 0) {
+            long address = parseIpv4(ip, 0, ip.length());
+            return address < 0 ? null : this.lookupIpv4((int) address);
+        }
+        long high = parseIpv6(ip, true);
+        if (high == INVALID) {
+            return null;
+        }
+        return this.lookupIpv6(high, parseIpv6(ip, false));
+    }
+
+    /**
+     * 地址段数量
+     *
+     * @return IPv4 与 IPv6 地址段总数
+     */
+    public int size() {
+        return ipv4Count + ipv6Count;
+    }
+
+    /* -------------------- 查找 -------------------- */
+
+    private String lookupIpv4(int address) {
+        // 找最后一个起始地址不大于 address 的地址段
+        int low = 0;
+        int high = ipv4Count - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Integer.compareUnsigned(buffer.getInt(HEADER_BYTES + mid * IPV4_RECORD_BYTES), address) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return null;
+        }
+        int record = HEADER_BYTES + found * IPV4_RECORD_BYTES;
+        return Integer.compareUnsigned(address, buffer.getInt(record + 4)) <= 0
+                ? this.region(buffer.getInt(record + 8)) : null;
+    }
+
+    private String lookupIpv6(long addressHigh, long addressLow) {
+        int low = 0;
+        int high = ipv6Count - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = ipv6Offset + mid * IPV6_RECORD_BYTES;
+            if (compare(buffer.getLong(record), buffer.getLong(record + 8), addressHigh, addressLow) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return null;
+        }
+        int record = ipv6Offset + found * IPV6_RECORD_BYTES;
+        return compare(addressHigh, addressLow, buffer.getLong(record + 16), buffer.getLong(record + 24)) <= 0
+                ? this.region(buffer.getInt(record + 32)) : null;
+    }
+
+    /**
+     * 按下标取地区，下标越界返回 null（加载时已校验，这里仅作兜底）
+     */
+    private String region(int index) {
+        return index >= 0 && index < regions.length ? regions[index] : null;
+    }
+
+    private static int compare(long high1, long low1, long high2, long low2) {
+        int result = Long.compareUnsigned(high1, high2);
+        return result != 0 ? result : Long.compareUnsigned(low1, low2);
+    }
+
+    /* -------------------- 无分配的地址解析 -------------------- */
+
+    /**
+     * 解析点分十进制 IPv4
+     *
+     * @return 无符号 32 位地址；无效返回 -1
+     */
+    private static long parseIpv4(String ip, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int value = -1;
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? ip.charAt(i) : '.';
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && value >= 0 && octets < 4) {
+                address = (address << 8) | value;
+                octets++;
+                value = -1;
+            } else {
+                return -1;
+            }
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    /**
+     * 解析 IPv6（支持 "::" 缩写、末尾内嵌 IPv4 与 "%" 区域标识），返回高或低 64 位
+     * 为避免分配，高低两半分别解析一次。
+     *
+     * @return 高 64 位或低 64 位；无效时高位返回 {@link #INVALID}
+     */
+    private static long parseIpv6(String ip, boolean wantHigh) {
+        int end = ip.indexOf('%');
+        if (end < 0) {
+            end = ip.length();
+        }
+        // head：'::' 之前的分组；tail：'::' 之后的分组
+        long headHigh = 0, headLow = 0, tailHigh = 0, tailLow = 0;
+        int headGroups = 0, tailGroups = 0;
+        boolean compressed = false;
+        int i = 0;
+        if (end >= 2 && ip.charAt(0) == ':' && ip.charAt(1) == ':') {
+            compressed = true;
+            i = 2;
+        }
+        while (i < end) {
+            int groupEnd = i;
+            int group = 0;
+            while (groupEnd < end && ip.charAt(groupEnd) != ':' && ip.charAt(groupEnd) != '.') {
+                int digit = Character.digit(ip.charAt(groupEnd), 16);
+                if (digit < 0 || groupEnd - i >= 4) {
+                    return INVALID;
+                }
+                group = (group << 4) | digit;
+                groupEnd++;
+            }
+            int groups;
+            long value;
+            if (groupEnd < end && ip.charAt(groupEnd) == '.') {
+                // 末尾内嵌 IPv4，占两个分组
+                long ipv4 = parseIpv4(ip, i, end);
+                if (ipv4 < 0) {
+                    return INVALID;
+                }
+                groups = 2;
+                value = ipv4;
+                groupEnd = end;
+            } else if (groupEnd == i) {
+                return INVALID;
+            } else {
+                groups = 1;
+                value = group;
+            }
+            if (compressed) {
+                tailHigh = (tailHigh << (16 * groups)) | (tailLow >>> (64 - 16 * groups));
+                tailLow = (tailLow << (16 * groups)) | value;
+                tailGroups += groups;
+            } else {
+                headHigh = (headHigh << (16 * groups)) | (headLow >>> (64 - 16 * groups));
+                headLow = (headLow << (16 * groups)) | value;
+                headGroups += groups;
+            }
+            if (headGroups + tailGroups > 8) {
+                return INVALID;
+            }
+            i = groupEnd;
+            if (i < end) {
+                // 跳过 ':'，遇到 '::' 时进入 tail
+                i++;
+                if (i < end && ip.charAt(i) == ':') {
+                    if (compressed) {
+                        return INVALID;
+                    }
+                    compressed = true;
+                    i++;
+                } else if (i == end) {
+                    return INVALID;
+                }
+            }
+        }
+        if ((!compressed && headGroups != 8) || (compressed && headGroups + tailGroups == 8)) {
+            return INVALID;
+        }
+        // head 左移到高位，tail 保持在低位
+        for (int shift = headGroups; shift < 8; shift++) {
+            headHigh = (headHigh << 16) | (headLow >>> 48);
+            headLow <<= 16;
+        }
+        return wantHigh ? headHigh | tailHigh : headLow | tailLow;
+    }
+
+    /* -------------------- 生成数据文件 -------------------- */
+
+    /**
+     * 地址段
+     *
+     * @param startIp 起始地址（含）
+     * @param endIp   结束地址（含）
+     * @param region  地区
+     */
+    public record Range(String startIp, String endIp, String region) {
+    }
+
+    /**
+     * 生成数据文件：地址段按起始地址排序，地区名称去重
+     * 为便于热更新，建议先写入临时文件再重命名覆盖正在使用的文件。
+     *
+     * @param ranges 地址段
+     * @param out    输出流
+     * @throws IOException 写出失败
+     */
+    public static void write(List<Range> ranges, OutputStream out) throws IOException {
+        Map<String, Integer> regionIndex = new LinkedHashMap<>();
+        List<EncodedRange> ipv4 = new ArrayList<>();
+        List<EncodedRange> ipv6 = new ArrayList<>();
+        for (Range range : ranges) {
+            byte[] start = toBytes(range.startIp());
+            byte[] end = toBytes(range.endIp());
+            if (start.length != end.length || Arrays.compareUnsigned(start, end) > 0) {
+                throw new IllegalArgumentException("无效的地址段: " + range);
+            }
+            int region = regionIndex.computeIfAbsent(range.region(), key -> regionIndex.size());
+            (start.length == 4 ? ipv4 : ipv6).add(new EncodedRange(start, end, region));
+        }
+        Comparator<EncodedRange> byStart = (a, b) -> Arrays.compareUnsigned(a.start(), b.start());
+        ipv4.sort(byStart);
+        ipv6.sort(byStart);
+        checkNotOverlapping(ipv4);
+        checkNotOverlapping(ipv6);
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(ipv4.size());
+        data.writeInt(ipv6.size());
+        data.writeInt(regionIndex.size());
+        for (EncodedRange range : ipv4) {
+            range.writeTo(data);
+        }
+        for (EncodedRange range : ipv6) {
+            range.writeTo(data);
+        }
+        for (String region : regionIndex.keySet()) {
+            byte[] bytes = region.getBytes(StandardCharsets.UTF_8);
+            data.writeShort(bytes.length);
+            data.write(bytes);
+        }
+        data.flush();
+    }
+
+    /**
+     * 查找时只检查起始地址不大于目标的最后一个地址段，地址段不能重叠
+     */
+    private static void checkNotOverlapping(List<EncodedRange> sorted) {
+        for (int i = 1; i < sorted.size(); i++) {
+            if (Arrays.compareUnsigned(sorted.get(i).start(), sorted.get(i - 1).end()) <= 0) {
+                throw new IllegalArgumentException("地址段重叠，第 " + i + " 个地址段（按起始地址排序）");
+            }
+        }
+    }
+
+    private record EncodedRange(byte[] start, byte[] end, int region) {
+
+        void writeTo(DataOutputStream data) throws IOException {
+            data.write(start);
+            data.write(end);
+            data.writeInt(region);
+        }
+    }
+
+    /**
+     * IPv4 映射的 IPv6 地址（::ffff:a.b.c.d）会被 InetAddress 还原为 IPv4，统一按 16 字节写入 IPv6 段
+     */
+    private static byte[] toBytes(String ip) {
+        try {
+            InetAddress address = InetAddress.getByName(ip.trim());
+            byte[] bytes = address.getAddress();
+            if (address instanceof Inet4Address && ip.indexOf(':') >= 0) {
+                byte[] mapped = new byte[16];
+                mapped[10] = (byte) 0xff;
+                mapped[11] = (byte) 0xff;
+                System.arraycopy(bytes, 0, mapped, 12, 4);
+                return mapped;
+            }
+            return bytes;
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("无效的 IP 地址: " + ip, e);
+        }
+    }
+
+    /**
+     * 将 CSV（每行 {@code 起始IP,结束IP,地区}，# 开头为注释）转换为数据文件
+     *
+     * @param args {CSV 文件, 输出文件}
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("用法: IpRegionTable <ranges.csv> <ip-region.dat>");
+            return;
+        }
+        List<Range> ranges = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",", 3);
+            ranges.add(new Range(parts[0].trim(), parts[1].trim(), parts[2].trim()));
+        }
+        Path target = Path.of(args[1]);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            write(ranges, out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        System.out.printf("已写入 %d 个地址段: %s%n", ranges.size(), target);
+    }
+}
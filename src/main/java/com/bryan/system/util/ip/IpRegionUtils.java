@@ -0,0 +1,106 @@
+package com.bryan.system.util.ip;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * IP 地区查询工具类
+ * <p>
+ * 启动时内存映射本地 IP 地区数据文件（格式见 {@link IpRegionTable}），查询无需网络。
+ * 定时检查数据文件的修改时间与大小，变化后重新映射并原子替换查询表，实现热更新；
+ * 替换数据文件时应先写临时文件再重命名覆盖，避免映射到写了一半的文件。
+ * 数据文件不存在时所有查询返回 null。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+public class IpRegionUtils {
+
+    private static volatile IpRegionTable table;
+
+    @Value("${ip-region.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ip-region.data-file:./data/ip-region.dat}")
+    private String dataFile;
+
+    /**
+     * 当前查询表对应的文件修改时间与大小
+     */
+    private long loadedModifiedAt = -1;
+    private long loadedSize = -1;
+
+    /**
+     * 串行化重新加载；加载过程包含文件 I/O，使用 ReentrantLock 避免虚拟线程固定载体线程
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    /**
+     * 查询 IP 所属地区
+     *
+     * @param ip IPv4 或 IPv6 地址文本
+     * @return 地区；未加载数据文件、地址无效或未收录返回 null
+     */
+    public static String lookup(String ip) {
+        IpRegionTable current = table;
+        return current == null ? null : current.lookup(ip);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (!Files.exists(Paths.get(dataFile))) {
+            log.info("IP 地区数据文件不存在，地区查询已停用：{}", Paths.get(dataFile).toAbsolutePath());
+            return;
+        }
+        this.reload();
+    }
+
+    /**
+     * 检查数据文件是否变化，变化则重新加载
+     */
+    @Scheduled(initialDelayString = "${ip-region.reload-check-ms:60000}",
+            fixedDelayString = "${ip-region.reload-check-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(dataFile);
+        reloadLock.lock();
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long modifiedAt = attributes.lastModifiedTime().toMillis();
+            if (modifiedAt == loadedModifiedAt && attributes.size() == loadedSize) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            IpRegionTable loaded = IpRegionTable.open(path);
+            table = loaded;
+            loadedModifiedAt = modifiedAt;
+            loadedSize = attributes.size();
+            log.info("IP 地区数据已加载：{} 个地址段，耗时 {} ms", loaded.size(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            // 加载失败时继续使用原查询表
+            log.warn("IP 地区数据加载失败：{}", e.getMessage());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bryan.system.util.jwt;
 
 import com.bryan.system.config.properties.JwtProperties;
+import com.bryan.system.domain.dto.AuthSessionDTO;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
  * 2. 解析 Token 时验证签名和有效期。
  * 3. 该类从配置文件中读取 JWT 配置信息。
  * 4. 密钥、过期时间等配置通过 JwtProperties 注入。
+ * 5. 获取当前用户信息时优先读取认证过滤器存入请求属性的会话，兼容不透明 Token 且无需重复验签。
  * </p>
  *
  * @author Bryan Long
@@ -31,6 +33,11 @@ import java.util.stream.Collectors;
 @Component
 public class JwtUtils {
 
+    /**
+     * 当前请求会话（{@link AuthSessionDTO}）的请求属性名
+     */
+    public static final String SESSION_ATTRIBUTE = JwtUtils.class.getName() + ".SESSION";
+
     private static JwtProperties jwtProperties;
 
     @Autowired
@@ -107,6 +114,10 @@ public class JwtUtils {
         // 1. 获取当前请求的 ServletRequestAttributes
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
         HttpServletRequest request = attributes.getRequest();
+        AuthSessionDTO session = getCurrentSession(request);
+        if (session != null) {
+            return session.getUserId();
+        }
 
         // 2. 从请求头获取 Authorization 字段
         String token = request.getHeader("Authorization");
@@ -142,6 +153,10 @@ public class JwtUtils {
         // 1. 获取当前请求的 ServletRequestAttributes
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
         HttpServletRequest request = attributes.getRequest();
+        AuthSessionDTO session = getCurrentSession(request);
+        if (session != null) {
+            return session.getUsername();
+        }
 
         // 2. 从请求头获取 Authorization 字段
         String token = request.getHeader("Authorization");
@@ -176,6 +191,10 @@ public class JwtUtils {
         // 1. 获取当前请求的 ServletRequestAttributes
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
         HttpServletRequest request = attributes.getRequest();
+        AuthSessionDTO session = getCurrentSession(request);
+        if (session != null) {
+            return toRoleList(session.getRoles());
+        }
 
         // 2. 从请求头获取 Authorization 字段
         String token = request.getHeader("Authorization");
@@ -200,6 +219,17 @@ public class JwtUtils {
         throw new RuntimeException("请求头中缺少 Authorization Token 或格式不正确。");
     }
 
+    /**
+     * 获取当前请求所在的会话 ID。
+     *
+     * @return 会话 ID；请求未经过认证过滤器时返回 null
+     */
+    public static String getCurrentSessionId() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
+        AuthSessionDTO session = getCurrentSession(attributes.getRequest());
+        return session == null ? null : session.getSessionId();
+    }
+
     /**
      * 解析给定 Token 并返回其中的用户 ID (subject)。
      *
@@ -243,6 +273,42 @@ public class JwtUtils {
         return getRolesFromClaims(claims);
     }
 
+    /**
+     * 解析 Token 并构建会话信息（只验签一次）。
+     *
+     * @param token JWT 字符串
+     * @return 会话信息
+     * @throws RuntimeException 解析失败时抛出
+     */
+    public static AuthSessionDTO getSessionFromToken(String token) {
+        Claims claims = getClaimsFromToken(token);
+        Object roles = claims.get("roles");
+        Date issuedAt = claims.getIssuedAt();
+        return AuthSessionDTO.builder()
+                .userId(Long.parseLong(claims.getSubject()))
+                .username((String) claims.get("username"))
+                .sessionId((String) claims.get("sid"))
+                .roles(roles == null ? null : roles.toString())
+                .issuedAt(issuedAt == null ? null : issuedAt.getTime())
+                .build();
+    }
+
+    /**
+     * 将逗号分隔的角色字符串转换为角色列表。
+     *
+     * @param roles 逗号分隔的角色
+     * @return 角色字符串列表（确保带 "ROLE_" 前缀）
+     */
+    public static List<String> toRoleList(String roles) {
+        if (roles != null && !roles.isEmpty()) {
+            return Arrays.stream(roles.split(","))
+                    .map(String::trim)
+                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
+                    .collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * 验证 Token 是否有效（格式正确且签名合法且未过期）。
      *
@@ -287,13 +353,17 @@ public class JwtUtils {
      * @return List<String> 用户角色列表
      */
     private static List<String> getRolesFromClaims(Claims claims) {
-        String rolesString = claims.get("roles").toString();
-        if (rolesString != null && !rolesString.isEmpty()) {
-            return Arrays.stream(rolesString.split(","))
-                    .map(String::trim)
-                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                    .collect(Collectors.toList());
-        }
-        return Collections.emptyList();
+        return toRoleList(claims.get("roles").toString());
+    }
+
+    /**
+     * 获取认证过滤器存入请求属性的当前会话。
+     *
+     * @param request 当前请求
+     * @return 当前会话，未经过滤器认证时返回 null
+     */
+    private static AuthSessionDTO getCurrentSession(HttpServletRequest request) {
+        Object session = request.getAttribute(SESSION_ATTRIBUTE);
+        return session instanceof AuthSessionDTO authSession ? authSession : null;
     }
 }
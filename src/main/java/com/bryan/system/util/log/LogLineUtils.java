@@ -0,0 +1,164 @@
+package com.bryan.system.util.log;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * 日志行解析工具类
+ * 按 Spring Boot 默认文件日志格式（ISO 时间戳 + 级别 + PID + 线程 + Logger）解析单行日志，
+ * 全部基于下标扫描，不使用正则，适合在大文件扫描路径上逐行调用。
+ *
+ * @author Bryan Long
+ */
+public class LogLineUtils {
+
+    /**
+     * 时间戳前缀长度：yyyy-MM-ddTHH:mm:ss.SSS
+     */
+    public static final int TIMESTAMP_LENGTH = 23;
+
+    /**
+     * 时间戳比较键格式，与日志前缀按字典序可直接比较
+     */
+    private static final DateTimeFormatter KEY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    private static final Set<String> LEVELS = Set.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
+    /**
+     * 这个类不能实例化
+     */
+    private LogLineUtils() {
+    }
+
+    /**
+     * 提取行首时间戳作为比较键
+     * 日期与时间之间的分隔符统一为 'T'，以便与 {@link #toTimestampKey(LocalDateTime)} 的结果按字典序比较。
+     *
+     * @param line 日志行
+     * @return 时间戳键；非时间戳开头的行（如异常堆栈）返回 null
+     */
+    public static String extractTimestamp(String line) {
+        if (line == null || line.length() < TIMESTAMP_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < TIMESTAMP_LENGTH; i++) {
+            char c = line.charAt(i);
+            boolean ok = switch (i) {
+                case 4, 7 -> c == '-';
+                case 10 -> c == 'T' || c == ' ';
+                case 13, 16 -> c == ':';
+                case 19 -> c == '.' || c == ',';
+                default -> c >= '0' && c <= '9';
+            };
+            if (!ok) {
+                return null;
+            }
+        }
+        String key = line.substring(0, TIMESTAMP_LENGTH);
+        if (key.charAt(10) != 'T' || key.charAt(19) != '.') {
+            char[] chars = key.toCharArray();
+            chars[10] = 'T';
+            chars[19] = '.';
+            key = new String(chars);
+        }
+        return key;
+    }
+
+    /**
+     * 提取时间戳后的日志级别
+     *
+     * @param line 日志行
+     * @return 级别（TRACE/DEBUG/INFO/WARN/ERROR）；无法识别返回 null
+     */
+    public static String extractLevel(String line) {
+        if (extractTimestamp(line) == null) {
+            return null;
+        }
+        int i = TIMESTAMP_LENGTH;
+        int len = line.length();
+        // 跳过时区偏移
+        while (i < len && line.charAt(i) != ' ') {
+            i++;
+        }
+        while (i < len && line.charAt(i) == ' ') {
+            i++;
+        }
+        int start = i;
+        while (i < len && line.charAt(i) != ' ') {
+            i++;
+        }
+        String level = line.substring(start, i);
+        return LEVELS.contains(level) ? level : null;
+    }
+
+    /**
+     * 提取 Logger 名称（" --- [线程] logger : 消息" 中的 logger）
+     *
+     * @param line 日志行
+     * @return Logger 名称；无法识别返回 null
+     */
+    public static String extractLogger(String line) {
+        if (extractTimestamp(line) == null) {
+            return null;
+        }
+        int marker = line.indexOf(" --- ", TIMESTAMP_LENGTH);
+        if (marker < 0) {
+            return null;
+        }
+        int colon = line.indexOf(" : ", marker);
+        if (colon < 0) {
+            return null;
+        }
+        int end = colon;
+        while (end > marker && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int start = end;
+        while (start > marker && line.charAt(start - 1) != ' ' && line.charAt(start - 1) != ']') {
+            start--;
+        }
+        return start < end ? line.substring(start, end) : null;
+    }
+
+    /**
+     * 提取异常堆栈首行中的异常类名
+     * 识别 "x.y.SomeException: msg" 与 "Caused by: x.y.SomeError" 两种形式。
+     *
+     * @param line 日志行（通常为时间戳行之后的续行）
+     * @return 异常全限定类名；不是异常首行返回 null
+     */
+    public static String extractExceptionClass(String line) {
+        if (line == null || line.isEmpty()) {
+            return null;
+        }
+        int start = line.startsWith("Caused by: ") ? "Caused by: ".length() : 0;
+        int i = start;
+        int len = line.length();
+        boolean dotted = false;
+        while (i < len) {
+            char c = line.charAt(i);
+            if (c == '.') {
+                dotted = true;
+            } else if (!Character.isJavaIdentifierPart(c)) {
+                break;
+            }
+            i++;
+        }
+        if (!dotted || i == start || (i < len && line.charAt(i) != ':')) {
+            return null;
+        }
+        String name = line.substring(start, i);
+        return name.endsWith("Exception") || name.endsWith("Error") ? name : null;
+    }
+
+    /**
+     * 将时间转换为时间戳比较键
+     *
+     * @param time 时间
+     * @return 比较键
+     */
+    public static String toTimestampKey(LocalDateTime time) {
+        return KEY_FORMATTER.format(time);
+    }
+}
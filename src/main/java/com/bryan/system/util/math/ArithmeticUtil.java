@@ -5,6 +5,16 @@ import java.math.RoundingMode;
 
 /**
  * Arithmetic 精确的浮点数运算
+ * <p>
+ * 运算语义：参数按 {@link Double#toString(double)} 的十进制文本取值，以十进制精确运算，
+ * 四舍五入采用 HALF_UP，结果再转换为最接近的 double。
+ * </p>
+ * <p>
+ * add / sub / mul / div / round 优先走不分配对象的快速路径：参数的十进制文本不超过 17 位有效数字、
+ * 中间结果不超过 2^53 时，以 long 缩放整数完成运算；round 对无法精确分解的参数（如比例计算结果）
+ * 另以舍入点距离判断，离 .5 足够远时直接确定结果。超出范围时回退到 BigDecimal 实现，结果与之完全一致。
+ * 需要任意精度结果的调用方使用返回 BigDecimal 的 *Precise 方法。
+ * </p>
  *
  * @author Bryan Long
  */
@@ -14,6 +24,46 @@ public class ArithmeticUtil {
      */
     private static final int DEF_DIV_SCALE = 10;
 
+    /**
+     * 快速路径中整数的上限（不含），小于该值的 long 可精确表示为 double
+     */
+    private static final long FAST_LIMIT = 1L << 53;
+
+    /**
+     * 十进制分解的最大小数位数
+     */
+    private static final int MAX_DECIMAL_DIGITS = 17;
+
+    /**
+     * 十进制分解结果中小数位数所占的低位
+     */
+    private static final int DIGITS_BITS = 5;
+    private static final long DIGITS_MASK = (1L << DIGITS_BITS) - 1;
+
+    /**
+     * 无法分解为快速路径可用的十进制数
+     */
+    private static final long NOT_DECIMAL = -1;
+
+    /**
+     * 10 的幂：double 中 10^0 ~ 10^22 可精确表示；long 中 10^0 ~ 10^18
+     */
+    private static final double[] POW10 = new double[23];
+    private static final long[] LONG_POW10 = new long[19];
+
+    static {
+        double pow = 1;
+        for (int i = 0; i < POW10.length; i++) {
+            POW10[i] = pow;
+            pow *= 10;
+        }
+        long longPow = 1;
+        for (int i = 0; i < LONG_POW10.length; i++) {
+            LONG_POW10[i] = longPow;
+            longPow *= 10;
+        }
+    }
+
     /**
      * 这个类不能实例化
      */
@@ -28,9 +78,8 @@ public class ArithmeticUtil {
      * @return 两个参数的和
      */
     public static double add(double v1, double v2) {
-        BigDecimal b1 = new BigDecimal(Double.toString(v1));
-        BigDecimal b2 = new BigDecimal(Double.toString(v2));
-        return b1.add(b2).doubleValue();
+        double sum = sumFast(v1, v2);
+        return Double.isNaN(sum) ? addPrecise(v1, v2).doubleValue() : sum;
     }
 
     /**
@@ -41,9 +90,8 @@ public class ArithmeticUtil {
      * @return 两个参数的差
      */
     public static double sub(double v1, double v2) {
-        BigDecimal b1 = new BigDecimal(Double.toString(v1));
-        BigDecimal b2 = new BigDecimal(Double.toString(v2));
-        return b1.subtract(b2).doubleValue();
+        double difference = sumFast(v1, -v2);
+        return Double.isNaN(difference) ? subPrecise(v1, v2).doubleValue() : difference;
     }
 
     /**
@@ -54,9 +102,18 @@ public class ArithmeticUtil {
      * @return 两个参数的积
      */
     public static double mul(double v1, double v2) {
-        BigDecimal b1 = new BigDecimal(Double.toString(v1));
-        BigDecimal b2 = new BigDecimal(Double.toString(v2));
-        return b1.multiply(b2).doubleValue();
+        long d1 = decimalOf(v1);
+        long d2 = decimalOf(v2);
+        if (d1 != NOT_DECIMAL && d2 != NOT_DECIMAL) {
+            long m1 = d1 >>> DIGITS_BITS;
+            long m2 = d2 >>> DIGITS_BITS;
+            int digits = (int) (d1 & DIGITS_MASK) + (int) (d2 & DIGITS_MASK);
+            long product = m1 * m2;
+            if (digits < POW10.length && Math.multiplyHigh(m1, m2) == 0 && product >= 0 && product < FAST_LIMIT) {
+                return signed(product / POW10[digits], (v1 < 0) != (v2 < 0));
+            }
+        }
+        return mulPrecise(v1, v2).doubleValue();
     }
 
     /**
@@ -81,6 +138,123 @@ public class ArithmeticUtil {
      * @return 两个参数的商
      */
     public static double div(double v1, double v2, int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException(
+                    "The scale must be a positive integer or zero");
+        }
+        long d1 = decimalOf(v1);
+        long d2 = decimalOf(v2);
+        if (d1 != NOT_DECIMAL && d2 != NOT_DECIMAL && d2 >>> DIGITS_BITS != 0) {
+            if (v1 == 0) {
+                return 0;
+            }
+            // v1 / v2 * 10^scale = m1 * 10^(k2 + scale) / (m2 * 10^k1)
+            long m1 = d1 >>> DIGITS_BITS;
+            long m2 = d2 >>> DIGITS_BITS;
+            int numeratorDigits = (int) (d2 & DIGITS_MASK) + scale;
+            int denominatorDigits = (int) (d1 & DIGITS_MASK);
+            if (numeratorDigits < LONG_POW10.length
+                    && m1 <= Long.MAX_VALUE / LONG_POW10[numeratorDigits]
+                    && m2 <= Long.MAX_VALUE / LONG_POW10[denominatorDigits]) {
+                long numerator = m1 * LONG_POW10[numeratorDigits];
+                long denominator = m2 * LONG_POW10[denominatorDigits];
+                long quotient = roundHalfUp(numerator, denominator);
+                if (quotient < FAST_LIMIT) {
+                    return signed(quotient / POW10[scale], (v1 < 0) != (v2 < 0));
+                }
+            }
+        }
+        return divPrecise(v1, v2, scale).doubleValue();
+    }
+
+    /**
+     * 提供精确的小数位四舍五入处理。
+     *
+     * @param v     需要四舍五入的数字
+     * @param scale 小数点后保留几位
+     * @return 四舍五入后的结果
+     */
+    public static double round(double v, int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException(
+                    "The scale must be a positive integer or zero");
+        }
+        if (scale < POW10.length) {
+            double scaled = Math.abs(v) * POW10[scale];
+            if (scaled < FAST_LIMIT >> 1) {
+                // 十进制文本与 v 的差、乘法舍入误差合计不超过 1.5 ulp，离 .5 更远时舍入方向确定；
+                // 靠近整数时两侧舍入到同一整数，无需特殊处理
+                double floor = Math.floor(scaled);
+                double fraction = scaled - floor;
+                if (Math.abs(fraction - 0.5) > 4 * Math.ulp(scaled)) {
+                    double rounded = fraction > 0.5 ? floor + 1 : floor;
+                    return signed(rounded / POW10[scale], v < 0);
+                }
+            }
+        }
+        // 靠近 .5 时按十进制文本精确判断（如 2.345 → 2.35）
+        long d = decimalOf(v);
+        if (d != NOT_DECIMAL) {
+            int digits = (int) (d & DIGITS_MASK);
+            if (digits <= scale) {
+                return signed(Math.abs(v), v < 0);
+            }
+            long rounded = roundHalfUp(d >>> DIGITS_BITS, LONG_POW10[digits - scale]);
+            return signed(rounded / POW10[scale], v < 0);
+        }
+        return roundPrecise(v, scale).doubleValue();
+    }
+
+    /* -------------------- BigDecimal 实现 -------------------- */
+
+    /**
+     * 加法，返回精确结果
+     *
+     * @param v1 被加数
+     * @param v2 加数
+     * @return 两个参数的和
+     */
+    public static BigDecimal addPrecise(double v1, double v2) {
+        BigDecimal b1 = new BigDecimal(Double.toString(v1));
+        BigDecimal b2 = new BigDecimal(Double.toString(v2));
+        return b1.add(b2);
+    }
+
+    /**
+     * 减法，返回精确结果
+     *
+     * @param v1 被减数
+     * @param v2 减数
+     * @return 两个参数的差
+     */
+    public static BigDecimal subPrecise(double v1, double v2) {
+        BigDecimal b1 = new BigDecimal(Double.toString(v1));
+        BigDecimal b2 = new BigDecimal(Double.toString(v2));
+        return b1.subtract(b2);
+    }
+
+    /**
+     * 乘法，返回精确结果
+     *
+     * @param v1 被乘数
+     * @param v2 乘数
+     * @return 两个参数的积
+     */
+    public static BigDecimal mulPrecise(double v1, double v2) {
+        BigDecimal b1 = new BigDecimal(Double.toString(v1));
+        BigDecimal b2 = new BigDecimal(Double.toString(v2));
+        return b1.multiply(b2);
+    }
+
+    /**
+     * 除法，按 scale 位小数四舍五入
+     *
+     * @param v1    被除数
+     * @param v2    除数
+     * @param scale 小数点后保留几位
+     * @return 两个参数的商
+     */
+    public static BigDecimal divPrecise(double v1, double v2, int scale) {
         if (scale < 0) {
             throw new IllegalArgumentException(
                     "The scale must be a positive integer or zero");
@@ -88,25 +262,96 @@ public class ArithmeticUtil {
         BigDecimal b1 = new BigDecimal(Double.toString(v1));
         BigDecimal b2 = new BigDecimal(Double.toString(v2));
         if (b1.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO.doubleValue();
+            return BigDecimal.ZERO;
         }
-        return b1.divide(b2, scale, RoundingMode.HALF_UP).doubleValue();
+        return b1.divide(b2, scale, RoundingMode.HALF_UP);
     }
 
     /**
-     * 提供精确的小数位四舍五入处理。
+     * 小数位四舍五入
      *
      * @param v     需要四舍五入的数字
      * @param scale 小数点后保留几位
      * @return 四舍五入后的结果
      */
-    public static double round(double v, int scale) {
+    public static BigDecimal roundPrecise(double v, int scale) {
         if (scale < 0) {
             throw new IllegalArgumentException(
                     "The scale must be a positive integer or zero");
         }
         BigDecimal b = new BigDecimal(Double.toString(v));
-        return b.divide(BigDecimal.ONE, scale, RoundingMode.HALF_UP).doubleValue();
+        return b.divide(BigDecimal.ONE, scale, RoundingMode.HALF_UP);
+    }
+
+    /* -------------------- 快速路径工具方法 -------------------- */
+
+    /**
+     * 快速路径加法
+     *
+     * @return 和；超出快速路径范围时返回 NaN
+     */
+    private static double sumFast(double v1, double v2) {
+        long d1 = decimalOf(v1);
+        long d2 = decimalOf(v2);
+        if (d1 == NOT_DECIMAL || d2 == NOT_DECIMAL) {
+            return Double.NaN;
+        }
+        int k1 = (int) (d1 & DIGITS_MASK);
+        int k2 = (int) (d2 & DIGITS_MASK);
+        int digits = Math.max(k1, k2);
+        long m1 = d1 >>> DIGITS_BITS;
+        long m2 = d2 >>> DIGITS_BITS;
+        // 对齐小数位后两数均小于 2^53 时和不会溢出
+        if (m1 >= FAST_LIMIT / LONG_POW10[digits - k1] || m2 >= FAST_LIMIT / LONG_POW10[digits - k2]) {
+            return Double.NaN;
+        }
+        m1 *= LONG_POW10[digits - k1];
+        m2 *= LONG_POW10[digits - k2];
+        long sum = (v1 < 0 ? -m1 : m1) + (v2 < 0 ? -m2 : m2);
+        if (Math.abs(sum) >= FAST_LIMIT) {
+            return Double.NaN;
+        }
+        // 不产生 -0.0，与 BigDecimal 一致
+        return sum == 0 ? 0 : sum / POW10[digits];
+    }
+
+    /**
+     * 将 |v| 分解为 m × 10^-k，与 Double.toString(v) 的十进制取值相同
+     * 取能还原为 v 的最少小数位数，即 Double.toString 的最短表示。
+     *
+     * @return (m &lt;&lt; 5) | k；非有限值、m 不小于 2^53 或 k 超过 17 时返回 {@link #NOT_DECIMAL}
+     */
+    private static long decimalOf(double v) {
+        double abs = Math.abs(v);
+        if (!(abs < FAST_LIMIT)) {
+            return NOT_DECIMAL;
+        }
+        for (int digits = 0; digits <= MAX_DECIMAL_DIGITS; digits++) {
+            double scaled = abs * POW10[digits];
+            if (scaled >= FAST_LIMIT) {
+                return NOT_DECIMAL;
+            }
+            double m = Math.rint(scaled);
+            if (m / POW10[digits] == abs) {
+                return (long) m << DIGITS_BITS | digits;
+            }
+        }
+        return NOT_DECIMAL;
+    }
+
+    /**
+     * 非负整数除法，HALF_UP 舍入
+     */
+    private static long roundHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
     }
-}
 
+    /**
+     * 按符号返回结果；BigDecimal 没有负零，零总是返回 +0.0
+     */
+    private static double signed(double magnitude, boolean negative) {
+        return negative && magnitude != 0 ? -magnitude : magnitude;
+    }
+}
@@ -0,0 +1,322 @@
+package com.bryan.system.util.redis;
+
+import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.domain.entity.UserProfile;
+import com.bryan.system.domain.entity.UserRole;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis 值的紧凑二进制序列化器
+ * <p>
+ * 格式：{@code [魔数][版本][标志位][类型编号 varint]([类名])([原始长度 varint])[Smile 负载]}
+ * <ul>
+ *     <li>常用类型登记固定编号，值中不再携带完整类名；未登记类型编号为 0，后跟类名；</li>
+ *     <li>负载使用 Smile（二进制 JSON），重复出现的字段名以回引用编码；</li>
+ *     <li>负载达到压缩阈值且压缩后更小时使用 Deflate 压缩，并记录原始长度；</li>
+ *     <li>未知字段忽略、缺失字段取默认值，实体增删字段无需迁移缓存；</li>
+ *     <li>集合、Map 及未登记类型可能嵌套任意对象，负载按 {@link RedisSerializer#json()} 的方式为非 final
+ *     类型携带类名（标志位记录），重复的类名以回引用编码；字段均为具体类型的登记类型不携带。</li>
+ * </ul>
+ * 读取时首字节不是魔数的值按原 JSON 格式（{@link RedisSerializer#json()}）解析，
+ * 切换格式后无需清空 Redis，旧数据随过期或覆盖自然迁移；写入格式也可配置回 JSON 以便回滚。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 魔数：既不是合法的 JSON 首字节，也不是合法的 UTF-8 首字节
+     */
+    static final byte MAGIC = (byte) 0xC1;
+
+    static final byte VERSION = 1;
+
+    private static final int FLAG_DEFLATE = 1;
+
+    /**
+     * 负载携带嵌套对象的类型信息
+     */
+    private static final int FLAG_TYPED = 2;
+
+    private static final int CLASS_NAME_TYPE_ID = 0;
+
+    /**
+     * 解压后允许的最大长度，防止异常数据耗尽内存
+     */
+    private static final int MAX_INFLATED_BYTES = 64 * 1024 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 类型编号登记表：编号一经使用不可更改或复用，新增类型只能追加
+     */
+    private static final Map<Class<?>, Integer> TYPE_IDS = new HashMap<>();
+    private static final Map<Integer, Class<?>> TYPES = new HashMap<>();
+
+    static {
+        register(1, String.class);
+        register(2, Long.class);
+        register(3, Integer.class);
+        register(4, Boolean.class);
+        register(5, Double.class);
+        register(6, HashMap.class);
+        register(7, LinkedHashMap.class);
+        register(8, ArrayList.class);
+        register(16, SysUser.class);
+        register(17, UserProfile.class);
+        register(18, UserRole.class);
+    }
+
+    /**
+     * 字段均为具体类型、不会嵌套任意对象的类型，负载无需携带类型信息
+     */
+    private static final Set<Class<?>> FLAT_TYPES = Set.of(
+            String.class, Long.class, Integer.class, Boolean.class, Double.class,
+            SysUser.class, UserProfile.class, UserRole.class);
+
+    /**
+     * 写入格式
+     */
+    public enum Format {
+        /**
+         * 原 JSON 格式（带类名）
+         */
+        JSON,
+        /**
+         * 紧凑二进制格式
+         */
+        BINARY
+    }
+
+    private final Format writeFormat;
+    private final int compressThreshold;
+    private final ObjectMapper mapper;
+    private final ObjectMapper typedMapper;
+    private final RedisSerializer<Object> legacy = RedisSerializer.json();
+
+    /**
+     * @param writeFormat       写入格式，读取始终兼容两种格式
+     * @param compressThreshold 负载达到该字节数时尝试压缩，小于等于 0 不压缩
+     */
+    public CompactRedisSerializer(Format writeFormat, int compressThreshold) {
+        this.writeFormat = writeFormat;
+        this.compressThreshold = compressThreshold;
+        this.mapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        this.typedMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                        ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY)
+                .build();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        if (writeFormat == Format.JSON) {
+            return legacy.serialize(value);
+        }
+
+        boolean typed = !FLAT_TYPES.contains(value.getClass());
+        byte[] body;
+        try {
+            body = (typed ? typedMapper : mapper).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Redis 值序列化失败: " + value.getClass().getName(), e);
+        }
+
+        int flags = typed ? FLAG_TYPED : 0;
+        int rawLength = body.length;
+        if (compressThreshold > 0 && body.length >= compressThreshold) {
+            byte[] compressed = deflate(body);
+            if (compressed.length < body.length) {
+                body = compressed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 16);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(flags);
+        Integer typeId = TYPE_IDS.get(value.getClass());
+        if (typeId != null) {
+            writeVarInt(out, typeId);
+        } else {
+            writeVarInt(out, CLASS_NAME_TYPE_ID);
+            byte[] className = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, className.length);
+            out.write(className, 0, className.length);
+        }
+        if ((flags & FLAG_DEFLATE) != 0) {
+            writeVarInt(out, rawLength);
+        }
+        out.write(body, 0, body.length);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return legacy.deserialize(bytes);
+        }
+        if (bytes.length < 4) {
+            throw new SerializationException("Redis 值头部不完整");
+        }
+        if (bytes[1] != VERSION) {
+            throw new SerializationException("不支持的 Redis 值格式版本: " + bytes[1]);
+        }
+
+        int flags = bytes[2];
+        int[] position = {3};
+        Class<?> type = this.readType(bytes, position);
+        byte[] body;
+        int offset;
+        int length;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            int rawLength = readVarInt(bytes, position);
+            body = inflate(bytes, position[0], rawLength);
+            offset = 0;
+            length = body.length;
+        } else {
+            body = bytes;
+            offset = position[0];
+            length = bytes.length - offset;
+        }
+
+        try {
+            return ((flags & FLAG_TYPED) != 0 ? typedMapper : mapper).readValue(body, offset, length, type);
+        } catch (IOException e) {
+            throw new SerializationException("Redis 值反序列化失败: " + type.getName(), e);
+        }
+    }
+
+    /* -------------------- 私有工具方法 -------------------- */
+
+    private static void register(int id, Class<?> type) {
+        TYPE_IDS.put(type, id);
+        TYPES.put(id, type);
+    }
+
+    private Class<?> readType(byte[] bytes, int[] position) {
+        int typeId = readVarInt(bytes, position);
+        if (typeId != CLASS_NAME_TYPE_ID) {
+            Class<?> type = TYPES.get(typeId);
+            if (type == null) {
+                throw new SerializationException("未知的 Redis 值类型编号: " + typeId);
+            }
+            return type;
+        }
+        int nameLength = readVarInt(bytes, position);
+        if (nameLength < 0 || position[0] + nameLength > bytes.length) {
+            throw new SerializationException("Redis 值类名长度非法");
+        }
+        String className = new String(bytes, position[0], nameLength, StandardCharsets.UTF_8);
+        position[0] += nameLength;
+        try {
+            return Class.forName(className, false, CompactRedisSerializer.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new SerializationException("Redis 值类型不存在: " + className, e);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset, int rawLength) {
+        if (rawLength < 0 || rawLength > MAX_INFLATED_BYTES) {
+            throw new SerializationException("Redis 值解压长度非法: " + rawLength);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, input.length - offset);
+            byte[] output = new byte[rawLength];
+            int filled = 0;
+            while (filled < rawLength) {
+                int count = inflater.inflate(output, filled, rawLength - filled);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                filled += count;
+            }
+            if (filled != rawLength) {
+                throw new SerializationException("Redis 值解压长度不符");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Redis 值解压失败", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new SerializationException("Redis 值头部不完整");
+            }
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Redis 值头部 varint 过长");
+    }
+}
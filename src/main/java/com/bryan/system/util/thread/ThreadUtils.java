@@ -0,0 +1,48 @@
+package com.bryan.system.util.thread;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程工具类
+ * 统一创建后台任务线程：平台线程为守护线程，线程名为 前缀 + 序号；
+ * 虚拟线程模式（spring.threads.virtual.enabled=true 且运行于 Java 21 及以上）下可改用虚拟线程。
+ *
+ * @author Bryan Long
+ */
+public class ThreadUtils {
+
+    /**
+     * 虚拟线程模式是否生效
+     * 与 Spring Boot 为 Tomcat、定时任务切换虚拟线程的判断条件一致，Java 21 以下始终为 false。
+     *
+     * @param environment 应用环境
+     * @return 是否使用虚拟线程
+     */
+    public static boolean isVirtualThreadsActive(Environment environment) {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * 创建线程工厂
+     *
+     * @param prefix  线程名前缀
+     * @param virtual 是否创建虚拟线程，仅在 {@link #isVirtualThreadsActive} 为 true 时可传 true
+     * @return 线程工厂
+     */
+    public static ThreadFactory newThreadFactory(String prefix, boolean virtual) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.bryan.system.util.trace;
+
+import com.bryan.system.util.trace.RequestTiming.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录耗时的 MyBatis 插件
+ * <p>
+ * 每次查询、更新（含获取连接与结果映射）的耗时计入请求的 {@link Phase#DB} 分段，
+ * 同时按语句记录到 mybatis.statement 计时器（statement 标签取 "Mapper.方法"，取值集合固定）。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MyBatisTimingInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 语句 ID → 计时器
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public MyBatisTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            RequestTiming.record(Phase.DB, nanos);
+            timers.computeIfAbsent(statement.getId(), this::newTimer).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer newTimer(String statementId) {
+        // com.bryan.system.mapper.UserMapper.selectById → UserMapper.selectById
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return Timer.builder("mybatis.statement")
+                .description("MyBatis 语句执行耗时")
+                .tag("statement", statementId.substring(mapper + 1))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,191 @@
+package com.bryan.system.util.trace;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 单个请求的耗时分段统计
+ * <p>
+ * 请求被采样时由 {@link com.bryan.system.filter.RequestTimingFilter} 绑定到当前线程，
+ * 认证、Redis、数据库、BCrypt、序列化等环节通过 {@link #start()} / {@link #stop} 累加各自的耗时与次数。
+ * 未采样的请求没有绑定统计对象，{@link #start()} 只读取一次 ThreadLocal 并返回哨兵值，不读取时钟。
+ * 各分段可能相互包含（如认证中的 Redis 查询同时计入 auth 与 redis），不应相加。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public final class RequestTiming {
+
+    /**
+     * 未采样时 {@link #start()} 返回的哨兵值
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos;
+
+    private final long[] nanos = new long[PHASES.length];
+
+    private final int[] counts = new int[PHASES.length];
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 为当前线程开始一次请求统计
+     *
+     * @return 统计对象
+     */
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 结束当前线程的请求统计
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 开始一个分段
+     *
+     * @return 开始时间（纳秒）；当前请求未采样返回 {@link #NOT_SAMPLED}
+     */
+    public static long start() {
+        return CURRENT.get() == null ? NOT_SAMPLED : System.nanoTime();
+    }
+
+    /**
+     * 结束一个分段并累加耗时
+     *
+     * @param phase 分段
+     * @param start {@link #start()} 的返回值
+     */
+    public static void stop(Phase phase, long start) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += System.nanoTime() - start;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * 累加一段已测得的耗时（调用方自行计时时使用）
+     *
+     * @param phase 分段
+     * @param nanos 耗时（纳秒）
+     */
+    public static void record(Phase phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += nanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * 自请求开始以来的耗时（毫秒）
+     */
+    public double elapsedMs() {
+        return (System.nanoTime() - startNanos) / 1e6;
+    }
+
+    /**
+     * 生成 Server-Timing 响应头
+     * 格式：auth;dur=1.2, redis;dur=0.8;desc="3 次", ..., total;dur=12.3
+     *
+     * @return 响应头的值
+     */
+    public String toServerTiming() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            sb.append(phase.getMetricName()).append(";dur=");
+            appendMs(sb, nanos[phase.ordinal()] / 1e6);
+            if (count > 1) {
+                sb.append(";desc=\"").append(count).append('"');
+            }
+            sb.append(", ");
+        }
+        sb.append("total;dur=");
+        appendMs(sb, this.elapsedMs());
+        return sb.toString();
+    }
+
+    /**
+     * 生成结构化日志字段
+     * 格式：total=12.3ms auth=1.2ms/1 redis=0.8ms/3 ...（未发生的分段不输出）
+     *
+     * @return 日志字段
+     */
+    public String toLogFields() {
+        StringBuilder sb = new StringBuilder(128).append("total=");
+        appendMs(sb, this.elapsedMs());
+        sb.append("ms");
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            sb.append(' ').append(phase.getMetricName()).append('=');
+            appendMs(sb, nanos[phase.ordinal()] / 1e6);
+            sb.append("ms/").append(count);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 追加保留一位小数的毫秒数
+     */
+    private static void appendMs(StringBuilder sb, double ms) {
+        long tenths = Math.round(ms * 10);
+        sb.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    /**
+     * 耗时分段
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Phase {
+        /**
+         * Token 解析与会话校验（含其中的 Redis、数据库访问）
+         */
+        AUTH("auth"),
+
+        /**
+         * Redis 命令（每次获取、释放连接之间的耗时，管道按一次计）
+         */
+        REDIS("redis"),
+
+        /**
+         * MyBatis 查询与更新（含结果映射）
+         */
+        DB("db"),
+
+        /**
+         * BCrypt 哈希与校验
+         */
+        BCRYPT("bcrypt"),
+
+        /**
+         * JSON 序列化并写出响应体
+         */
+        SERIALIZE("serialize");
+
+        private final String metricName;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bryan.system.util.trace;
+
+import com.bryan.system.util.trace.RequestTiming.Phase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 记录耗时的 JSON 消息转换器，序列化并写出响应体的耗时计入 {@link Phase#SERIALIZE}
+ *
+ * @author Bryan Long
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = RequestTiming.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestTiming.stop(Phase.SERIALIZE, start);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bryan.system.util.trace;
+
+import com.bryan.system.util.trace.RequestTiming.Phase;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 记录耗时的密码编码器，哈希与校验耗时计入 {@link Phase#BCRYPT}
+ *
+ * @author Bryan Long
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = RequestTiming.start();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            RequestTiming.stop(Phase.BCRYPT, start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = RequestTiming.start();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            RequestTiming.stop(Phase.BCRYPT, start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
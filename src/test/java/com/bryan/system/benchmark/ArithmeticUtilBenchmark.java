@@ -0,0 +1,98 @@
+package com.bryan.system.benchmark;
+
+import com.bryan.system.util.math.ArithmeticUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArithmeticUtil：BigDecimal 实现与快速路径的对比
+ * 输入取自监控页面的典型取值：满精度的 CPU 比例换算百分比、字节数换算 GB、短小数加法。
+ * 加 -prof gc 可对比每次调用分配的字节数。
+ * 运行：先 mvn test-compile，再以测试 classpath 执行本类 main 方法。
+ *
+ * @author Bryan Long
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArithmeticUtilBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private static final double BYTES_PER_GB = 1024 * 1024 * 1024;
+
+    private final double[] ratios = new double[SIZE];
+    private final double[] bytes = new double[SIZE];
+    private final double[] amounts = new double[SIZE];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            ratios[i] = random.nextDouble();
+            bytes[i] = random.nextLong(1L << 20, 1L << 36);
+            amounts[i] = random.nextInt(0, 1_000_000) / 100.0;
+        }
+    }
+
+    @Benchmark
+    public double percentPrecise() {
+        int i = this.nextIndex();
+        return ArithmeticUtil.roundPrecise(ArithmeticUtil.mulPrecise(ratios[i], 100).doubleValue(), 2).doubleValue();
+    }
+
+    @Benchmark
+    public double percentFast() {
+        return ArithmeticUtil.round(ratios[this.nextIndex()] * 100, 2);
+    }
+
+    @Benchmark
+    public double gigabytesPrecise() {
+        return ArithmeticUtil.divPrecise(bytes[this.nextIndex()], BYTES_PER_GB, 2).doubleValue();
+    }
+
+    @Benchmark
+    public double gigabytesFast() {
+        return ArithmeticUtil.div(bytes[this.nextIndex()], BYTES_PER_GB, 2);
+    }
+
+    @Benchmark
+    public double addPrecise() {
+        int i = this.nextIndex();
+        return ArithmeticUtil.addPrecise(amounts[i], amounts[SIZE - 1 - i]).doubleValue();
+    }
+
+    @Benchmark
+    public double addFast() {
+        int i = this.nextIndex();
+        return ArithmeticUtil.add(amounts[i], amounts[SIZE - 1 - i]);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (SIZE - 1);
+        return next;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ArithmeticUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
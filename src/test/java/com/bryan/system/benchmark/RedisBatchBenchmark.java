@@ -0,0 +1,122 @@
+package com.bryan.system.benchmark;
+
+import com.bryan.system.service.redis.RedisCircuitBreaker;
+import com.bryan.system.service.redis.RedisStringService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 单键操作与批量 / 管道操作的往返开销对比
+ * 需要可访问的 Redis（默认 localhost:6379，可用 -Dredis.host / -Dredis.port 指定），
+ * 运行：先 mvn test-compile，再以测试 classpath 执行本类 main 方法。
+ * 每次调用的耗时基本等于「网络往返次数 × RTT」，批量版本与 batchSize 无关地只付一次 RTT。
+ *
+ * @author Bryan Long
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisBatchBenchmark {
+
+    private static final long TTL_SECONDS = 300;
+
+    @Param({"10", "100"})
+    private int batchSize;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisStringService redisStringService;
+    private List<String> keys;
+    private Map<String, String> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"), Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisStringService = new RedisStringService(new StringRedisTemplate(connectionFactory), new RedisCircuitBreaker());
+
+        keys = new ArrayList<>(batchSize);
+        values = new LinkedHashMap<>(batchSize * 2);
+        for (int i = 0; i < batchSize; i++) {
+            String key = "benchmark:batch:" + i;
+            keys.add(key);
+            values.put(key, "value-" + i);
+        }
+        redisStringService.multiSet(values, TTL_SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        redisStringService.delete(keys);
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void singleGet(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(redisStringService.get(key));
+        }
+    }
+
+    @Benchmark
+    public List<String> multiGet() {
+        return redisStringService.multiGet(keys);
+    }
+
+    @Benchmark
+    public void singleSetWithTtl(Blackhole blackhole) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            blackhole.consume(redisStringService.set(entry.getKey(), entry.getValue(), TTL_SECONDS));
+        }
+    }
+
+    @Benchmark
+    public boolean pipelinedSetWithTtl() {
+        return redisStringService.multiSet(values, TTL_SECONDS);
+    }
+
+    @Benchmark
+    public void singleExpire(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(redisStringService.setExpire(key, TTL_SECONDS));
+        }
+    }
+
+    @Benchmark
+    public long pipelinedExpire() {
+        return redisStringService.setExpire(keys, TTL_SECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisBatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,152 @@
+package com.bryan.system.benchmark;
+
+import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.domain.enums.user.UserStatusEnum;
+import com.bryan.system.util.redis.CompactRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值序列化：原 JSON（带类名）与紧凑二进制格式的体积与吞吐对比
+ * 运行：先 mvn test-compile，再以测试 classpath 执行本类 main 方法；
+ * main 会先打印单个用户与 200 个用户列表在各格式下的字节数。
+ * 两种格式的列表都保留元素类型（二进制格式以回引用编码重复的类名），可还原为相同的对象。
+ *
+ * @author Bryan Long
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private static final int LIST_SIZE = 200;
+
+    private RedisSerializer<Object> json;
+    private RedisSerializer<Object> binary;
+    private RedisSerializer<Object> binaryDeflate;
+
+    private SysUser user;
+    private List<SysUser> users;
+
+    private byte[] userJson;
+    private byte[] userBinary;
+    private byte[] usersJson;
+    private byte[] usersBinary;
+    private byte[] usersDeflate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        json = RedisSerializer.json();
+        binary = new CompactRedisSerializer(CompactRedisSerializer.Format.BINARY, 0);
+        binaryDeflate = new CompactRedisSerializer(CompactRedisSerializer.Format.BINARY, 1024);
+
+        user = newUser(1);
+        users = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            users.add(newUser(i));
+        }
+
+        userJson = json.serialize(user);
+        userBinary = binary.serialize(user);
+        usersJson = json.serialize(users);
+        usersBinary = binary.serialize(users);
+        usersDeflate = binaryDeflate.serialize(users);
+    }
+
+    @Benchmark
+    public byte[] serializeUserJson() {
+        return json.serialize(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserBinary() {
+        return binary.serialize(user);
+    }
+
+    @Benchmark
+    public Object deserializeUserJson() {
+        return json.deserialize(userJson);
+    }
+
+    @Benchmark
+    public Object deserializeUserBinary() {
+        return binary.deserialize(userBinary);
+    }
+
+    @Benchmark
+    public byte[] serializeListJson() {
+        return json.serialize(users);
+    }
+
+    @Benchmark
+    public byte[] serializeListBinary() {
+        return binary.serialize(users);
+    }
+
+    @Benchmark
+    public byte[] serializeListBinaryDeflate() {
+        return binaryDeflate.serialize(users);
+    }
+
+    @Benchmark
+    public Object deserializeListJson() {
+        return json.deserialize(usersJson);
+    }
+
+    @Benchmark
+    public Object deserializeListBinaryDeflate() {
+        return binaryDeflate.deserialize(usersDeflate);
+    }
+
+    /**
+     * 不含 LocalDateTime 字段：RedisSerializer.json() 的默认 ObjectMapper 未注册 JavaTimeModule
+     */
+    private static SysUser newUser(int i) {
+        return SysUser.builder()
+                .id(1_000_000L + i)
+                .username("user" + i)
+                .phone("1380000" + String.format("%04d", i))
+                .email("user" + i + "@example.com")
+                .status(UserStatusEnum.NORMAL)
+                .roles("ROLE_USER")
+                .lastLoginIp("192.168.1." + (i % 255))
+                .lastLoginDevice("Chrome 126 on Windows 10")
+                .loginFailCount(0)
+                .deleted(0)
+                .version(1)
+                .createdBy("admin")
+                .updatedBy("admin")
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        RedisSerializerBenchmark sizes = new RedisSerializerBenchmark();
+        sizes.setUp();
+        System.out.printf("单个用户: json=%d 字节, binary=%d 字节%n",
+                sizes.userJson.length, sizes.userBinary.length);
+        System.out.printf("%d 个用户: json=%d 字节, binary=%d 字节, binary+deflate=%d 字节%n",
+                LIST_SIZE, sizes.usersJson.length, sizes.usersBinary.length, sizes.usersDeflate.length);
+
+        new Runner(new OptionsBuilder().include(RedisSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
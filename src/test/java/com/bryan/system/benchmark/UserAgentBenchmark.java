@@ -0,0 +1,111 @@
+package com.bryan.system.benchmark;
+
+import com.bryan.system.util.http.UserAgentInfo;
+import com.bryan.system.util.http.UserAgentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-Agent 解析：原实现（每次小写整串、两组 contains 链）与缓存解析器的对比
+ * 每次调用轮流使用一组常见 User-Agent，模拟实际流量的低基数分布。
+ * 运行：先 mvn test-compile，再以测试 classpath 执行本类 main 方法。
+ *
+ * @author Bryan Long
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserAgentBenchmark {
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36 Edg/126.0.0.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Safari/605.1.15",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:127.0) Gecko/20100101 Firefox/127.0",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Mobile Safari/537.36",
+    };
+
+    private int next;
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String userAgent = this.nextUserAgent();
+        blackhole.consume(legacyOs(userAgent));
+        blackhole.consume(legacyBrowser(userAgent));
+    }
+
+    @Benchmark
+    public UserAgentInfo cachedParser() {
+        return UserAgentParser.parse(this.nextUserAgent());
+    }
+
+    private String nextUserAgent() {
+        next = (next + 1) % USER_AGENTS.length;
+        return USER_AGENTS[next];
+    }
+
+    /**
+     * 原 HttpUtils.getClientOS 的判断逻辑
+     */
+    private static String legacyOs(String userAgent) {
+        String ua = userAgent.toLowerCase();
+        if (ua.contains("windows")) {
+            return "Windows";
+        } else if (ua.contains("mac")) {
+            return "macOS";
+        } else if (ua.contains("x11")) {
+            return "Unix";
+        } else if (ua.contains("android")) {
+            return "Android";
+        } else if (ua.contains("iphone")) {
+            return "iOS";
+        } else if (ua.contains("linux")) {
+            return "Linux";
+        } else {
+            return "Unknown";
+        }
+    }
+
+    /**
+     * 原 HttpUtils.getClientBrowser 的判断逻辑
+     */
+    private static String legacyBrowser(String userAgent) {
+        String ua = userAgent.toLowerCase();
+        if (ua.contains("edg/") || ua.contains("edge/")) {
+            return "Edge";
+        } else if (ua.contains("opr/") || ua.contains("opera")) {
+            return "Opera";
+        } else if (ua.contains("chrome") && !ua.contains("chromium")) {
+            return "Chrome";
+        } else if (ua.contains("firefox") || ua.contains("fxios")) {
+            return "Firefox";
+        } else if (ua.contains("safari") && !ua.contains("chrome")) {
+            return "Safari";
+        } else if (ua.contains("msie") || ua.contains("trident/7")) {
+            return "Internet Explorer";
+        } else {
+            return "Unknown";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserAgentBenchmark.class.getSimpleName()).build()).run();
+    }
+}
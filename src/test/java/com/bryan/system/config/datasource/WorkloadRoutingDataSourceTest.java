@@ -0,0 +1,79 @@
+package com.bryan.system.config.datasource;
+
+import com.bryan.system.config.DataSourceConfig;
+import com.bryan.system.domain.enums.WorkloadType;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final DataSource oltp = mock(DataSource.class);
+    private final DataSource bulk = mock(DataSource.class);
+    private final WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(Map.of(
+            WorkloadType.OLTP, oltp, WorkloadType.BULK, bulk));
+
+    @Test
+    void shouldRouteByAnnotationAndRestoreAfterwards() throws Exception {
+        Connection oltpConnection = mock(Connection.class);
+        Connection bulkConnection = mock(Connection.class);
+        when(oltp.getConnection()).thenReturn(oltpConnection);
+        when(bulk.getConnection()).thenReturn(bulkConnection);
+        Repository repository = this.proxy(new Repository());
+
+        assertSame(oltpConnection, repository.plain());
+        assertSame(bulkConnection, repository.search());
+        assertSame(oltpConnection, repository.login());
+        assertNull(WorkloadRoutingDataSource.current());
+    }
+
+    @Test
+    void shouldApplyClassLevelAnnotation() throws Exception {
+        Connection bulkConnection = mock(Connection.class);
+        when(bulk.getConnection()).thenReturn(bulkConnection);
+
+        assertSame(bulkConnection, this.proxy(new ExportRepository()).export());
+        assertNull(WorkloadRoutingDataSource.current());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(DataSourceConfig.workloadAdvisor());
+        return (T) factory.getProxy();
+    }
+
+    class Repository {
+
+        Connection plain() throws Exception {
+            return routing.getConnection();
+        }
+
+        @Workload(WorkloadType.BULK)
+        Connection search() throws Exception {
+            return routing.getConnection();
+        }
+
+        @Workload(WorkloadType.OLTP)
+        Connection login() throws Exception {
+            return routing.getConnection();
+        }
+    }
+
+    @Workload(WorkloadType.BULK)
+    class ExportRepository {
+
+        Connection export() throws Exception {
+            return routing.getConnection();
+        }
+    }
+}
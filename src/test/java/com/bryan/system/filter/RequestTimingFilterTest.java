@@ -0,0 +1,82 @@
+package com.bryan.system.filter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestTimingFilterTest {
+
+    private RequestTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestTimingFilter();
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(filter, "slowThresholdMs", 60_000L);
+        ReflectionTestUtils.setField(filter, "serverTimingHeader", true);
+        ReflectionTestUtils.setField(filter, "trustedNetworks", new String[]{"10.0.0.0/8", "::1"});
+        filter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldWriteServerTimingForAdmin() throws Exception {
+        MockHttpServletResponse response = this.execute("/api/user/me", "203.0.113.7", "ROLE_ADMIN");
+
+        assertNotNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    void shouldWriteServerTimingForTrustedNetwork() throws Exception {
+        assertNotNull(this.execute("/api/user/me", "10.1.2.3", null).getHeader("Server-Timing"));
+        assertNotNull(this.execute("/api/user/me", "0:0:0:0:0:0:0:1", null).getHeader("Server-Timing"));
+    }
+
+    @Test
+    void shouldHideServerTimingFromUntrustedCallers() throws Exception {
+        MockHttpServletResponse response = this.execute("/api/user/me", "11.0.0.1", "ROLE_USER");
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertNotNull(response.getHeader(RequestTimingFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void shouldNeverWriteServerTimingOnAuthEndpoints() throws Exception {
+        assertNull(this.execute("/api/auth/login", "10.1.2.3", "ROLE_ADMIN").getHeader("Server-Timing"));
+    }
+
+    /**
+     * 模拟安全过滤器链：在链内写入认证信息并写出响应体，链结束后清空上下文
+     */
+    private MockHttpServletResponse execute(String uri, String remoteAddr, String role) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            if (role != null) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "user", null, List.of(new SimpleGrantedAuthority(role))));
+            }
+            res.getWriter().write("{}");
+            SecurityContextHolder.clearContext();
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -24,6 +24,31 @@ class MapperXmlBindingTest {
         assertMapperXmlBindings(UserRoleMapper.class, "mapper/UserRoleMapper.xml");
     }
 
+    @Test
+    void shouldNotCountAvatarsOfSoftDeletedUsersAsReferenced() throws Exception {
+        // 删除用户只软删除 sys_user，user_profile.deleted 不会被更新，必须以 sys_user.deleted 判断
+        for (String xmlPath : new String[]{"mapper/UserProfileMapper.xml", "mapper-mysql/UserProfileMapperMysql.xml"}) {
+            String sql = statementText(xmlPath, "selectReferencedAvatars");
+            assertTrue(sql.contains("JOIN sys_user u ON u.id = p.user_id"), "Missing sys_user join: " + xmlPath);
+            assertTrue(sql.contains("AND u.deleted = 0"), "Missing sys_user.deleted filter: " + xmlPath);
+        }
+    }
+
+    private String statementText(String xmlPath, String id) throws Exception {
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(xmlPath)) {
+            assertTrue(in != null, "XML resource not found: " + xmlPath);
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+            NodeList selects = document.getElementsByTagName("select");
+            for (int i = 0; i < selects.getLength(); i++) {
+                Element element = (Element) selects.item(i);
+                if (id.equals(element.getAttribute("id"))) {
+                    return element.getTextContent().replaceAll("\\s+", " ");
+                }
+            }
+            throw new AssertionError("Missing XML statement " + id + ": " + xmlPath);
+        }
+    }
+
     private void assertMapperXmlBindings(Class<?> mapperType, String xmlPath) throws Exception {
         Set<String> statementIds = parseStatementIds(xmlPath, mapperType.getName());
         for (Method method : mapperType.getDeclaredMethods()) {
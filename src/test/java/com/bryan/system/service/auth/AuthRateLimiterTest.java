@@ -0,0 +1,82 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.exception.TooManyRequestsException;
+import com.bryan.system.service.redis.RedisStringService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthRateLimiterTest {
+
+    @Mock
+    private RedisStringService redisStringService;
+
+    private AuthRateLimiter authRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setLoginIpCapacity(3);
+        securityProperties.setLoginIpPerMinute(1);
+        authRateLimiter = new AuthRateLimiter(redisStringService, securityProperties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRejectBurstLocallyWithoutCallingRedis() {
+        when(redisStringService.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+
+        for (int i = 0; i < 3; i++) {
+            authRateLimiter.checkLogin("10.0.0.1", "user" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            String username = "other" + i;
+            assertThrows(TooManyRequestsException.class, () -> authRateLimiter.checkLogin("10.0.0.1", username));
+        }
+
+        verify(redisStringService, times(3)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertEquals(100, authRateLimiter.getStats().getLocalRejectedRequests());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRejectWhenGlobalBucketIsEmpty() {
+        when(redisStringService.execute(any(RedisScript.class),
+                eq(List.of("rate:login:ip:10.0.0.2", "rate:login:user:bryan")), any(Object[].class)))
+                .thenReturn(30000L);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> authRateLimiter.checkLogin("10.0.0.2", "bryan"));
+
+        assertEquals("请求过于频繁，请 30 秒后重试", e.getMessage());
+        assertEquals(1, authRateLimiter.getStats().getRedisRejectedRequests());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToLocalBucketWhenRedisUnavailable() {
+        when(redisStringService.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(null);
+
+        assertDoesNotThrow(() -> authRateLimiter.checkRegister("10.0.0.3"));
+
+        assertEquals(1, authRateLimiter.getStats().getRedisUnavailableRequests());
+        assertEquals(1, authRateLimiter.getStats().getAllowedRequests());
+    }
+}
@@ -0,0 +1,105 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.domain.request.auth.LoginRequest;
+import com.bryan.system.exception.BusinessException;
+import com.bryan.system.mapper.UserMapper;
+import com.bryan.system.mapper.UserRoleMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private SessionTokenService sessionTokenService;
+
+    @Mock
+    private SessionRegistryService sessionRegistryService;
+
+    @Mock
+    private AuthRateLimiter authRateLimiter;
+
+    private AuthService authService;
+
+    private final LoginRequest loginRequest = new LoginRequest();
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(userMapper, userRoleMapper, passwordEncoder, new SecurityProperties(),
+                tokenRevocationService, sessionTokenService, sessionRegistryService, authRateLimiter,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginRequest, "username", "bryan");
+        ReflectionTestUtils.setField(loginRequest, "password", "secret");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        SysUser user = SysUser.builder().id(1L).username("bryan").password("hash").build();
+        when(userMapper.selectByUsername("bryan")).thenReturn(user);
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(sessionRegistryService.newSessionId()).thenReturn("sid");
+        when(sessionTokenService.isOpaqueMode()).thenReturn(true);
+        when(sessionTokenService.create(user, "sid")).thenReturn("token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldIssueOpaqueTokenAfterRegisteringSession() {
+        when(sessionRegistryService.register(eq("bryan"), eq("sid"), eq("token"), anyString(), any()))
+                .thenReturn(true);
+
+        assertEquals("token", authService.login(loginRequest));
+        verify(sessionTokenService, never()).delete(anyString());
+    }
+
+    @Test
+    void shouldDeleteOpaqueSessionRecordWhenRegistrationFails() {
+        when(sessionRegistryService.register(eq("bryan"), eq("sid"), eq("token"), anyString(), any()))
+                .thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> authService.login(loginRequest));
+
+        // 会话记录先写入，登记失败后删除，不留下未登记的会话
+        InOrder order = inOrder(sessionTokenService, sessionRegistryService);
+        order.verify(sessionTokenService).create(any(), eq("sid"));
+        order.verify(sessionRegistryService).register(eq("bryan"), eq("sid"), eq("token"), anyString(), any());
+        order.verify(sessionTokenService).delete("token");
+    }
+}
@@ -0,0 +1,155 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.JwtProperties;
+import com.bryan.system.config.properties.SecurityProperties;
+import com.bryan.system.service.redis.RedisHashService;
+import com.bryan.system.service.redis.RedisPipelineService;
+import com.bryan.system.service.redis.RedisStringService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionRegistryServiceTest {
+
+    @Mock
+    private RedisHashService redisHashService;
+
+    @Mock
+    private RedisStringService redisStringService;
+
+    @Mock
+    private RedisPipelineService redisPipelineService;
+
+    @Mock
+    private SessionTokenService sessionTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private SessionRegistryService sessionRegistryService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setMaxSessionsPerUser(2);
+        sessionRegistryService = new SessionRegistryService(redisHashService, redisStringService, redisPipelineService,
+                securityProperties, new JwtProperties(), sessionTokenService, tokenRevocationService);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSessionOverLimit() {
+        Map<String, String> sessions = new LinkedHashMap<>();
+        sessions.put("new", entry("token-new", 300));
+        sessions.put("old", entry("token-old", 100));
+        sessions.put("mid", entry("token-mid", 200));
+        when(redisHashService.setString(eq("sessions:bryan"), anyMap(), eq(86400L))).thenReturn(true);
+        when(redisHashService.size("sessions:bryan")).thenReturn(3L);
+        when(redisHashService.getAllString("sessions:bryan")).thenReturn(sessions);
+
+        assertTrue(sessionRegistryService.register("bryan", "new", "token-new", "127.0.0.1", "Windows / Chrome"));
+
+        verify(redisHashService).delete("sessions:bryan", List.of("old"));
+        verify(redisStringService).delete(List.of("session:" + SessionTokenService.fingerprint("token-old")));
+        verify(tokenRevocationService).revokeSession("old");
+    }
+
+    @Test
+    void shouldOnlyAcceptTokenMatchingRegisteredFingerprint() {
+        when(redisHashService.getString("sessions:bryan", "sid")).thenReturn(entry("token", 100));
+
+        assertTrue(sessionRegistryService.verify("bryan", "sid", "token"));
+        assertFalse(sessionRegistryService.verify("bryan", "sid", "forged"));
+        assertFalse(sessionRegistryService.verify("bryan", null, "token"));
+    }
+
+    @Test
+    void shouldRevokeAllSessionsWithSingleDelete() {
+        when(redisHashService.valuesString("sessions:bryan")).thenReturn(List.of(entry("a", 1), entry("b", 2)));
+
+        sessionRegistryService.revokeAll("bryan");
+
+        verify(redisStringService).delete(List.of("sessions:bryan",
+                "session:" + SessionTokenService.fingerprint("a"),
+                "session:" + SessionTokenService.fingerprint("b")));
+        verify(sessionTokenService).evictCached("bryan", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCompareRegistryEntryAsPlainUtf8WhenTouching() {
+        String current = entry("token", 100);
+        RedisOperations<String, String> ops = mock(RedisOperations.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(ops.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+        when(redisPipelineService.executeStringPipelined(any()))
+                .thenReturn(List.of(current))
+                .thenAnswer(invocation -> {
+                    ((Consumer<RedisOperations<String, String>>) invocation.getArgument(0)).accept(ops);
+                    return List.of(1L, true);
+                });
+
+        int touched = sessionRegistryService.touch(List.of(
+                new SessionRegistryService.SessionAccess("bryan", "sid", false, 500)));
+
+        ArgumentCaptor<byte[][]> args = ArgumentCaptor.forClass(byte[][].class);
+        verify(scripting).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(1), args.capture());
+        assertEquals(1, touched);
+        // 脚本参数与 Hash 中的值都是 UTF-8 原文，与 redis-serializer.format 无关
+        assertArrayEquals(current.getBytes(StandardCharsets.UTF_8), args.getValue()[2]);
+        String updated = SessionRegistryService.SessionEntry.decode(current).withLastAccessAt(500).encode();
+        assertArrayEquals(updated.getBytes(StandardCharsets.UTF_8), args.getValue()[3]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotCountSessionsRevokedBetweenPipelines() {
+        RedisOperations<String, String> ops = mock(RedisOperations.class);
+        when(redisPipelineService.executeStringPipelined(any()))
+                .thenReturn(List.of(entry("a", 100), entry("b", 100)))
+                .thenAnswer(invocation -> {
+                    ((Consumer<RedisOperations<String, String>>) invocation.getArgument(0)).accept(ops);
+                    // 第一个会话（不透明 Token）续期成功，第二个已被吊销
+                    return List.of(0L, true, true, -1L, true);
+                });
+
+        int touched = sessionRegistryService.touch(List.of(
+                new SessionRegistryService.SessionAccess("bryan", "sid-a", true, 500),
+                new SessionRegistryService.SessionAccess("bryan", "sid-b", false, 500)));
+
+        assertEquals(1, touched);
+    }
+
+    private static String entry(String token, long lastAccessAt) {
+        return new SessionRegistryService.SessionEntry(SessionTokenService.fingerprint(token),
+                lastAccessAt, lastAccessAt, "127.0.0.1", "Windows / Chrome").encode();
+    }
+}
@@ -0,0 +1,98 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.config.properties.JwtProperties;
+import com.bryan.system.domain.dto.AuthSessionDTO;
+import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.service.redis.RedisStringService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionTokenServiceTest {
+
+    @Mock
+    private RedisStringService redisStringService;
+
+    private SessionTokenService sessionTokenService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setTokenMode("opaque");
+        sessionTokenService = new SessionTokenService(redisStringService, jwtProperties);
+    }
+
+    @Test
+    void shouldIssueOpaqueTokenAndStoreRecordUnderFingerprint() {
+        when(redisStringService.set(anyString(), anyString(), anyLong())).thenReturn(true);
+        SysUser user = SysUser.builder().id(7L).username("bryan").roles("ROLE_USER,ROLE_ADMIN").build();
+
+        String token = sessionTokenService.create(user, "sid");
+
+        assertEquals(22, token.length());
+        assertTrue(SessionTokenService.isOpaqueToken(token));
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(redisStringService).set(eq("session:" + SessionTokenService.fingerprint(token)), value.capture(), eq(86400L));
+        AuthSessionDTO session = SessionTokenService.decode(value.getValue());
+        assertEquals(7L, session.getUserId());
+        assertEquals("bryan", session.getUsername());
+        assertEquals("sid", session.getSessionId());
+        assertEquals("ROLE_USER,ROLE_ADMIN", session.getRoles());
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromNearCache() {
+        AuthSessionDTO session = AuthSessionDTO.builder()
+                .userId(1L).username("a|b").sessionId("sid").roles("ROLE_USER").issuedAt(System.currentTimeMillis()).build();
+        when(redisStringService.get("session:" + SessionTokenService.fingerprint("token")))
+                .thenReturn(SessionTokenService.encode(session));
+
+        assertEquals(session, sessionTokenService.resolve("token"));
+        assertEquals(session, sessionTokenService.resolve("token"));
+
+        verify(redisStringService, times(1)).get(anyString());
+    }
+
+    @Test
+    void shouldDropNearCacheEntryOnEvict() {
+        AuthSessionDTO session = AuthSessionDTO.builder()
+                .userId(1L).username("bryan").sessionId("sid").roles("").issuedAt(System.currentTimeMillis()).build();
+        String key = "session:" + SessionTokenService.fingerprint("token");
+        when(redisStringService.get(key)).thenReturn(SessionTokenService.encode(session), (String) null);
+
+        sessionTokenService.resolve("token");
+        sessionTokenService.evictCached("bryan", "sid");
+
+        assertNull(sessionTokenService.resolve("token"));
+        verify(redisStringService, times(2)).get(key);
+    }
+
+    @Test
+    void shouldDeleteRecordAndNearCacheEntry() {
+        AuthSessionDTO session = AuthSessionDTO.builder()
+                .userId(1L).username("bryan").sessionId("sid").roles("").issuedAt(System.currentTimeMillis()).build();
+        String key = "session:" + SessionTokenService.fingerprint("token");
+        when(redisStringService.get(key)).thenReturn(SessionTokenService.encode(session), (String) null);
+        when(redisStringService.delete(key)).thenReturn(true);
+
+        sessionTokenService.resolve("token");
+
+        assertTrue(sessionTokenService.delete("token"));
+        assertNull(sessionTokenService.resolve("token"));
+        verify(redisStringService, times(2)).get(key);
+    }
+}
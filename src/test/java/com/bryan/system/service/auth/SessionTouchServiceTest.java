@@ -0,0 +1,66 @@
+package com.bryan.system.service.auth;
+
+import com.bryan.system.domain.dto.AuthSessionDTO;
+import com.bryan.system.service.auth.SessionRegistryService.SessionAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SessionTouchServiceTest {
+
+    @Mock
+    private SessionRegistryService sessionRegistryService;
+
+    private SessionTouchService sessionTouchService;
+
+    @BeforeEach
+    void setUp() {
+        sessionTouchService = new SessionTouchService(sessionRegistryService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceRepeatedAccessIntoSingleRefreshPerInterval() {
+        AuthSessionDTO jwtSession = AuthSessionDTO.builder().username("bryan").sessionId("a").build();
+        AuthSessionDTO opaqueSession = AuthSessionDTO.builder().username("bryan").sessionId("b").build();
+        for (int i = 0; i < 100; i++) {
+            sessionTouchService.touch(jwtSession, "header.payload.signature");
+            sessionTouchService.touch(opaqueSession, "opaque");
+        }
+
+        sessionTouchService.flush();
+        sessionTouchService.flush();
+
+        ArgumentCaptor<List<SessionAccess>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sessionRegistryService, times(1)).touch(batch.capture());
+        List<SessionAccess> accesses = batch.getValue();
+        assertEquals(2, accesses.size());
+        SessionAccess jwtAccess = accesses.stream().filter(a -> a.sessionId().equals("a")).findFirst().orElseThrow();
+        SessionAccess opaqueAccess = accesses.stream().filter(a -> a.sessionId().equals("b")).findFirst().orElseThrow();
+        assertFalse(jwtAccess.opaque());
+        assertTrue(opaqueAccess.opaque());
+    }
+
+    @Test
+    void shouldIgnoreTokensWithoutSession() {
+        sessionTouchService.touch(AuthSessionDTO.builder().username("bryan").build(), "token");
+
+        sessionTouchService.flush();
+
+        verify(sessionRegistryService, never()).touch(anyList());
+    }
+}
@@ -0,0 +1,137 @@
+package com.bryan.system.service.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AvatarThumbnailServiceTest {
+
+    private static final String HASH = "3f".repeat(32);
+    private static final String AVATAR = "avatars/" + HASH + ".png";
+    private static final String AVATAR_64 = "avatars/" + HASH + "_64.png";
+    private static final String AVATAR_128 = "avatars/" + HASH + "_128.png";
+
+    @TempDir
+    Path uploadDir;
+
+    private AvatarThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        thumbnailService = new AvatarThumbnailService();
+        ReflectionTestUtils.setField(thumbnailService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(thumbnailService, "sizes", new int[]{256, 128, 64});
+        ReflectionTestUtils.setField(thumbnailService, "threads", 1);
+        ReflectionTestUtils.setField(thumbnailService, "queueCapacity", 4);
+        thumbnailService.init();
+
+        Files.createDirectories(uploadDir.resolve("avatars"));
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB), "png",
+                uploadDir.resolve(AVATAR).toFile());
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void shouldGenerateSquareThumbnailOnDemand() throws IOException {
+        Path thumbnail = thumbnailService.resolveThumbnail(AVATAR, 50);
+
+        assertNotNull(thumbnail);
+        assertEquals(HASH + "_64.png", thumbnail.getFileName().toString());
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertEquals(64, image.getWidth());
+        assertEquals(64, image.getHeight());
+        // 同一次解码生成全部尺寸
+        assertEquals(128, ImageIO.read(uploadDir.resolve(AVATAR_128).toFile()).getWidth());
+    }
+
+    @Test
+    void shouldFallBackWhenNoVariantApplies() {
+        // 大于所有预设尺寸
+        assertNull(thumbnailService.resolveThumbnail(AVATAR, 512));
+        // 越界路径
+        assertNull(thumbnailService.resolveThumbnail("../a.png", 64));
+        // 缩略图本身不再生成缩略图
+        assertNull(thumbnailService.resolveThumbnail(AVATAR_64, 64));
+    }
+
+    @Test
+    void shouldFallBackWhenOnDemandGenerationIsSaturated() {
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(thumbnailService, "onDemandPermits");
+        permits.acquireUninterruptibly();
+
+        assertNull(thumbnailService.resolveThumbnail(AVATAR, 64));
+        assertFalse(Files.exists(uploadDir.resolve(AVATAR_64)));
+
+        permits.release();
+        assertNotNull(thumbnailService.resolveThumbnail(AVATAR, 64));
+    }
+
+    @Test
+    void shouldServeOriginalWithoutDecodingWhenItCoversRequestedSize() throws IOException {
+        String small = "avatars/" + "5a".repeat(32) + ".png";
+        ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB), "png",
+                uploadDir.resolve(small).toFile());
+
+        assertEquals(uploadDir.resolve(small), thumbnailService.resolveThumbnail(small, 256));
+
+        // 占满当场生成许可：若再次解码生成将回退为 null
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(thumbnailService, "onDemandPermits");
+        permits.acquireUninterruptibly();
+        try {
+            assertEquals(uploadDir.resolve(small), thumbnailService.resolveThumbnail(small, 256));
+        } finally {
+            permits.release();
+        }
+        try (Stream<Path> files = Files.list(uploadDir.resolve("avatars"))) {
+            assertEquals(0, files.filter(file -> file.getFileName().toString().startsWith("5a".repeat(32) + "_"))
+                    .count());
+        }
+    }
+
+    @Test
+    void shouldTreatOnlyHashNamedPresetSizesAsThumbnails() throws IOException {
+        // 旧版 <毫秒>_<序号>.png 命名的原图
+        String legacy = "avatars/1700000000000_64.png";
+        ImageIO.write(new BufferedImage(300, 300, BufferedImage.TYPE_INT_ARGB), "png",
+                uploadDir.resolve(legacy).toFile());
+
+        assertNull(thumbnailService.findOriginal(uploadDir.resolve(legacy)));
+        // 旧版原图不生成缩略图，否则生成的缩略图也无法被识别，会被垃圾回收反复删除
+        assertNull(thumbnailService.resolveThumbnail(legacy, 64));
+        assertFalse(Files.exists(uploadDir.resolve("avatars/1700000000000_64_64.png")));
+        // 非预设尺寸
+        assertNull(thumbnailService.findOriginal(uploadDir.resolve("avatars/" + HASH + "_32.png")));
+
+        thumbnailService.resolveThumbnail(AVATAR, 64);
+        assertEquals(uploadDir.resolve(AVATAR), thumbnailService.findOriginal(uploadDir.resolve(AVATAR_64)));
+    }
+
+    @Test
+    void shouldDeleteThumbnails() {
+        thumbnailService.resolveThumbnail(AVATAR, 64);
+
+        thumbnailService.deleteThumbnails(AVATAR);
+
+        assertFalse(Files.exists(uploadDir.resolve(AVATAR_64)));
+        assertFalse(Files.exists(uploadDir.resolve(AVATAR_128)));
+    }
+}
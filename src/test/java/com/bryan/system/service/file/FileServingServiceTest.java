@@ -0,0 +1,121 @@
+package com.bryan.system.service.file;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class FileServingServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @TempDir
+    Path uploadDir;
+
+    private FileServingService fileServingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileServingService = new FileServingService(mock(AvatarThumbnailService.class));
+        ReflectionTestUtils.setField(fileServingService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(fileServingService, "hotCacheBytes", 1024L);
+        ReflectionTestUtils.setField(fileServingService, "hotEntryMaxBytes", 512L);
+
+        Files.createDirectories(uploadDir.resolve("avatars/ab/ab"));
+        Files.writeString(uploadDir.resolve("avatars/ab/ab/" + HASH + ".png"), "png-bytes");
+        Files.writeString(uploadDir.resolve("avatars/123_old.png"), "legacy");
+    }
+
+    @Test
+    void shouldServeContentAddressedFileAsImmutable() {
+        MockHttpServletResponse response = this.get("avatars/ab/ab/" + HASH + ".png", null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + "\"", response.getHeader("ETag"));
+        assertTrue(response.getHeader("Cache-Control").contains("immutable"));
+        assertEquals("image/png", response.getContentType());
+        assertArrayEquals("png-bytes".getBytes(StandardCharsets.UTF_8), response.getContentAsByteArray());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenEtagMatches() {
+        String etag = this.get("avatars/123_old.png", null).getHeader("ETag");
+
+        MockHttpServletResponse response = this.get("avatars/123_old.png", etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals("public, no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void shouldServeHotFileFromCacheWithSameContent() throws IOException {
+        String path = "avatars/ab/ab/" + HASH + ".png";
+        this.get(path, null);
+        // 第二次访问进入热点缓存
+        assertArrayEquals("png-bytes".getBytes(StandardCharsets.UTF_8), this.get(path, null).getContentAsByteArray());
+
+        // 命中缓存时不再读取磁盘内容（内容寻址文件按约定不会被改写，这里改写仅用于验证）
+        Files.writeString(uploadDir.resolve(path), "PNG-BYTES");
+        assertArrayEquals("png-bytes".getBytes(StandardCharsets.UTF_8), this.get(path, null).getContentAsByteArray());
+    }
+
+    @Test
+    void shouldNotCacheOriginalAsImmutableWhenThumbnailFallsBack() {
+        // 缩略图服务（mock）返回 null，模拟尚未生成或等待超时
+        MockHttpServletResponse response = this.get("avatars/ab/ab/" + HASH + ".png", null, 64);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("public, no-cache", response.getHeader("Cache-Control"));
+        assertArrayEquals("png-bytes".getBytes(StandardCharsets.UTF_8), response.getContentAsByteArray());
+    }
+
+    @Test
+    void shouldRejectMissingAndTraversalPaths() {
+        assertEquals(404, this.get("avatars/none.png", null).getStatus());
+        assertEquals(404, this.get("../secret.txt", null).getStatus());
+        assertEquals(404, this.get("", null).getStatus());
+    }
+
+    @Test
+    void shouldRejectTemporaryAndTombstoneFiles() throws IOException {
+        Files.writeString(uploadDir.resolve("avatars/.upload-1.tmp"), "partial");
+        Files.writeString(uploadDir.resolve("avatars/ab/ab/.thumb-1.tmp"), "partial");
+        Files.writeString(uploadDir.resolve("avatars/ab/ab/" + HASH + ".png.gc"), "deleted");
+        Files.createDirectories(uploadDir.resolve(".staging"));
+        Files.writeString(uploadDir.resolve(".staging/a.png"), "hidden");
+
+        assertEquals(404, this.get("avatars/.upload-1.tmp", null).getStatus());
+        assertEquals(404, this.get("avatars/ab/ab/.thumb-1.tmp", null).getStatus());
+        assertEquals(404, this.get("avatars/ab/ab/" + HASH + ".png.gc", null).getStatus());
+        assertEquals(404, this.get(".staging/a.png", null).getStatus());
+        // 原图不受影响
+        assertEquals(200, this.get("avatars/ab/ab/" + HASH + ".png", null).getStatus());
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) {
+        return this.get(path, ifNoneMatch, null);
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch, Integer size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + path);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileServingService.serve(path, size, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bryan.system.service.file;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalFileServiceTest {
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalFileService localFileService;
+
+    @BeforeEach
+    void setUp() {
+        localFileService = new LocalFileService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(localFileService, "uploadDir", uploadDir.toString());
+    }
+
+    @Test
+    void shouldStorePngByContentHash() throws IOException, NoSuchAlgorithmException {
+        byte[] content = new byte[100_000];
+        System.arraycopy(PNG_HEADER, 0, content, 0, PNG_HEADER.length);
+        MockMultipartFile file = new MockMultipartFile("file", "me.jpg", "image/png", content);
+
+        String path = localFileService.storeFile(file, "avatars");
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(Path.of("avatars", hash.substring(0, 2), hash.substring(2, 4), hash + ".png").toString(), path);
+        assertArrayEquals(content, Files.readAllBytes(uploadDir.resolve(path)));
+        // 临时文件已被原子移动，不残留
+        assertEquals(1, this.countFiles(uploadDir.resolve("avatars")));
+    }
+
+    @Test
+    void shouldDeduplicateIdenticalContent() throws IOException {
+        byte[] content = Arrays.copyOf(PNG_HEADER, 64);
+
+        String first = localFileService.storeFile(new MockMultipartFile("file", "a.png", "image/png", content), "avatars");
+        String second = localFileService.storeFile(new MockMultipartFile("file", "b.png", "image/png", content), "avatars");
+
+        assertEquals(first, second);
+        assertEquals(1, this.countFiles(uploadDir.resolve(first).getParent()));
+        assertEquals(1, this.countFiles(uploadDir.resolve("avatars")));
+    }
+
+    @Test
+    void shouldDetectWebpAndRejectUnknownContent() throws IOException {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+        String path = localFileService.storeFile(new MockMultipartFile("file", "a.webp", "image/webp", webp), "avatars");
+        assertTrue(path.endsWith(".webp"));
+
+        MockMultipartFile text = new MockMultipartFile("file", "b.png", "image/png",
+                "not an image".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> localFileService.storeFile(text, "avatars"));
+        // 只剩 WebP 的分片目录，被拒绝的上传不留临时文件
+        assertEquals(1, this.countFiles(uploadDir.resolve("avatars")));
+    }
+
+    private long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
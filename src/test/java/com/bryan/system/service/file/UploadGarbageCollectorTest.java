@@ -0,0 +1,130 @@
+package com.bryan.system.service.file;
+
+import com.bryan.system.domain.vo.FileGcStatsVO;
+import com.bryan.system.mapper.UserProfileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UploadGarbageCollectorTest {
+
+    private static final String KEPT = "a".repeat(64);
+    private static final String ORPHAN = "b".repeat(64);
+    private static final String FRESH = "c".repeat(64);
+
+    @TempDir
+    Path uploadDir;
+
+    private UserProfileMapper userProfileMapper;
+    private UploadGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        userProfileMapper = mock(UserProfileMapper.class);
+        AvatarThumbnailService thumbnailService = new AvatarThumbnailService();
+        ReflectionTestUtils.setField(thumbnailService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(thumbnailService, "sizes", new int[]{64});
+        ReflectionTestUtils.setField(thumbnailService, "threads", 1);
+        ReflectionTestUtils.setField(thumbnailService, "queueCapacity", 1);
+        thumbnailService.init();
+
+        collector = new UploadGarbageCollector(userProfileMapper, thumbnailService);
+        ReflectionTestUtils.setField(collector, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(collector, "enabled", true);
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        ReflectionTestUtils.setField(collector, "graceHours", 24L);
+    }
+
+    @Test
+    void shouldDeleteOldUnreferencedFilesInBatches() throws IOException {
+        Path kept = this.write("avatars/aa/bb/" + KEPT + ".png", 10, true);
+        Path orphan = this.write("avatars/aa/bb/" + ORPHAN + ".png", 100, true);
+        Path orphanThumbnail = this.write("avatars/aa/bb/" + ORPHAN + "_64.png", 20, true);
+        Path keptThumbnail = this.write("avatars/aa/bb/" + KEPT + "_64.png", 20, true);
+        Path fresh = this.write("avatars/aa/bb/" + FRESH + ".png", 30, false);
+        when(userProfileMapper.selectReferencedAvatars(any()))
+                .thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0)).stream()
+                        .filter(path -> path.endsWith(KEPT + ".png"))
+                        .toList());
+
+        for (int i = 0; i < 4; i++) {
+            collector.sweep();
+        }
+
+        assertTrue(Files.exists(kept));
+        assertTrue(Files.exists(keptThumbnail));
+        assertTrue(Files.exists(fresh));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(orphanThumbnail));
+
+        FileGcStatsVO stats = collector.getStats();
+        assertEquals(120, stats.getReclaimedBytes());
+        assertEquals(1, stats.getCompletedCycles());
+        assertNotNull(stats.getLastCycleCompletedAt());
+    }
+
+    @Test
+    void shouldKeepFilesWhenReferenceLookupFails() throws IOException {
+        Path orphan = this.write("avatars/orphan.png", 100, true);
+        when(userProfileMapper.selectReferencedAvatars(any())).thenThrow(new IllegalStateException("db down"));
+
+        collector.sweep();
+
+        assertTrue(Files.exists(orphan));
+        assertEquals(0, collector.getStats().getDeletedFiles());
+    }
+
+    @Test
+    void shouldRestoreFileReferencedWhileBeingDeleted() throws IOException {
+        Path avatar = this.write("avatars/avatar.png", 100, true);
+        // 批量查询时无引用，改名后复核时已被引用（期间有用户保存了该头像）
+        when(userProfileMapper.selectReferencedAvatars(any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("avatars/avatar.png"));
+
+        collector.sweep();
+
+        assertTrue(Files.exists(avatar));
+        assertFalse(Files.exists(uploadDir.resolve("avatars/avatar.png.gc")));
+        assertEquals(0, collector.getStats().getDeletedFiles());
+    }
+
+    @Test
+    void shouldRecoverLeftoverTombstone() throws IOException {
+        Path tombstone = this.write("avatars/avatar.png.gc", 100, true);
+        when(userProfileMapper.selectReferencedAvatars(any())).thenReturn(List.of());
+
+        collector.sweep();
+
+        assertFalse(Files.exists(tombstone));
+        assertTrue(Files.exists(uploadDir.resolve("avatars/avatar.png")));
+    }
+
+    private Path write(String relativePath, int size, boolean old) throws IOException {
+        Path path = uploadDir.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[size]);
+        if (old) {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,107 @@
+package com.bryan.system.service.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisCircuitBreakerTest {
+
+    private static final byte[] KEY = "key".getBytes();
+    private static final byte[] VALUE = "value".getBytes();
+
+    private RedisCircuitBreaker circuitBreaker;
+    private RedisConnection connection;
+    private RedisConnectionFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new RedisCircuitBreaker();
+        ReflectionTestUtils.setField(circuitBreaker, "failureThreshold", 3);
+        ReflectionTestUtils.setField(circuitBreaker, "openDurationMs", 50L);
+        ReflectionTestUtils.setField(circuitBreaker, "logIntervalMs", 10_000L);
+
+        connection = mock(RedisConnection.class);
+        RedisConnectionFactory delegate = mock(RedisConnectionFactory.class);
+        when(delegate.getConnection()).thenReturn(connection);
+        factory = circuitBreaker.protect(delegate);
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveFailuresAndRejectWithoutCallingRedis() {
+        when(connection.get(any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RedisConnectionFailureException.class, () -> factory.getConnection().get(KEY));
+        }
+
+        assertTrue(circuitBreaker.isOpen());
+        assertThrows(RedisCircuitBreaker.RedisCircuitOpenException.class, factory::getConnection);
+        verify(connection, times(3)).get(any());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbe() throws InterruptedException {
+        when(connection.get(any()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(VALUE);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RedisConnectionFailureException.class, () -> factory.getConnection().get(KEY));
+        }
+
+        Thread.sleep(60);
+        assertArrayEquals(VALUE, factory.getConnection().get(KEY));
+
+        assertFalse(circuitBreaker.isOpen());
+        assertTrue(circuitBreaker.isHealthy());
+    }
+
+    @Test
+    void shouldCountFailuresOfCommandsReachedThroughAccessors() {
+        RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+        when(connection.hashCommands()).thenReturn(hashCommands);
+        when(hashCommands.hGet(any(), any())).thenThrow(new RedisConnectionFailureException("down"));
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashValueSerializer(StringRedisSerializer.UTF_8);
+        template.afterPropertiesSet();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RedisConnectionFailureException.class, () -> template.opsForHash().get("user", "name"));
+        }
+
+        assertTrue(circuitBreaker.isOpen());
+        assertThrows(RedisConnectionFailureException.class, () -> template.opsForHash().get("user", "name"));
+        verify(hashCommands, times(3)).hGet(any(), any());
+    }
+
+    @Test
+    void shouldNotCountNonOutageErrors() {
+        when(connection.get(any())).thenThrow(new IllegalStateException("bug"));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, () -> factory.getConnection().get(KEY));
+        }
+
+        assertFalse(circuitBreaker.isOpen());
+    }
+}
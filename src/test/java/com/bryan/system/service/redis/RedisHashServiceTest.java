@@ -0,0 +1,113 @@
+package com.bryan.system.service.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RedisHashServiceTest {
+
+    private RedisTemplate<String, Object> template;
+    private HashOperations<String, Object, Object> hashOps;
+    private RedisOperations<String, Object> pipelineOps;
+    private HashOperations<String, Object, Object> pipelineHashOps;
+    private RedisHashService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        template = mock(RedisTemplate.class);
+        hashOps = mock(HashOperations.class);
+        when(template.opsForHash()).thenReturn(hashOps);
+
+        pipelineOps = mock(RedisOperations.class);
+        pipelineHashOps = mock(HashOperations.class);
+        when(pipelineOps.opsForHash()).thenReturn(pipelineHashOps);
+
+        service = new RedisHashService(template, mock(StringRedisTemplate.class), mock(RedisCircuitBreaker.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pipelineReturns(List<Object> results) {
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOps);
+            return results;
+        });
+    }
+
+    @Test
+    void multiGetShouldKeepFieldOrderAndMissingFieldsAsNull() {
+        List<Object> fields = List.of("f1", "f2", "f3");
+        when(hashOps.multiGet("h", fields)).thenReturn(Arrays.asList("v1", null, 3));
+
+        assertEquals(Arrays.asList("v1", null, 3), service.multiGet("h", List.of("f1", "f2", "f3")));
+    }
+
+    @Test
+    void multiGetShouldReturnNullsOfSameSizeOnFailure() {
+        when(hashOps.multiGet("h", List.of("f1", "f2")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(Arrays.asList(null, null), service.multiGet("h", List.of("f1", "f2")));
+    }
+
+    @Test
+    void deleteShouldReturnNumberOfDeletedFields() {
+        when(hashOps.delete("h", "f1", "f2")).thenReturn(1L);
+
+        assertEquals(1L, service.delete("h", List.of("f1", "f2")));
+    }
+
+    @Test
+    void multiGetAllShouldMapResultsToKeysInOrder() {
+        // 管道中不存在的哈希返回空 Map，个别结果也可能为 null
+        pipelineReturns(Arrays.asList(Map.of("name", "a"), Map.of(), null));
+
+        Map<String, Map<String, Object>> entries = service.multiGetAll(List.of("h1", "h2", "h3"));
+
+        assertEquals(List.of("h1", "h2", "h3"), new ArrayList<>(entries.keySet()));
+        assertEquals(Map.of("name", "a"), entries.get("h1"));
+        assertTrue(entries.get("h2").isEmpty());
+        assertTrue(entries.get("h3").isEmpty());
+
+        var order = inOrder(pipelineHashOps);
+        order.verify(pipelineHashOps).entries("h1");
+        order.verify(pipelineHashOps).entries("h2");
+        order.verify(pipelineHashOps).entries("h3");
+    }
+
+    @Test
+    void multiGetAllShouldReturnEmptyMapOnFailure() {
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(service.multiGetAll(List.of("h1")).isEmpty());
+    }
+
+    @Test
+    void batchOperationsShouldNotCallRedisForEmptyInput() {
+        assertTrue(service.multiGet("h", List.of()).isEmpty());
+        assertEquals(0L, service.delete("h", List.of()));
+        assertTrue(service.multiGetAll(List.of()).isEmpty());
+
+        verifyNoInteractions(template);
+    }
+}
@@ -0,0 +1,122 @@
+package com.bryan.system.service.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RedisListServiceTest {
+
+    private RedisTemplate<String, Object> template;
+    private RedisOperations<String, Object> pipelineOps;
+    private ListOperations<String, Object> pipelineListOps;
+    private RedisListService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        template = mock(RedisTemplate.class);
+
+        pipelineOps = mock(RedisOperations.class);
+        pipelineListOps = mock(ListOperations.class);
+        when(pipelineOps.opsForList()).thenReturn(pipelineListOps);
+
+        service = new RedisListService(template, mock(RedisCircuitBreaker.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pipelineReturns(List<Object> results) {
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOps);
+            return results;
+        });
+    }
+
+    @Test
+    void rightPushAllShouldPushTrimToLatestAndExpireInOnePipeline() {
+        pipelineReturns(Arrays.asList(5L, true, true));
+
+        assertTrue(service.rightPushAll("recent", List.of("a", "b"), 3, 60));
+
+        var order = inOrder(pipelineListOps, pipelineOps);
+        order.verify(pipelineListOps).rightPushAll("recent", "a", "b");
+        // 负数下标保留最新的 maxLength 个元素
+        order.verify(pipelineListOps).trim("recent", -3, -1);
+        order.verify(pipelineOps).expire("recent", Duration.ofSeconds(60));
+    }
+
+    @Test
+    void rightPushAllShouldNotExpireWithoutTtl() {
+        pipelineReturns(Arrays.asList(1L, true));
+
+        assertTrue(service.rightPushAll("recent", List.of("a"), 10, 0));
+
+        verify(pipelineListOps).trim("recent", -10, -1);
+        verify(pipelineOps, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    void rightPushAllShouldRejectEmptyValuesAndNonPositiveLength() {
+        assertFalse(service.rightPushAll("recent", List.of(), 10, 60));
+        assertFalse(service.rightPushAll("recent", List.of("a"), 0, 60));
+
+        verifyNoInteractions(template);
+    }
+
+    @Test
+    void rightPushAllShouldReturnFalseOnFailure() {
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertFalse(service.rightPushAll("recent", List.of("a"), 10, 60));
+    }
+
+    @Test
+    void multiRangeShouldMapResultsToKeysInOrder() {
+        pipelineReturns(Arrays.asList(List.of("a", "b"), List.of(), null));
+
+        Map<String, List<Object>> ranges = service.multiRange(List.of("l1", "l2", "l3"), 0, -1);
+
+        assertEquals(List.of("l1", "l2", "l3"), new ArrayList<>(ranges.keySet()));
+        assertEquals(List.of("a", "b"), ranges.get("l1"));
+        assertTrue(ranges.get("l2").isEmpty());
+        assertTrue(ranges.get("l3").isEmpty());
+
+        var order = inOrder(pipelineListOps);
+        order.verify(pipelineListOps).range("l1", 0, -1);
+        order.verify(pipelineListOps).range("l2", 0, -1);
+        order.verify(pipelineListOps).range("l3", 0, -1);
+    }
+
+    @Test
+    void multiRangeShouldReturnEmptyMapForEmptyInputOrFailure() {
+        assertTrue(service.multiRange(List.of(), 0, -1).isEmpty());
+        verifyNoInteractions(template);
+
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        assertTrue(service.multiRange(List.of("l1"), 0, -1).isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+package com.bryan.system.service.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RedisStringServiceTest {
+
+    private StringRedisTemplate template;
+    private ValueOperations<String, String> valueOps;
+    private RedisOperations<String, String> pipelineOps;
+    private ValueOperations<String, String> pipelineValueOps;
+    private RedisStringService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        template = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(valueOps);
+
+        // 管道回调中的命令记录在 pipelineOps 上，便于校验发送了哪些命令
+        pipelineOps = mock(RedisOperations.class);
+        pipelineValueOps = mock(ValueOperations.class);
+        when(pipelineOps.opsForValue()).thenReturn(pipelineValueOps);
+
+        service = new RedisStringService(template, mock(RedisCircuitBreaker.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pipelineReturns(List<Object> results) {
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOps);
+            return results;
+        });
+    }
+
+    @Test
+    void multiGetShouldKeepKeyOrderAndMissingValuesAsNull() {
+        List<String> keys = List.of("k1", "k2", "k3");
+        when(valueOps.multiGet(keys)).thenReturn(Arrays.asList("v1", null, "v3"));
+
+        assertEquals(Arrays.asList("v1", null, "v3"), service.multiGet(keys));
+    }
+
+    @Test
+    void multiGetShouldReturnNullsOfSameSizeOnFailure() {
+        List<String> keys = List.of("k1", "k2");
+        when(valueOps.multiGet(keys)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(Arrays.asList(null, null), service.multiGet(keys));
+    }
+
+    @Test
+    void multiSetWithTtlShouldSendOneSetExPerKeyInOnePipeline() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("k1", "v1");
+        values.put("k2", "v2");
+        pipelineReturns(List.of(true, true));
+
+        assertTrue(service.multiSet(values, 60));
+
+        var order = inOrder(pipelineValueOps);
+        order.verify(pipelineValueOps).set("k1", "v1", Duration.ofSeconds(60));
+        order.verify(pipelineValueOps).set("k2", "v2", Duration.ofSeconds(60));
+        verify(valueOps, never()).multiSet(anyMap());
+    }
+
+    @Test
+    void multiSetWithoutTtlShouldFallBackToMset() {
+        Map<String, String> values = Map.of("k1", "v1");
+
+        assertTrue(service.multiSet(values, 0));
+
+        verify(valueOps).multiSet(values);
+        verify(template, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void deleteShouldReturnNumberOfDeletedKeys() {
+        List<String> keys = List.of("k1", "k2", "k3");
+        when(template.delete(keys)).thenReturn(2L);
+
+        assertEquals(2L, service.delete(keys));
+    }
+
+    @Test
+    void deleteShouldTreatNullReplyAsZero() {
+        List<String> keys = List.of("k1");
+        when(template.delete(keys)).thenReturn(null);
+
+        assertEquals(0L, service.delete(keys));
+    }
+
+    @Test
+    void setExpireShouldCountOnlyKeysWhoseTtlWasApplied() {
+        List<String> keys = List.of("k1", "missing", "k3", "k4");
+        // EXPIRE 对不存在的键返回 false；管道中个别结果也可能为 null
+        pipelineReturns(Arrays.asList(true, false, true, null));
+
+        assertEquals(2L, service.setExpire(keys, 30));
+
+        var order = inOrder(pipelineOps);
+        for (String key : keys) {
+            order.verify(pipelineOps).expire(key, Duration.ofSeconds(30));
+        }
+    }
+
+    @Test
+    void setExpireShouldReturnZeroOnFailure() {
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(0L, service.setExpire(List.of("k1"), 30));
+    }
+
+    @Test
+    void batchOperationsShouldNotCallRedisForEmptyInput() {
+        assertEquals(Collections.emptyList(), service.multiGet(new ArrayList<>()));
+        assertTrue(service.multiSet(Map.of()));
+        assertTrue(service.multiSet(Map.of(), 60));
+        assertEquals(0L, service.delete(new ArrayList<>()));
+        assertEquals(0L, service.setExpire(new ArrayList<>(), 60));
+        assertEquals(0L, service.setExpire(List.of("k1"), 0));
+
+        verifyNoInteractions(template);
+    }
+
+    @Test
+    void multiSetShouldReturnFalseOnFailure() {
+        when(template.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertFalse(service.multiSet(Map.of("k1", "v1"), 60));
+    }
+}
@@ -0,0 +1,96 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.config.properties.ConcurrencyLimitProperties;
+import com.bryan.system.domain.enums.RequestPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ConcurrencyLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(20);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(100);
+    }
+
+    @Test
+    void shouldReserveHeadroomForHigherPriorities() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties, clock::get);
+
+        assertEquals(10, this.acquireAll(limiter, RequestPriority.LOW));
+        assertEquals(8, this.acquireAll(limiter, RequestPriority.NORMAL));
+        assertEquals(2, this.acquireAll(limiter, RequestPriority.CRITICAL));
+
+        assertEquals(20, limiter.getStats().getInflight());
+        assertEquals(1, limiter.getStats().getRejectedLow());
+        assertEquals(1, limiter.getStats().getRejectedNormal());
+        assertEquals(1, limiter.getStats().getRejectedCritical());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRisesAndRecoverAfterwards() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties, clock::get);
+
+        this.runWindows(limiter, 10, 20);
+        int baseline = limiter.getStats().getLimit();
+        assertTrue(baseline >= 20);
+
+        this.runWindows(limiter, 10, 200);
+        int degraded = limiter.getStats().getLimit();
+        assertTrue(degraded < baseline / 2, "limit should shrink under high latency: " + degraded);
+        assertTrue(degraded >= properties.getMinLimit());
+
+        this.runWindows(limiter, 20, 20);
+        assertTrue(limiter.getStats().getLimit() > degraded);
+    }
+
+    @Test
+    void shouldNotAdjustLimitWhenUnderutilized() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.NORMAL));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(i < 50 ? 10 : 500), true);
+        }
+
+        assertEquals(20, limiter.getStats().getLimit());
+        assertTrue(limiter.getStats().getLongRttMs() > 0);
+    }
+
+    /**
+     * 以当前上限满载运行若干个采样窗口，每个请求耗时 rttMs
+     */
+    private void runWindows(ConcurrencyLimiter limiter, int windows, long rttMs) {
+        for (int w = 0; w < windows; w++) {
+            int acquired = this.acquireAll(limiter, RequestPriority.CRITICAL);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs()));
+            for (int i = 0; i < Math.max(acquired, properties.getMinWindowSamples()); i++) {
+                if (i >= acquired) {
+                    assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+                }
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMs), true);
+            }
+        }
+    }
+
+    private int acquireAll(ConcurrencyLimiter limiter, RequestPriority priority) {
+        int acquired = 0;
+        while (limiter.tryAcquire(priority)) {
+            acquired++;
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.domain.enums.HostMetric;
+import com.bryan.system.domain.vo.HostHistoryVO;
+import com.bryan.system.domain.vo.HostMonitorVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostMonitorServiceTest {
+
+    private HostMonitorService hostMonitorService;
+
+    @BeforeEach
+    void setUp() {
+        hostMonitorService = new HostMonitorService();
+        ReflectionTestUtils.setField(hostMonitorService, "sampleIntervalMs", 1000L);
+        ReflectionTestUtils.setField(hostMonitorService, "historySize", 4);
+        hostMonitorService.init();
+    }
+
+    @Test
+    void shouldServeCurrentSampleWithoutResampling() {
+        HostMonitorVO current = hostMonitorService.getCurrent();
+
+        assertNotNull(current);
+        assertTrue(current.getCpu().getProcessorNumber() > 0);
+        assertTrue(current.getJvm().getHeapUsed() > 0);
+        assertTrue(current.getJvm().getThreadCount() > 0);
+        assertTrue(current.getMemory().getUsage() >= 0 && current.getMemory().getUsage() <= 100);
+        assertEquals(current, hostMonitorService.getCurrent());
+    }
+
+    @Test
+    void shouldNotRecordBaselineSampleTakenAtStartup() {
+        assertEquals(0, hostMonitorService.getHistory(3600, 1).getTimestamps().length);
+
+        hostMonitorService.sample();
+
+        assertEquals(1, hostMonitorService.getHistory(3600, 1).getTimestamps().length);
+    }
+
+    @Test
+    void shouldOverwriteOldestPointsWhenBufferIsFull() {
+        for (int i = 1; i <= 6; i++) {
+            hostMonitorService.record(i * 1000L, this.sample(i));
+        }
+
+        HostHistoryVO history = hostMonitorService.getHistory(3600, 1);
+
+        assertArrayEquals(new long[]{3000, 4000, 5000, 6000}, history.getTimestamps());
+        assertArrayEquals(new double[]{3, 4, 5, 6}, history.getSeries().get("cpuUsage"));
+        assertEquals(HostMetric.values().length, history.getSeries().size());
+    }
+
+    @Test
+    void shouldLimitRangeAndAverageDownsampledPoints() {
+        for (int i = 1; i <= 4; i++) {
+            hostMonitorService.record(i * 1000L, this.sample(i));
+        }
+
+        HostHistoryVO lastTwo = hostMonitorService.getHistory(2, 1);
+        HostHistoryVO merged = hostMonitorService.getHistory(3600, 3);
+
+        assertArrayEquals(new double[]{3, 4}, lastTwo.getSeries().get("threadCount"));
+        assertArrayEquals(new long[]{3000, 4000}, merged.getTimestamps());
+        assertArrayEquals(new double[]{2, 4}, merged.getSeries().get("threadCount"));
+        assertEquals(3000, merged.getIntervalMs());
+    }
+
+    private double[] sample(double value) {
+        double[] sample = new double[HostMetric.values().length];
+        Arrays.fill(sample, value);
+        return sample;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.domain.vo.LogMetricsVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogMetricsServiceTest {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @TempDir
+    Path logDir;
+
+    private Path logFile;
+
+    private LogMetricsService logMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        logFile = logDir.resolve("app.log");
+        LogService logService = new LogService();
+        ReflectionTestUtils.setField(logService, "logFileName", logFile.toString());
+        logMetricsService = new LogMetricsService(logService, new ObjectMapper());
+        ReflectionTestUtils.setField(logMetricsService, "windowMinutes", 60);
+        ReflectionTestUtils.setField(logMetricsService, "topCapacity", 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logMetricsService.destroy();
+    }
+
+    @Test
+    void shouldCountLinesAppendedBeforeRotation() throws IOException {
+        this.append(logFile, this.line(" INFO"), this.line(" INFO"));
+        logMetricsService.poll();
+
+        // 滚动前追加、尚未被轮询到的行（末行未换行）
+        Files.writeString(logFile, this.line("ERROR") + "\n" + this.line(" WARN"), StandardOpenOption.APPEND);
+        Files.move(logFile, logDir.resolve("app.log.1"));
+        this.append(logFile, this.line(" WARN"));
+        logMetricsService.poll();
+
+        long[] totals = this.totals(logMetricsService.getMetrics(5, 10));
+        assertEquals(1, totals[0]);
+        assertEquals(2, totals[1]);
+        assertEquals(2, totals[2]);
+    }
+
+    @Test
+    void shouldLeaveUnterminatedLineForNextPoll() throws IOException {
+        Files.writeString(logFile, this.line(" INFO") + "\n" + this.line("ERROR"));
+        logMetricsService.poll();
+
+        assertEquals(0, this.totals(logMetricsService.getMetrics(5, 10))[0]);
+
+        Files.writeString(logFile, "\n", StandardOpenOption.APPEND);
+        logMetricsService.poll();
+
+        long[] totals = this.totals(logMetricsService.getMetrics(5, 10));
+        assertEquals(1, totals[0]);
+        assertEquals(1, totals[2]);
+    }
+
+    @Test
+    void shouldThrottleSnapshotWritesAndFlushOnShutdown() throws IOException {
+        Path snapshot = logDir.resolve(LogService.INDEX_DIRECTORY).resolve("metrics.json");
+        this.append(logFile, this.line(" INFO"));
+        logMetricsService.poll();
+        long first = this.readSnapshot(snapshot).getPosition();
+
+        this.append(logFile, this.line(" INFO"));
+        logMetricsService.poll();
+        // 一分钟内不再重写快照
+        assertEquals(first, this.readSnapshot(snapshot).getPosition());
+
+        logMetricsService.destroy();
+        assertEquals(Files.size(logFile), this.readSnapshot(snapshot).getPosition());
+    }
+
+    private LogMetricsService.Snapshot readSnapshot(Path snapshot) throws IOException {
+        return new ObjectMapper().readValue(snapshot.toFile(), LogMetricsService.Snapshot.class);
+    }
+
+    private long[] totals(LogMetricsVO metrics) {
+        long[] totals = new long[3];
+        for (LogMetricsVO.MinuteCount count : metrics.getTimeline()) {
+            totals[0] += count.getError();
+            totals[1] += count.getWarn();
+            totals[2] += count.getInfo();
+        }
+        return totals;
+    }
+
+    private void append(Path file, String... lines) throws IOException {
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private String line(String level) {
+        return String.format("%s.000+08:00 %s 4242 --- [main] c.b.s.Demo : hello",
+                TIME_FORMATTER.format(LocalDateTime.now()), level);
+    }
+}
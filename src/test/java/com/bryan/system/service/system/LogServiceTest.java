@@ -0,0 +1,151 @@
+package com.bryan.system.service.system;
+
+import com.bryan.system.domain.request.system.LogSearchRequest;
+import com.bryan.system.domain.vo.LogSearchVO;
+import com.bryan.system.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogServiceTest {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @TempDir
+    Path logDir;
+
+    private LogService logService;
+
+    @BeforeEach
+    void setUp() {
+        logService = new LogService();
+        ReflectionTestUtils.setField(logService, "logFileName", logDir.resolve("app.log").toString());
+    }
+
+    @Test
+    void shouldSearchPlainFileByTimeRangeAndLevel() throws IOException {
+        Files.write(logDir.resolve("app.log"), this.minuteLines(10, 0, 20000), StandardCharsets.UTF_8);
+
+        LogSearchRequest request = new LogSearchRequest();
+        request.setFrom(LocalDateTime.of(2025, 8, 1, 10, 2, 0));
+        request.setTo(LocalDateTime.of(2025, 8, 1, 10, 2, 9));
+        request.setLevel("error");
+        request.setLimit(2000);
+
+        LogSearchVO result = logService.searchLogs(request);
+
+        assertNull(result.getNextCursor());
+        // 10:02:00 与 10:02:05 两条 ERROR，各带一行堆栈
+        assertEquals(4, result.getLines().size());
+        assertTrue(result.getLines().get(1).startsWith("\tat "));
+        assertTrue(result.getLines().get(0).startsWith("2025-08-01T10:02:00"));
+    }
+
+    @Test
+    void shouldPaginateAcrossGzipAndActiveFilesWithCursor() throws IOException {
+        Path archive = logDir.resolve("app.log.2025-08-01.0.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(archive))) {
+            for (String line : this.minuteLines(9, 0, 2000)) {
+                out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Files.setLastModifiedTime(archive, FileTime.fromMillis(1000));
+        Files.write(logDir.resolve("app.log"), this.minuteLines(10, 0, 2000), StandardCharsets.UTF_8);
+
+        LogSearchRequest request = new LogSearchRequest();
+        request.setFrom(LocalDateTime.of(2025, 8, 1, 9, 33, 10));
+        request.setTo(LocalDateTime.of(2025, 8, 1, 10, 0, 20));
+        request.setPattern("seq=\\d*0 ");
+        request.setLimit(1);
+
+        List<String> all = new ArrayList<>();
+        LogSearchVO page;
+        do {
+            page = logService.searchLogs(request);
+            all.addAll(page.getLines());
+            request.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+
+        // 归档中的 seq=1990，当前日志中的 seq=0/10/20
+        assertEquals(4, all.size());
+        assertTrue(all.get(0).startsWith("2025-08-01T09:33:10"));
+        assertTrue(all.get(3).startsWith("2025-08-01T10:00:20"));
+        assertTrue(Files.exists(logDir.resolve(".index").resolve(archive.getFileName() + ".idx")));
+    }
+
+    @Test
+    void shouldDownloadRequestedByteRange() throws IOException {
+        Files.writeString(logDir.resolve("app.log"), "0123456789", StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        logService.downloadLogFile("app.log", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void shouldDownloadSuffixRangeAndRejectUnsatisfiableRange() throws IOException {
+        Files.writeString(logDir.resolve("app.log"), "0123456789", StandardCharsets.UTF_8);
+
+        MockHttpServletRequest suffix = new MockHttpServletRequest();
+        suffix.addHeader("Range", "bytes=-3");
+        MockHttpServletResponse suffixResponse = new MockHttpServletResponse();
+        logService.downloadLogFile("app.log", suffix, suffixResponse);
+        assertEquals("789", suffixResponse.getContentAsString());
+
+        MockHttpServletRequest beyond = new MockHttpServletRequest();
+        beyond.addHeader("Range", "bytes=20-");
+        MockHttpServletResponse beyondResponse = new MockHttpServletResponse();
+        logService.downloadLogFile("app.log", beyond, beyondResponse);
+        assertEquals(416, beyondResponse.getStatus());
+        assertEquals("bytes */10", beyondResponse.getHeader("Content-Range"));
+    }
+
+    @Test
+    void shouldRejectPathTraversalOnDownload() {
+        assertThrows(BusinessException.class, () -> logService.downloadLogFile("../secret.txt",
+                new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    /**
+     * 生成每秒一条、逢 5 秒为 ERROR 并附带一行堆栈的日志
+     */
+    private List<String> minuteLines(int hour, int startSecond, int count) {
+        List<String> lines = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 8, 1, hour, 0, 0).plusSeconds(startSecond);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime t = start.plusSeconds(i);
+            String level = i % 5 == 0 ? "ERROR" : " INFO";
+            lines.add(String.format("%s.000+08:00 %s 4242 --- [main] c.b.s.Demo : seq=%d ",
+                    TIME_FORMATTER.format(t), level, i));
+            if (i % 5 == 0) {
+                lines.add("\tat com.bryan.system.Demo.run(Demo.java:1)");
+            }
+        }
+        return lines;
+    }
+}
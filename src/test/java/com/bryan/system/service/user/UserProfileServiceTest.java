@@ -1,17 +1,25 @@
 package com.bryan.system.service.user;
 
+import com.bryan.system.domain.dto.AuthSessionDTO;
 import com.bryan.system.domain.dto.UserProfileUpdateDTO;
 import com.bryan.system.domain.entity.UserProfile;
 import com.bryan.system.exception.BusinessException;
 import com.bryan.system.exception.ResourceNotFoundException;
 import com.bryan.system.mapper.UserProfileMapper;
+import com.bryan.system.service.file.AvatarThumbnailService;
 import com.bryan.system.service.file.LocalFileService;
+import com.bryan.system.util.jwt.JwtUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.io.IOException;
 
@@ -32,9 +40,25 @@ class UserProfileServiceTest {
     @Mock
     private LocalFileService localFileService;
 
+    @Mock
+    private AvatarThumbnailService avatarThumbnailService;
+
     @InjectMocks
     private UserProfileService userProfileService;
 
+    @BeforeEach
+    void setUp() {
+        // 审计字段取自当前请求的会话
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(JwtUtils.SESSION_ATTRIBUTE, AuthSessionDTO.builder().userId(1L).build());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     void shouldCreateUserProfileWhenInsertSuccess() {
         UserProfile profile = UserProfile.builder().userId(10L).build();
@@ -83,7 +107,7 @@ class UserProfileServiceTest {
 
     @Test
     void shouldUpdateUserProfileFields() {
-        UserProfile profile = UserProfile.builder().userId(10L).realName("Old").avatar("old.png").build();
+        UserProfile profile = UserProfile.builder().userId(10L).realName("Old").avatar("old.png").version(0).build();
         UserProfileUpdateDTO dto = UserProfileUpdateDTO.builder()
                 .realName("New")
                 .avatar("new.png")
@@ -100,7 +124,7 @@ class UserProfileServiceTest {
 
     @Test
     void shouldThrowWhenUpdateUserProfileAffectsNoRows() {
-        UserProfile profile = UserProfile.builder().userId(10L).build();
+        UserProfile profile = UserProfile.builder().userId(10L).version(0).build();
         UserProfileUpdateDTO dto = UserProfileUpdateDTO.builder().realName("New").build();
         when(userProfileMapper.selectByUserId(10L)).thenReturn(profile);
         when(userProfileMapper.update(profile)).thenReturn(0);
@@ -109,8 +133,8 @@ class UserProfileServiceTest {
     }
 
     @Test
-    void shouldUpdateAvatarAndDeleteOldAvatar() throws IOException {
-        UserProfile profile = UserProfile.builder().userId(10L).avatar("avatars/old.png").build();
+    void shouldUpdateAvatarWithoutDeletingOldAvatarInline() throws IOException {
+        UserProfile profile = UserProfile.builder().userId(10L).avatar("avatars/old.png").version(0).build();
         MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[]{1, 2});
         when(userProfileMapper.selectByUserId(10L)).thenReturn(profile);
         when(localFileService.storeFile(file, "avatars")).thenReturn("avatars/new.png");
@@ -120,13 +144,15 @@ class UserProfileServiceTest {
 
         assertEquals("avatars/new.png", path);
         assertEquals("avatars/new.png", profile.getAvatar());
-        verify(localFileService).deleteFile("avatars/old.png");
+        verify(avatarThumbnailService).generateAsync("avatars/new.png");
+        // 旧头像由后台回收任务处理
+        verify(localFileService, never()).deleteFile(any());
         verify(userProfileMapper).update(profile);
     }
 
     @Test
     void shouldThrowBusinessExceptionWhenAvatarStoreFails() throws IOException {
-        UserProfile profile = UserProfile.builder().userId(10L).avatar("avatars/old.png").build();
+        UserProfile profile = UserProfile.builder().userId(10L).avatar("avatars/old.png").version(0).build();
         MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[]{1, 2});
         when(userProfileMapper.selectByUserId(10L)).thenReturn(profile);
         when(localFileService.storeFile(any(), any())).thenThrow(new IOException("io"));
@@ -0,0 +1,45 @@
+package com.bryan.system.util.http;
+
+import com.bryan.system.util.ip.IpNetwork;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpUtilsTest {
+
+    private static final List<IpNetwork> PROXIES = IpNetwork.parseAll(new String[]{"10.0.0.0/8"});
+
+    @Test
+    void shouldIgnoreForwardedHeadersFromUntrustedClients() {
+        MockHttpServletRequest request = request("203.0.113.7", "1.2.3.4");
+        request.addHeader("Proxy-Client-IP", "5.6.7.8");
+
+        assertEquals("203.0.113.7", HttpUtils.getClientIp(request, PROXIES));
+        assertEquals("203.0.113.7", HttpUtils.getClientIp(request, List.of()));
+    }
+
+    @Test
+    void shouldTakeFirstUntrustedHopBehindTrustedProxies() {
+        // 最左侧的地址由客户端伪造，可信代理追加的是它实际看到的地址
+        assertEquals("198.51.100.9",
+                HttpUtils.getClientIp(request("10.0.0.1", "1.2.3.4, 198.51.100.9, 10.0.0.2"), PROXIES));
+        assertEquals("198.51.100.9", HttpUtils.getClientIp(request("10.0.0.1", "198.51.100.9"), PROXIES));
+    }
+
+    @Test
+    void shouldFallBackToRemoteAddrWithoutForwardedHeaders() {
+        assertEquals("10.0.0.1", HttpUtils.getClientIp(request("10.0.0.1", null), PROXIES));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
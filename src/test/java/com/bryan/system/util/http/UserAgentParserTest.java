@@ -0,0 +1,43 @@
+package com.bryan.system.util.http;
+
+import com.bryan.system.util.http.UserAgentInfo.DeviceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserAgentParserTest {
+
+    @Test
+    void shouldParseCommonBrowsers() {
+        assertEquals(new UserAgentInfo("Windows", "Edge", "126.0.0.0", DeviceType.DESKTOP), UserAgentParser.parse(
+                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) "
+                        + "Chrome/126.0.0.0 Safari/537.36 Edg/126.0.0.0"));
+        assertEquals(new UserAgentInfo("macOS", "Safari", "17.5", DeviceType.DESKTOP), UserAgentParser.parse(
+                "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+                        + "Version/17.5 Safari/605.1.15"));
+        assertEquals(new UserAgentInfo("Linux", "Firefox", "127.0", DeviceType.DESKTOP), UserAgentParser.parse(
+                "Mozilla/5.0 (X11; Linux x86_64; rv:127.0) Gecko/20100101 Firefox/127.0"));
+    }
+
+    @Test
+    void shouldDetectMobileTabletAndBots() {
+        assertEquals(new UserAgentInfo("iOS", "Chrome", "126.0.6478.54", DeviceType.MOBILE), UserAgentParser.parse(
+                "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+                        + "CriOS/126.0.6478.54 Mobile/15E148 Safari/604.1"));
+        assertEquals(DeviceType.TABLET, UserAgentParser.parse(
+                "Mozilla/5.0 (Linux; Android 14; SM-X710) AppleWebKit/537.36 (KHTML, like Gecko) "
+                        + "Chrome/126.0.0.0 Safari/537.36").deviceType());
+        assertEquals(DeviceType.BOT, UserAgentParser.parse("curl/8.5.0").deviceType());
+    }
+
+    @Test
+    void shouldReturnSameInstanceForRepeatedUserAgent() {
+        String userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) "
+                + "Chrome/126.0.0.0 Safari/537.36";
+
+        assertSame(UserAgentParser.parse(userAgent), UserAgentParser.parse(new String(userAgent)));
+        assertSame(UserAgentInfo.EMPTY, UserAgentParser.parse(null));
+        assertEquals("Windows / Chrome", UserAgentParser.parse(userAgent).device());
+    }
+}
@@ -0,0 +1,86 @@
+package com.bryan.system.util.ip;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IpRegionTableTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static IpRegionTable table;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Path file = tempDir.resolve("ip-region.dat");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            IpRegionTable.write(List.of(
+                    new IpRegionTable.Range("223.5.5.0", "223.5.5.255", "中国 浙江 杭州"),
+                    new IpRegionTable.Range("1.0.0.0", "1.0.0.255", "澳大利亚"),
+                    new IpRegionTable.Range("224.0.0.0", "255.255.255.255", "其他"),
+                    new IpRegionTable.Range("2400:3200::", "2400:3200:ffff:ffff:ffff:ffff:ffff:ffff", "中国 浙江 杭州"),
+                    new IpRegionTable.Range("::ffff:8.8.8.0", "::ffff:8.8.8.255", "美国")
+            ), out);
+        }
+        table = IpRegionTable.open(file);
+    }
+
+    @Test
+    void shouldFindIpv4Ranges() {
+        assertEquals(5, table.size());
+        assertEquals("澳大利亚", table.lookup("1.0.0.1"));
+        assertEquals("中国 浙江 杭州", table.lookup("223.5.5.5"));
+        assertEquals("其他", table.lookup("255.255.255.255"));
+        assertNull(table.lookup("1.0.1.0"));
+        assertNull(table.lookup("0.0.0.0"));
+    }
+
+    @Test
+    void shouldFindIpv6Ranges() {
+        assertEquals("中国 浙江 杭州", table.lookup("2400:3200::1"));
+        assertEquals("中国 浙江 杭州", table.lookup("2400:3200:baba:0:0:0:0:1%eth0"));
+        assertEquals("美国", table.lookup("::ffff:8.8.8.8"));
+        assertNull(table.lookup("2400:3201::1"));
+        assertNull(table.lookup("::1"));
+    }
+
+    @Test
+    void shouldRejectTruncatedOrCorruptFiles() throws Exception {
+        byte[] valid = Files.readAllBytes(tempDir.resolve("ip-region.dat"));
+
+        // 截断到地址段中间
+        Path truncated = tempDir.resolve("truncated.dat");
+        Files.write(truncated, Arrays.copyOf(valid, 40));
+        assertThrows(IllegalArgumentException.class, () -> IpRegionTable.open(truncated));
+
+        // 第一个 IPv4 地址段的地区下标越界
+        byte[] corrupt = valid.clone();
+        ByteBuffer.wrap(corrupt).putInt(20 + 8, 99);
+        Path corrupted = tempDir.resolve("corrupt.dat");
+        Files.write(corrupted, corrupt);
+        assertThrows(IllegalArgumentException.class, () -> IpRegionTable.open(corrupted));
+    }
+
+    @Test
+    void shouldRejectMalformedAddresses() {
+        assertNull(table.lookup("Unknown"));
+        assertNull(table.lookup("1.0.0"));
+        assertNull(table.lookup("1.0.0.256"));
+        assertNull(table.lookup("2400:3200:::1"));
+        assertNull(table.lookup("2400:3200::1::2"));
+        assertNull(table.lookup("1:2:3:4:5:6:7:8:9"));
+        assertNull(table.lookup(null));
+    }
+}
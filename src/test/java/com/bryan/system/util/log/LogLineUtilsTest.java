@@ -0,0 +1,51 @@
+package com.bryan.system.util.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogLineUtilsTest {
+
+    private static final String LINE = "2025-08-01T10:02:03.123+08:00 ERROR 4242 --- [nio-8080-exec-1] "
+            + "c.b.s.handler.GlobalExceptionHandler     : 请求URL: /api/users";
+
+    @Test
+    void shouldExtractTimestampLevelAndLogger() {
+        assertEquals("2025-08-01T10:02:03.123", LogLineUtils.extractTimestamp(LINE));
+        assertEquals("ERROR", LogLineUtils.extractLevel(LINE));
+        assertEquals("c.b.s.handler.GlobalExceptionHandler", LogLineUtils.extractLogger(LINE));
+    }
+
+    @Test
+    void shouldNormalizeSpaceSeparatedTimestamp() {
+        assertEquals("2025-08-01T10:02:03.123", LogLineUtils.extractTimestamp("2025-08-01 10:02:03,123  INFO x"));
+    }
+
+    @Test
+    void shouldReturnNullForContinuationLines() {
+        assertNull(LogLineUtils.extractTimestamp("\tat com.bryan.system.Demo.run(Demo.java:1)"));
+        assertNull(LogLineUtils.extractLevel("\tat com.bryan.system.Demo.run(Demo.java:1)"));
+    }
+
+    @Test
+    void shouldExtractExceptionClass() {
+        assertEquals("java.lang.IllegalStateException",
+                LogLineUtils.extractExceptionClass("java.lang.IllegalStateException: boom"));
+        assertEquals("java.io.IOException",
+                LogLineUtils.extractExceptionClass("Caused by: java.io.IOException: Broken pipe"));
+        assertEquals("java.lang.OutOfMemoryError",
+                LogLineUtils.extractExceptionClass("java.lang.OutOfMemoryError"));
+        assertNull(LogLineUtils.extractExceptionClass("\tat com.bryan.system.Demo.run(Demo.java:1)"));
+        assertNull(LogLineUtils.extractExceptionClass("com.bryan.system.Demo: not an exception"));
+    }
+
+    @Test
+    void shouldCompareTimestampKeysLexicographically() {
+        String key = LogLineUtils.toTimestampKey(LocalDateTime.of(2025, 8, 1, 10, 2, 0));
+        assertTrue(key.compareTo(LogLineUtils.extractTimestamp(LINE)) < 0);
+    }
+}
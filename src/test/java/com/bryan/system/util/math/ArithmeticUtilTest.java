@@ -2,6 +2,11 @@ package com.bryan.system.util.math;
 
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -47,4 +52,77 @@ class ArithmeticUtilTest {
     void shouldThrowWhenScaleIsNegativeOnRound() {
         assertThrows(IllegalArgumentException.class, () -> ArithmeticUtil.round(1.23, -1));
     }
+
+    @Test
+    void shouldMatchBigDecimalOnHalfUpTiesAndSigns() {
+        assertEquals(1.01, ArithmeticUtil.round(1.005, 2));
+        assertEquals(-2.35, ArithmeticUtil.round(-2.345, 2));
+        assertEquals(0.0, ArithmeticUtil.round(-0.001, 2));
+        assertEquals(0.3, ArithmeticUtil.add(-0.0, 0.3));
+        assertEquals(0.0, ArithmeticUtil.sub(0.1, 0.1));
+        assertEquals(0.0, ArithmeticUtil.div(0, 0));
+        assertThrows(ArithmeticException.class, () -> ArithmeticUtil.div(1, 0));
+        assertThrows(NumberFormatException.class, () -> ArithmeticUtil.round(Double.NaN, 2));
+    }
+
+    @Test
+    void shouldMatchBigDecimalReferenceForRandomInputs() {
+        SplittableRandom random = new SplittableRandom(20260418L);
+        for (int i = 0; i < 200_000; i++) {
+            double v1 = randomDouble(random);
+            double v2 = randomDouble(random);
+            int scale = random.nextInt(0, 12);
+
+            assertBitIdentical(() -> ArithmeticUtil.addPrecise(v1, v2).doubleValue(), () -> ArithmeticUtil.add(v1, v2), v1, v2);
+            assertBitIdentical(() -> ArithmeticUtil.subPrecise(v1, v2).doubleValue(), () -> ArithmeticUtil.sub(v1, v2), v1, v2);
+            assertBitIdentical(() -> ArithmeticUtil.mulPrecise(v1, v2).doubleValue(), () -> ArithmeticUtil.mul(v1, v2), v1, v2);
+            assertBitIdentical(() -> ArithmeticUtil.divPrecise(v1, v2, scale).doubleValue(),
+                    () -> ArithmeticUtil.div(v1, v2, scale), v1, v2);
+            assertBitIdentical(() -> ArithmeticUtil.roundPrecise(v1, scale).doubleValue(),
+                    () -> ArithmeticUtil.round(v1, scale), v1, scale);
+        }
+    }
+
+    @Test
+    void shouldKeepArbitraryPrecisionInPreciseVariants() {
+        assertEquals(new BigDecimal("0.30"), ArithmeticUtil.addPrecise(0.1, 0.2).setScale(2));
+        assertEquals(new BigDecimal("0.3333333333333333333333333333333333"),
+                ArithmeticUtil.divPrecise(1, 3, 34));
+    }
+
+    /**
+     * 覆盖短小数、半数舍入点、满精度比例、整数、大数、零与特殊值
+     */
+    private static double randomDouble(SplittableRandom random) {
+        double sign = random.nextBoolean() ? 1 : -1;
+        return switch (random.nextInt(8)) {
+            case 0 -> sign * random.nextLong(0, 1_000_000_000L) / Math.pow(10, random.nextInt(0, 10));
+            case 1 -> sign * (random.nextInt(0, 100_000) + 0.5) / Math.pow(10, random.nextInt(0, 6));
+            case 2 -> sign * random.nextDouble();
+            case 3 -> sign * random.nextDouble() * Math.pow(10, random.nextInt(-8, 16));
+            case 4 -> sign * random.nextLong(0, 1L << 40);
+            case 5 -> Double.longBitsToDouble(random.nextLong());
+            case 6 -> random.nextInt(4) == 0 ? -0.0 : 0.0;
+            default -> sign * random.nextInt(0, 1000) / 8.0;
+        };
+    }
+
+    /**
+     * 快速路径与 BigDecimal 参考实现的结果（含抛出的异常类型）完全相同
+     */
+    private static void assertBitIdentical(Supplier<Double> reference, Supplier<Double> actual, Object... inputs) {
+        Object expected;
+        try {
+            expected = Double.doubleToRawLongBits(reference.get());
+        } catch (RuntimeException e) {
+            expected = e.getClass();
+        }
+        Object result;
+        try {
+            result = Double.doubleToRawLongBits(actual.get());
+        } catch (RuntimeException e) {
+            result = e.getClass();
+        }
+        assertEquals(expected, result, () -> Arrays.toString(inputs));
+    }
 }
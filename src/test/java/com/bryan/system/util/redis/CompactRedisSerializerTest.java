@@ -0,0 +1,98 @@
+package com.bryan.system.util.redis;
+
+import com.bryan.system.domain.entity.SysUser;
+import com.bryan.system.domain.enums.user.UserStatusEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer =
+            new CompactRedisSerializer(CompactRedisSerializer.Format.BINARY, 1024);
+
+    @Test
+    void shouldRoundTripRegisteredEntityWithoutClassName() {
+        SysUser user = SysUser.builder()
+                .id(1L)
+                .username("bryan")
+                .email("bryan@example.com")
+                .status(UserStatusEnum.LOCKED)
+                .roles("ROLE_USER,ROLE_ADMIN")
+                .deleted(0)
+                .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+                .build();
+
+        byte[] bytes = serializer.serialize(user);
+
+        assertEquals(CompactRedisSerializer.MAGIC, bytes[0]);
+        assertTrue(!new String(bytes).contains(SysUser.class.getName()));
+        assertEquals(user, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldKeepTypesOfNestedEntities() {
+        SysUser first = SysUser.builder().id(1L).username("a").roles("ROLE_USER").deleted(0)
+                .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5)).build();
+        SysUser second = SysUser.builder().id(2L).username("b").roles("ROLE_ADMIN").deleted(0).build();
+        List<SysUser> users = new ArrayList<>(List.of(first, second));
+        Map<String, Object> byName = new LinkedHashMap<>();
+        byName.put("a", first);
+        byName.put("users", users);
+
+        Object list = serializer.deserialize(serializer.serialize(users));
+        Object map = serializer.deserialize(serializer.serialize(byName));
+
+        assertEquals(users, list);
+        assertInstanceOf(SysUser.class, ((List<?>) list).get(0));
+        assertEquals(byName, map);
+        assertInstanceOf(SysUser.class, ((Map<?, ?>) map).get("a"));
+        assertInstanceOf(SysUser.class, ((List<?>) ((Map<?, ?>) map).get("users")).get(1));
+    }
+
+    @Test
+    void shouldReadLegacyJsonValues() {
+        SysUser user = SysUser.builder().id(2L).username("legacy").roles("ROLE_USER").deleted(0).build();
+        byte[] legacy = RedisSerializer.json().serialize(user);
+
+        Object value = serializer.deserialize(legacy);
+
+        assertInstanceOf(SysUser.class, value);
+        assertEquals(user, value);
+    }
+
+    @Test
+    void shouldCompressLargeValues() {
+        String text = "user-system ".repeat(500);
+
+        byte[] bytes = serializer.serialize(text);
+
+        assertTrue(bytes.length < text.length() / 4);
+        assertEquals(text, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldWriteJsonInJsonModeAndKeepReadingBinary() {
+        CompactRedisSerializer jsonSerializer =
+                new CompactRedisSerializer(CompactRedisSerializer.Format.JSON, 1024);
+
+        byte[] json = jsonSerializer.serialize("bryan");
+        byte[] binary = serializer.serialize(42L);
+
+        assertArrayEquals(RedisSerializer.json().serialize("bryan"), json);
+        assertEquals("bryan", serializer.deserialize(json));
+        assertEquals(42L, jsonSerializer.deserialize(binary));
+        assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+}
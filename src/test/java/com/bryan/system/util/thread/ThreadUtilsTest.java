@@ -0,0 +1,37 @@
+package com.bryan.system.util.thread;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThreadUtilsTest {
+
+    @Test
+    void shouldCreateNamedDaemonPlatformThreads() {
+        ThreadFactory factory = ThreadUtils.newThreadFactory("worker-", false);
+
+        Thread first = factory.newThread(() -> {
+        });
+        Thread second = factory.newThread(() -> {
+        });
+
+        assertEquals("worker-1", first.getName());
+        assertEquals("worker-2", second.getName());
+        assertTrue(first.isDaemon());
+    }
+
+    @Test
+    void shouldRequirePropertyAndJava21ForVirtualThreads() {
+        boolean java21 = JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+
+        assertFalse(ThreadUtils.isVirtualThreadsActive(new MockEnvironment()));
+        assertEquals(java21, ThreadUtils.isVirtualThreadsActive(
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true")));
+    }
+}
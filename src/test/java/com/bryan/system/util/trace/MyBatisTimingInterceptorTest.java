@@ -0,0 +1,71 @@
+package com.bryan.system.util.trace;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MyBatisTimingInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MyBatisTimingInterceptor interceptor = new MyBatisTimingInterceptor(registry);
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void shouldRecordStatementTimerAndDbPhase() throws Throwable {
+        RequestTiming timing = RequestTiming.begin();
+
+        interceptor.intercept(this.invocation("com.bryan.system.mapper.UserMapper.selectById", false));
+        interceptor.intercept(this.invocation("com.bryan.system.mapper.UserMapper.selectById", false));
+
+        Timer timer = registry.find("mybatis.statement").tag("statement", "UserMapper.selectById").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertTrue(timing.toLogFields().contains(" db="), timing.toLogFields());
+        assertTrue(timing.toLogFields().endsWith("/2"), timing.toLogFields());
+    }
+
+    @Test
+    void shouldRecordFailedStatement() throws Exception {
+        Invocation invocation = this.invocation("com.bryan.system.mapper.UserMapper.insert", true);
+
+        // Invocation 直接反射调用，异常由外层 Plugin 代理解包
+        assertThrows(InvocationTargetException.class, () -> interceptor.intercept(invocation));
+        Timer timer = registry.find("mybatis.statement").tag("statement", "UserMapper.insert").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    private Invocation invocation(String statementId, boolean fail) throws Exception {
+        Configuration configuration = new Configuration();
+        MappedStatement statement = new MappedStatement.Builder(configuration, statementId,
+                new StaticSqlSource(configuration, "SELECT 1"), SqlCommandType.SELECT).build();
+        Executor executor = mock(Executor.class);
+        if (fail) {
+            when(executor.update(any(), any())).thenThrow(new IllegalStateException("db down"));
+        }
+        return new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class, Object.class),
+                new Object[]{statement, null});
+    }
+}
@@ -0,0 +1,63 @@
+package com.bryan.system.util.trace;
+
+import com.bryan.system.util.trace.RequestTiming.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void shouldSkipClockWhenNotSampled() {
+        long start = RequestTiming.start();
+
+        assertEquals(RequestTiming.NOT_SAMPLED, start);
+        RequestTiming.stop(Phase.DB, start);
+    }
+
+    @Test
+    void shouldAccumulatePhasesIntoServerTimingAndLogFields() throws Exception {
+        RequestTiming timing = RequestTiming.begin();
+        for (int i = 0; i < 3; i++) {
+            long start = RequestTiming.start();
+            Thread.sleep(2);
+            RequestTiming.stop(Phase.REDIS, start);
+        }
+        long start = RequestTiming.start();
+        RequestTiming.stop(Phase.DB, start);
+
+        String serverTiming = timing.toServerTiming();
+        assertTrue(serverTiming.matches("redis;dur=\\d+\\.\\d;desc=\"3\", db;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"),
+                serverTiming);
+        String logFields = timing.toLogFields();
+        assertTrue(logFields.matches("total=\\d+\\.\\dms redis=\\d+\\.\\dms/3 db=\\d+\\.\\dms/1"), logFields);
+    }
+
+    @Test
+    void shouldTimePasswordEncoderCalls() {
+        RequestTiming timing = RequestTiming.begin();
+        TimedPasswordEncoder encoder = new TimedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "{noop}" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(this.encode(rawPassword));
+            }
+        });
+
+        assertTrue(encoder.matches("secret", encoder.encode("secret")));
+
+        assertTrue(timing.toLogFields().matches("total=\\d+\\.\\dms bcrypt=\\d+\\.\\dms/2"), timing.toLogFields());
+    }
+}
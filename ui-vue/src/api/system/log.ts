@@ -22,3 +22,105 @@ export function listLatestLogs(lines = 200, file?: string): Promise<Result<strin
 export function listLogFiles(): Promise<Result<string[]>> {
   return request.get('/api/admin/logs/files')
 }
+
+/**
+ * 日志检索结果
+ */
+export interface LogSearchResult {
+  lines: string[]
+  nextCursor: string | null
+}
+
+/**
+ * 按时间段、级别与正则检索日志（游标分页）
+ * @param params from/to 格式 yyyy-MM-dd HH:mm:ss；cursor 取上一页返回的 nextCursor
+ */
+export function searchLogs(params: {
+  from?: string
+  to?: string
+  level?: string
+  pattern?: string
+  file?: string
+  cursor?: string
+  limit?: number
+}): Promise<Result<LogSearchResult>> {
+  return request.get('/api/admin/logs/search', { params })
+}
+
+/**
+ * 实时跟随日志（SSE）
+ * EventSource 无法携带 Authorization 头，这里使用 fetch 读取事件流。
+ * @param onLines 收到新日志行时的回调
+ * @param signal 用于取消订阅
+ */
+export async function streamLogs(onLines: (lines: string[]) => void, signal: AbortSignal): Promise<void> {
+  const token = localStorage.getItem('token')
+  const response = await fetch('/api/admin/logs/stream', {
+    headers: token ? { Authorization: `Bearer ${token}` } : {},
+    signal
+  })
+  if (!response.ok || !response.body) {
+    throw new Error(`订阅实时日志失败：${response.status}`)
+  }
+
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+  let buffer = ''
+  while (true) {
+    const { value, done } = await reader.read()
+    if (done) {
+      return
+    }
+    buffer += value
+    let index
+    while ((index = buffer.indexOf('\n\n')) >= 0) {
+      const event = buffer.slice(0, index)
+      buffer = buffer.slice(index + 2)
+      const data = event
+        .split('\n')
+        .filter(line => line.startsWith('data:'))
+        .map(line => line.slice(5))
+      if (data.length > 0) {
+        onLines(data)
+      }
+    }
+  }
+}
+
+/**
+ * 下载日志文件原始内容
+ * @param file 日志文件名
+ */
+export function downloadLogFile(file: string): Promise<any> {
+  return request.get('/api/admin/logs/download', {
+    params: { file },
+    responseType: 'blob',
+    timeout: 0
+  })
+}
+
+/**
+ * 日志指标
+ */
+export interface LogMetrics {
+  timeline: Array<{
+    minute: string
+    error: number
+    warn: number
+    info: number
+    debug: number
+    trace: number
+  }>
+  topExceptions: Array<{ name: string; count: number }>
+  topLoggers: Array<{ name: string; count: number }>
+}
+
+/**
+ * 获取日志指标（每分钟各级别数量、高频异常类与 Logger）
+ * @param minutes 统计最近的分钟数，默认 60
+ * @param top 排行榜条数，默认 10
+ */
+export function getLogMetrics(minutes = 60, top = 10): Promise<Result<LogMetrics>> {
+  return request.get('/api/admin/logs/metrics', {
+    params: { minutes, top }
+  })
+}
@@ -7,5 +7,7 @@ export interface UserVO {
     roles: string;
     lastLoginAt?: string;
     lastLoginIp?: string;
+    lastLoginRegion?: string;
+    lastLoginDevice?: string;
     createdAt: string;
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 /**
  * 获取完整的头像访问地址
  * @param path 后端返回的相对路径
+ * @param size 显示尺寸（像素），传入时请求对应缩略图（按设备像素比放大）
  * @returns 完整的 URL
  */
-export const getAvatarUrl = (path?: string) => {
+export const getAvatarUrl = (path?: string, size?: number) => {
   if (!path) return ''
   // 如果是完整 URL，直接返回
   if (path.startsWith('http')) return path
   // 否则拼接 /uploads 前缀
-  return `/uploads/${path}`
+  const url = `/uploads/${path}`
+  if (!size) return url
+  return `${url}?size=${Math.ceil(size * (window.devicePixelRatio || 1))}`
 }